@@ -18,7 +18,8 @@ package io.apicurio.registry.content;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.util.Arrays;
+
+import org.apache.commons.codec.digest.DigestUtils;
 
 /**
  * @author Ales Justin
@@ -27,22 +28,31 @@ abstract class AbstractContentHandle implements ContentHandle {
 
     protected byte[] bytes;
     protected String content;
+    protected volatile String sha256Hex;
 
     @Override
     public InputStream stream() {
         return new ByteArrayInputStream(bytes());
     }
 
+    @Override
+    public String sha256Hex() {
+        if (sha256Hex == null) {
+            sha256Hex = DigestUtils.sha256Hex(bytes());
+        }
+        return sha256Hex;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ContentHandle)) return false;
         ContentHandle that = (ContentHandle) o;
-        return Arrays.equals(bytes(), that.bytes());
+        return sha256Hex().equals(that.sha256Hex());
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes());
+        return sha256Hex().hashCode();
     }
 }
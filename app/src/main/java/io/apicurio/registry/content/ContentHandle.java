@@ -41,4 +41,9 @@ public interface ContentHandle {
     byte[] bytes();
 
     String content();
+
+    /**
+     * @return the SHA-256 hash of the content as a lowercase hex string, i.e. the registry's contentHash
+     */
+    String sha256Hex();
 }
@@ -16,52 +16,87 @@
 
 package io.apicurio.registry.content;
 
-import io.apicurio.registry.utils.IoBufferedInputStream;
-import io.apicurio.registry.utils.IoUtil;
-
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 
 /**
+ * Content handle backed by a (request) stream.  The stream is read once, and its SHA-256 hash is
+ * computed while reading.  The String form is only softly referenced, so large artifacts do not keep
+ * both a byte[] and a String copy alive.
+ *
+ * The content itself is held in memory, so the memory used by a request is still proportional to the
+ * size of its content: it is not spilled to disk above a size threshold.  Spilling would not bound it
+ * anyway, since the storages need the whole content as a byte[] (JDBC parameters, KafkaSQL messages)
+ * and the canonicalizers, extractors and validators need it as a String.  What this handle saves is
+ * the extra copies (String, re-hashing) that used to be made on top of the byte[].
+ *
  * @author Ales Justin
  */
 class StreamContentHandle extends AbstractContentHandle {
+
     private InputStream stream;
+    private SoftReference<String> softContent = new SoftReference<>(null);
 
     StreamContentHandle(InputStream stream) {
         this.stream = stream;
     }
 
     @Override
-    public InputStream stream() {
-        if (bytes != null) {
-            return new ByteArrayInputStream(bytes);
-        }
-        InputStream is = stream;
-        stream = null;
-        return new IoBufferedInputStream(is, (bytes, count) -> {
-            byte[] copy = new byte[count];
-            System.arraycopy(bytes, 0, copy, 0, count);
-            this.bytes = copy;
-        });
+    public byte[] bytes() {
+        load();
+        return bytes;
     }
 
     @Override
-    public byte[] bytes() {
-        if (bytes == null) {
-            InputStream is = stream;
-            stream = null;
-            bytes = IoUtil.toBytes(is);
+    public String content() {
+        String c = softContent.get();
+        if (c == null) {
+            c = new String(bytes(), StandardCharsets.UTF_8);
+            softContent = new SoftReference<>(c);
         }
-        return bytes;
+        return c;
     }
 
     @Override
-    public String content() {
-        if (content == null) {
-            content = new String(bytes(), StandardCharsets.UTF_8);
+    public String sha256Hex() {
+        String hash = sha256Hex;
+        if (hash == null) {
+            load();
+            hash = sha256Hex;
+        }
+        return hash;
+    }
+
+    /**
+     * Reads the underlying stream (only once), computing the hash of the content while reading.
+     */
+    private synchronized void load() {
+        if (stream == null) {
+            return;
+        }
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream is = stream) {
+            byte[] chunk = new byte[8192];
+            int n;
+            while ((n = is.read(chunk)) != -1) {
+                digest.update(chunk, 0, n);
+                buffer.write(chunk, 0, n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            stream = null;
         }
-        return content;
+        bytes = buffer.toByteArray();
+        sha256Hex = Hex.encodeHexString(digest.digest());
     }
 }
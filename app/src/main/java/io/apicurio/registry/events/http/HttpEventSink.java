@@ -15,15 +15,27 @@
  */
 package io.apicurio.registry.events.http;
 
-import java.util.UUID;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DELIVERY;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DELIVERY_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_QUEUE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_QUEUE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_TAG_SINK;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import javax.ws.rs.core.MediaType;
 
-import io.vertx.core.http.HttpMethod;
-import io.vertx.core.http.RequestOptions;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import io.apicurio.registry.events.EventSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
@@ -38,6 +50,8 @@ public class HttpEventSink implements EventSink {
 
     private HttpClient httpClient;
 
+    private List<HttpSinkDelivery> deliveries;
+
     @Inject
     Logger log;
 
@@ -47,6 +61,49 @@ public class HttpEventSink implements EventSink {
     @Inject
     Vertx vertx;
 
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.events.http.queue-size", defaultValue = "10000")
+    Integer queueSize;
+
+    @ConfigProperty(name = "registry.events.http.batch-size", defaultValue = "1")
+    Integer batchSize;
+
+    @ConfigProperty(name = "registry.events.http.linger-ms", defaultValue = "0")
+    Long lingerMs;
+
+    @ConfigProperty(name = "registry.events.http.max-retries", defaultValue = "3")
+    Integer maxRetries;
+
+    @ConfigProperty(name = "registry.events.http.retry-backoff-ms", defaultValue = "500")
+    Long retryBackoffMs;
+
+    @PostConstruct
+    void init() {
+        deliveries = new ArrayList<>();
+        if (!sinksConfiguration.isConfigured()) {
+            return;
+        }
+        for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
+            Timer deliveryLatency = Timer.builder(EVENTS_DELIVERY)
+                    .description(EVENTS_DELIVERY_DESCRIPTION)
+                    .tag(EVENTS_TAG_SINK, httpSink.getName())
+                    .register(registry);
+            Counter dropped = Counter.builder(EVENTS_DROPPED)
+                    .description(EVENTS_DROPPED_DESCRIPTION)
+                    .tag(EVENTS_TAG_SINK, httpSink.getName())
+                    .register(registry);
+            HttpSinkDelivery delivery = new HttpSinkDelivery(httpSink, vertx, this::getHttpClient, log,
+                    queueSize, batchSize, lingerMs, maxRetries, retryBackoffMs, deliveryLatency, dropped);
+            Gauge.builder(EVENTS_QUEUE_SIZE, delivery, HttpSinkDelivery::queueSize)
+                    .description(EVENTS_QUEUE_SIZE_DESCRIPTION)
+                    .tag(EVENTS_TAG_SINK, httpSink.getName())
+                    .register(registry);
+            deliveries.add(delivery);
+        }
+    }
+
     @Override
     public String name() {
         return "HTTP Sink";
@@ -62,36 +119,14 @@ public class HttpEventSink implements EventSink {
 
         String type = message.headers().get("type");
 
-        log.info("Firing event " + type);
+        log.debug("Firing event " + type);
 
-        for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
-            sendEventHttp(type, httpSink, message.body());
+        for (HttpSinkDelivery delivery : deliveries) {
+            delivery.enqueue(type, message.body());
         }
 
     }
 
-    private void sendEventHttp(String type, HttpSinkConfiguration httpSink, Buffer data) {
-        try {
-            log.debug("Sending event to sink " + httpSink.getName());
-            getHttpClient()
-                    .request(
-                            new RequestOptions()
-                                    .setMethod(HttpMethod.POST)
-                                    .setURI(httpSink.getEndpoint())
-                                    .putHeader("ce-id", UUID.randomUUID().toString())
-                                    .putHeader("ce-specversion", "1.0")
-                                    .putHeader("ce-source", "apicurio-registry")
-                                    .putHeader("ce-type", type)
-                                    .putHeader("content-type", MediaType.APPLICATION_JSON)
-                    )
-                    .result()
-                    .exceptionHandler(ex -> log.error("Error sending event to " + httpSink.getEndpoint(), ex))
-                    .end(data);
-        } catch (Exception e) {
-            log.error("Error sending http event", e);
-        }
-    }
-
     private synchronized HttpClient getHttpClient() {
         if (httpClient == null) {
             httpClient = vertx.createHttpClient(new HttpClientOptions()
@@ -100,4 +135,4 @@ public class HttpEventSink implements EventSink {
         return httpClient;
     }
 
-}
\ No newline at end of file
+}
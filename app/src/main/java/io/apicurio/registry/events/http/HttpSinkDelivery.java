@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events.http;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.MediaType;
+
+import org.slf4j.Logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Delivers the events to a single http sink.  Events are buffered in a bounded queue and sent one request
+ * at a time, so a slow or failing sink neither floods the event loop nor delays the other sinks.  When more
+ * than one event is pending (up to the batch size) they are sent in a single request using the CloudEvents
+ * batched content mode, otherwise the event is sent using the binary content mode.  Failed requests are
+ * retried with an exponential backoff (keeping the ids of the events, so the sink can deduplicate them),
+ * except when the sink rejects the request with a client error other than 408 (timeout) or 429 (too many
+ * requests).  Events that can't be queued or delivered are dropped and counted.
+ */
+class HttpSinkDelivery {
+
+    static final String CLOUDEVENTS_BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+
+    private static final long MAX_RETRY_BACKOFF_MS = 30 * 1000;
+
+    private final HttpSinkConfiguration sink;
+    private final Vertx vertx;
+    private final Supplier<HttpClient> httpClient;
+    private final Logger log;
+
+    private final int queueSize;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    private final Timer deliveryLatency;
+    private final Counter dropped;
+
+    private final Deque<PendingEvent> queue = new ArrayDeque<>();
+    private boolean inFlight;
+    private long lingerTimerId = -1;
+
+    HttpSinkDelivery(HttpSinkConfiguration sink, Vertx vertx, Supplier<HttpClient> httpClient, Logger log,
+            int queueSize, int batchSize, long lingerMs, int maxRetries, long retryBackoffMs,
+            Timer deliveryLatency, Counter dropped) {
+        this.sink = sink;
+        this.vertx = vertx;
+        this.httpClient = httpClient;
+        this.log = log;
+        this.queueSize = queueSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMs = lingerMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.deliveryLatency = deliveryLatency;
+        this.dropped = dropped;
+    }
+
+    synchronized void enqueue(String type, Buffer data) {
+        if (queue.size() >= queueSize) {
+            dropped.increment();
+            log.warn("Event queue of sink {} is full, dropping event {}", sink.getName(), type);
+            return;
+        }
+        queue.add(new PendingEvent(type, data, System.nanoTime()));
+        if (!inFlight) {
+            sendOrLinger();
+        }
+    }
+
+    synchronized int queueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Sends the next batch if it is full (or lingering is disabled), otherwise waits up to the linger time
+     * for more events to arrive.
+     */
+    private void sendOrLinger() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (queue.size() >= batchSize || lingerMs <= 0) {
+            if (lingerTimerId != -1) {
+                vertx.cancelTimer(lingerTimerId);
+                lingerTimerId = -1;
+            }
+            sendNextBatch();
+        } else if (lingerTimerId == -1) {
+            lingerTimerId = vertx.setTimer(lingerMs, id -> onLingerExpired());
+        }
+    }
+
+    private synchronized void onLingerExpired() {
+        lingerTimerId = -1;
+        if (!inFlight) {
+            sendNextBatch();
+        }
+    }
+
+    private void sendNextBatch() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        List<PendingEvent> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        while (batch.size() < batchSize && !queue.isEmpty()) {
+            batch.add(queue.poll());
+        }
+        inFlight = true;
+        send(batch, 0);
+    }
+
+    private void send(List<PendingEvent> batch, int attempt) {
+        try {
+            log.debug("Sending {} event(s) to sink {}", batch.size(), sink.getName());
+            RequestOptions options = new RequestOptions()
+                    .setMethod(HttpMethod.POST)
+                    .setAbsoluteURI(sink.getEndpoint());
+            Buffer body;
+            if (batch.size() == 1) {
+                PendingEvent event = batch.get(0);
+                options.putHeader("ce-id", event.id)
+                        .putHeader("ce-specversion", "1.0")
+                        .putHeader("ce-source", "apicurio-registry")
+                        .putHeader("ce-type", event.type)
+                        .putHeader("content-type", MediaType.APPLICATION_JSON);
+                body = event.data;
+            } else {
+                options.putHeader("content-type", CLOUDEVENTS_BATCH_CONTENT_TYPE);
+                JsonArray events = new JsonArray();
+                for (Iterator<PendingEvent> iterator = batch.iterator(); iterator.hasNext(); ) {
+                    PendingEvent event = iterator.next();
+                    Object data;
+                    try {
+                        data = Json.decodeValue(event.data);
+                    } catch (DecodeException e) {
+                        // Only this event can't be sent, the others of the batch still are.
+                        iterator.remove();
+                        dropped.increment();
+                        log.error("Dropping event " + event.type + " for sink " + sink.getName() + ", its data is not valid JSON", e);
+                        continue;
+                    }
+                    events.add(new JsonObject()
+                            .put("id", event.id)
+                            .put("specversion", "1.0")
+                            .put("source", "apicurio-registry")
+                            .put("type", event.type)
+                            .put("datacontenttype", MediaType.APPLICATION_JSON)
+                            .put("data", data));
+                }
+                if (batch.isEmpty()) {
+                    onBatchDone();
+                    return;
+                }
+                body = events.toBuffer();
+            }
+            httpClient.get()
+                    .request(options)
+                    .compose(request -> request.send(body))
+                    .compose(response -> response.body().map(ignored -> response.statusCode()))
+                    .onComplete(result -> onComplete(batch, attempt, result));
+        } catch (Exception e) {
+            onComplete(batch, attempt, Future.failedFuture(e));
+        }
+    }
+
+    private synchronized void onComplete(List<PendingEvent> batch, int attempt, AsyncResult<Integer> result) {
+        boolean delivered = result.succeeded() && result.result() >= 200 && result.result() < 300;
+        if (delivered) {
+            long now = System.nanoTime();
+            for (PendingEvent event : batch) {
+                deliveryLatency.record(now - event.created, TimeUnit.NANOSECONDS);
+            }
+        } else if (attempt < maxRetries && (result.failed() || isRetryable(result.result()))) {
+            long backoff = Math.min(retryBackoffMs << attempt, MAX_RETRY_BACKOFF_MS);
+            log.debug("Error sending events to {}, retrying in {} ms", sink.getEndpoint(), backoff);
+            vertx.setTimer(backoff, id -> send(batch, attempt + 1));
+            return;
+        } else {
+            dropped.increment(batch.size());
+            if (result.succeeded()) {
+                log.error("Error sending {} event(s) to {}, status code {}", batch.size(), sink.getEndpoint(), result.result());
+            } else {
+                log.error("Error sending " + batch.size() + " event(s) to " + sink.getEndpoint(), result.cause());
+            }
+        }
+        onBatchDone();
+    }
+
+    private synchronized void onBatchDone() {
+        inFlight = false;
+        sendOrLinger();
+    }
+
+    /**
+     * Client errors won't go away by sending the same request again, except for a timeout or rate limiting.
+     * @param statusCode
+     */
+    private static boolean isRetryable(int statusCode) {
+        return statusCode < 400 || statusCode >= 500 || statusCode == 408 || statusCode == 429;
+    }
+
+    private static class PendingEvent {
+
+        private final String id;
+        private final String type;
+        private final Buffer data;
+        private final long created;
+
+        PendingEvent(String type, Buffer data, long created) {
+            // Generated once, so that the retries of the event are sent with the same id.
+            this.id = UUID.randomUUID().toString();
+            this.type = type;
+            this.data = data;
+            this.created = created;
+        }
+    }
+}
@@ -15,15 +15,23 @@
  */
 package io.apicurio.registry.events.kafka;
 
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DELIVERY;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DELIVERY_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_TAG_SINK;
+
 import java.time.Instant;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.header.internals.RecordHeaders;
@@ -34,6 +42,9 @@ import io.apicurio.registry.events.EventSink;
 import io.apicurio.registry.utils.RegistryProperties;
 import io.apicurio.registry.utils.kafka.AsyncProducer;
 import io.apicurio.registry.utils.kafka.ProducerActions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 
@@ -53,8 +64,13 @@ public class KafkaEventSink implements EventSink {
     )
     Properties producerProperties;
 
+    @Inject
+    MeterRegistry registry;
+
     private ProducerActions<String, byte[]> producer;
     private Integer partition;
+    private Timer deliveryLatency;
+    private Counter dropped;
 
     @ConfigProperty(name = "registry.events.kafka.topic")
     Optional<String> eventsTopic;
@@ -62,9 +78,26 @@ public class KafkaEventSink implements EventSink {
     @ConfigProperty(name = "registry.events.kafka.topic-partition")
     Optional<Integer> eventsTopicPartition;
 
+    @ConfigProperty(name = "registry.events.kafka.linger-ms", defaultValue = "5")
+    Integer lingerMs;
+
+    @ConfigProperty(name = "registry.events.kafka.batch-size", defaultValue = "65536")
+    Integer batchSize;
+
     @PostConstruct
     void init() {
         partition = eventsTopicPartition.orElse(null);
+        // Batch the events like the http sink does, unless the producer is explicitly configured
+        producerProperties.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(lingerMs));
+        producerProperties.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
+        deliveryLatency = Timer.builder(EVENTS_DELIVERY)
+                .description(EVENTS_DELIVERY_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, "kafka")
+                .register(registry);
+        dropped = Counter.builder(EVENTS_DROPPED)
+                .description(EVENTS_DROPPED_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, "kafka")
+                .register(registry);
     }
 
     @Override
@@ -82,8 +115,9 @@ public class KafkaEventSink implements EventSink {
         String type = message.headers().get("type");
         String artifactId = message.headers().get("artifactId");
 
-        log.info("Firing event " + type);
+        log.debug("Firing event " + type);
 
+        long created = System.nanoTime();
         UUID uuid = UUID.randomUUID();
 
         Headers headers = new RecordHeaders();
@@ -106,7 +140,15 @@ public class KafkaEventSink implements EventSink {
                     partition, //partition is optional and can be null
                     key,
                     message.body().getBytes(),
-                    headers));
+                    headers))
+            .whenComplete((metadata, ex) -> {
+                if (ex == null) {
+                    deliveryLatency.record(System.nanoTime() - created, TimeUnit.NANOSECONDS);
+                } else {
+                    dropped.increment();
+                    log.error("Error sending event " + type + " to topic " + eventsTopic.get(), ex);
+                }
+            });
 
     }
 
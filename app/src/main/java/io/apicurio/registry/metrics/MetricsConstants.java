@@ -35,4 +35,32 @@ public interface MetricsConstants {
     String STORAGE_METHOD_CALL_TAG_TENANT = "tenant_id";
     String STORAGE_METHOD_CALL_TAG_METHOD = "method";
     String STORAGE_METHOD_CALL_TAG_SUCCESS = "success";
+
+    // Rules
+
+    String RULES_PREFIX = "rules.";
+    String RULES_PARSED_SCHEMA_CACHE = RULES_PREFIX + "parsed.schema.cache";
+    String RULES_PARSED_SCHEMA_CACHE_HITS = RULES_PARSED_SCHEMA_CACHE + ".hits";
+    String RULES_PARSED_SCHEMA_CACHE_MISSES = RULES_PARSED_SCHEMA_CACHE + ".misses";
+    String RULES_PARSED_SCHEMA_CACHE_EVICTIONS = RULES_PARSED_SCHEMA_CACHE + ".evictions";
+    String RULES_PARSED_SCHEMA_CACHE_SIZE = RULES_PARSED_SCHEMA_CACHE + ".size";
+    String RULES_PARSED_SCHEMA_CACHE_DESCRIPTION = "Parsed schemas cache used by the compatibility and validity rules";
+
+    // Rules tags/labels
+
+    String RULES_PARSED_SCHEMA_CACHE_TAG_CACHE = "cache";
+
+    // Events
+
+    String EVENTS_PREFIX = "events.";
+    String EVENTS_DELIVERY = EVENTS_PREFIX + "delivery";
+    String EVENTS_DELIVERY_DESCRIPTION = "Time between an event being fired and its delivery to a sink";
+    String EVENTS_DROPPED = EVENTS_PREFIX + "dropped";
+    String EVENTS_DROPPED_DESCRIPTION = "Events that could not be delivered to a sink";
+    String EVENTS_QUEUE_SIZE = EVENTS_PREFIX + "queue.size";
+    String EVENTS_QUEUE_SIZE_DESCRIPTION = "Events waiting to be delivered to a sink";
+
+    // Events tags/labels
+
+    String EVENTS_TAG_SINK = "sink";
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.metrics;
+
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_EVICTIONS;
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_HITS;
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_MISSES;
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.RULES_PARSED_SCHEMA_CACHE_TAG_CACHE;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Exposes the hits, misses, evictions and size of the parsed schema caches used by the rules as metrics.
+ */
+@ApplicationScoped
+public class ParsedSchemaCacheMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ParsedSchemas parsedSchemas;
+
+    void onStart(@Observes StartupEvent ev) {
+        for (ParsedContentCache<?> cache : parsedSchemas.all()) {
+            register(cache);
+        }
+    }
+
+    private void register(ParsedContentCache<?> cache) {
+        FunctionCounter.builder(RULES_PARSED_SCHEMA_CACHE_HITS, cache, ParsedContentCache::getHits)
+            .description(RULES_PARSED_SCHEMA_CACHE_DESCRIPTION)
+            .tag(RULES_PARSED_SCHEMA_CACHE_TAG_CACHE, cache.getName())
+            .register(registry);
+        FunctionCounter.builder(RULES_PARSED_SCHEMA_CACHE_MISSES, cache, ParsedContentCache::getMisses)
+            .description(RULES_PARSED_SCHEMA_CACHE_DESCRIPTION)
+            .tag(RULES_PARSED_SCHEMA_CACHE_TAG_CACHE, cache.getName())
+            .register(registry);
+        FunctionCounter.builder(RULES_PARSED_SCHEMA_CACHE_EVICTIONS, cache, ParsedContentCache::getEvictions)
+            .description(RULES_PARSED_SCHEMA_CACHE_DESCRIPTION)
+            .tag(RULES_PARSED_SCHEMA_CACHE_TAG_CACHE, cache.getName())
+            .register(registry);
+        Gauge.builder(RULES_PARSED_SCHEMA_CACHE_SIZE, cache, ParsedContentCache::size)
+            .description(RULES_PARSED_SCHEMA_CACHE_DESCRIPTION)
+            .tag(RULES_PARSED_SCHEMA_CACHE_TAG_CACHE, cache.getName())
+            .register(registry);
+    }
+
+}
@@ -45,15 +45,18 @@ import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.MissingRequiredParameterException;
 import io.apicurio.registry.rest.v2.beans.DownloadRef;
+import io.apicurio.registry.rest.v2.beans.ImportStatus;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
 import io.apicurio.registry.rest.v2.beans.NamedLogConfiguration;
 import io.apicurio.registry.rest.v2.beans.RoleMapping;
 import io.apicurio.registry.rest.v2.beans.Rule;
 import io.apicurio.registry.rest.v2.beans.UpdateRole;
 import io.apicurio.registry.rest.v2.shared.DataExporter;
+import io.apicurio.registry.rest.v2.shared.DataImportTracker;
 import io.apicurio.registry.rules.DefaultRuleDeletionException;
 import io.apicurio.registry.rules.RulesProperties;
 import io.apicurio.registry.services.LogConfigurationService;
+import io.apicurio.registry.storage.ImportNotFoundException;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.RuleNotFoundException;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
@@ -100,6 +103,9 @@ public class AdminResourceImpl implements AdminResource {
     @Inject
     DataExporter exporter;
 
+    @Inject
+    DataImportTracker importTracker;
+
     @Context
     HttpServletRequest request;
 
@@ -276,7 +282,26 @@ public class AdminResourceImpl implements AdminResource {
                 zip.close();
             }
         };
-        this.storage.importData(stream);
+        boolean success = false;
+        try {
+            this.storage.importData(importTracker.track(stream));
+            success = true;
+        } finally {
+            importTracker.finish(success);
+        }
+    }
+
+    /**
+     * @see io.apicurio.registry.rest.v2.AdminResource#getImportStatus()
+     */
+    @Override
+    @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Admin)
+    public ImportStatus getImportStatus() {
+        ImportStatus status = importTracker.getStatus();
+        if (status == null) {
+            throw new ImportNotFoundException();
+        }
+        return status;
     }
 
     /**
@@ -296,7 +321,7 @@ public class AdminResourceImpl implements AdminResource {
             downloadRef.setHref(downloadHref);
             return Response.ok(downloadRef).type(MediaType.APPLICATION_JSON_TYPE).build();
         } else {
-            return exporter.exportData();
+            return exporter.exportData(request.getHeader("Range"), request.getHeader("If-Range"));
         }
     }
 
@@ -16,14 +16,26 @@
 
 package io.apicurio.registry.rest.v2;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.interceptor.Interceptors;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
 import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
@@ -32,10 +44,14 @@ import io.apicurio.registry.logging.Logged;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.HeadersHack;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResult;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
 import io.apicurio.registry.storage.ArtifactNotFoundException;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
-import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.types.ArtifactMediaTypes;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
@@ -49,23 +65,58 @@ import io.apicurio.registry.types.Current;
 @Logged
 public class IdsResourceImpl implements IdsResource {
 
+    /**
+     * The IDs can be reused (e.g. when importing after deleting all the data), so the content fetched by
+     * ID must be revalidated (which is cheap, thanks to the ETag) before a cached copy is used.
+     */
+    private static final String ID_CACHE_CONTROL = "no-cache";
+
+    /**
+     * The content with a given hash can never change, so it can be cached for as long as possible.
+     */
+    private static final String HASH_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
     @Inject
     @Current
     RegistryStorage storage;
 
+    @Inject
+    @ConfigProperty(name = "registry.ids.lookup.max-ids", defaultValue = "1000")
+    Integer lookupMaxIds;
+
+    @Context
+    Request request;
+
     private void checkIfDeprecated(Supplier<ArtifactState> stateSupplier, String artifactId, String version, Response.ResponseBuilder builder) {
         HeadersHack.checkIfDeprecated(stateSupplier, null, artifactId, version, builder);
     }
 
+    /**
+     * Builds the response for the given content, or a 304 when the client's If-None-Match
+     * header matches the stored content hash (used as a strong ETag).  The cache control
+     * headers of these endpoints are set here, the ResourceCacheControlFilter leaves them alone.
+     * @param contentHash
+     * @param content
+     * @param contentType
+     * @param cacheControl
+     */
+    private Response.ResponseBuilder contentResponse(String contentHash, ContentHandle content, MediaType contentType, String cacheControl) {
+        EntityTag etag = new EntityTag(contentHash);
+        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
+        if (builder == null) {
+            builder = Response.ok(content.bytes(), contentType);
+        }
+        return builder.tag(etag).header(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
     /**
      * @see io.apicurio.registry.rest.v2.IdsResource#getContentById(int)
      */
     @Override
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
     public Response getContentById(int contentId) {
-        ContentHandle content = storage.getArtifactByContentId(contentId);
-        Response.ResponseBuilder builder = Response.ok(content, ArtifactMediaTypes.BINARY);
-        return builder.build();
+        ContentWrapperDto content = storage.getContentWrapperByContentId(contentId);
+        return contentResponse(content.getContentHash(), content.getContent(), ArtifactMediaTypes.BINARY, ID_CACHE_CONTROL).build();
     }
 
     /**
@@ -74,12 +125,11 @@ public class IdsResourceImpl implements IdsResource {
     @Override
     @Authorized(style=AuthorizedStyle.GlobalId, level=AuthorizedLevel.Read)
     public Response getContentByGlobalId(int globalId) {
-        ArtifactMetaDataDto metaData = storage.getArtifactMetaData(globalId);
+        ArtifactVersionContentDto artifact = storage.getArtifactVersionContent(globalId);
+        ArtifactMetaDataDto metaData = artifact.getMetaData();
         if(ArtifactState.DISABLED.equals(metaData.getState())) {
             throw new ArtifactNotFoundException(null, String.valueOf(globalId));
         }
-        StoredArtifactDto artifact = storage.getArtifactVersion(globalId);
-
         // protobuf - the content-type will be different for protobuf artifacts
         MediaType contentType = ArtifactMediaTypes.JSON;
         if (metaData.getType() == ArtifactType.PROTOBUF) {
@@ -90,7 +140,7 @@ public class IdsResourceImpl implements IdsResource {
             contentType = ArtifactMediaTypes.GRAPHQL;
         }
 
-        Response.ResponseBuilder builder = Response.ok(artifact.getContent(), contentType);
+        Response.ResponseBuilder builder = contentResponse(artifact.getContentHash(), artifact.getContent(), contentType, ID_CACHE_CONTROL);
         checkIfDeprecated(metaData::getState, metaData.getId(), metaData.getVersion(), builder);
         return builder.build();
     }
@@ -102,8 +152,51 @@ public class IdsResourceImpl implements IdsResource {
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
     public Response getContentByHash(String contentHash) {
         ContentHandle content = storage.getArtifactByContentHash(contentHash);
-        Response.ResponseBuilder builder = Response.ok(content, ArtifactMediaTypes.BINARY);
-        return builder.build();
+        return contentResponse(contentHash, content, ArtifactMediaTypes.BINARY, HASH_CACHE_CONTROL).build();
+    }
+
+    /**
+     * @see io.apicurio.registry.rest.v2.IdsResource#lookupContent(io.apicurio.registry.rest.v2.beans.ContentLookup)
+     */
+    @Override
+    @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
+    public ContentLookupResults lookupContent(ContentLookup data) {
+        Set<Long> globalIds = data.getGlobalIds() == null ? Collections.emptySet() : new LinkedHashSet<>(data.getGlobalIds());
+        Set<Long> contentIds = data.getContentIds() == null ? Collections.emptySet() : new LinkedHashSet<>(data.getContentIds());
+        if (globalIds.size() + contentIds.size() > lookupMaxIds) {
+            throw new BadRequestException("Too many IDs, at most " + lookupMaxIds + " can be looked up at once.");
+        }
+
+        List<ContentLookupResult> results = new ArrayList<>(globalIds.size() + contentIds.size());
+        if (!globalIds.isEmpty()) {
+            for (ArtifactVersionContentDto artifact : storage.getArtifactVersionContents(globalIds)) {
+                ArtifactMetaDataDto metaData = artifact.getMetaData();
+                if (ArtifactState.DISABLED.equals(metaData.getState())) {
+                    continue;
+                }
+                ContentLookupResult result = new ContentLookupResult();
+                result.setGlobalId(metaData.getGlobalId());
+                result.setContentId(metaData.getContentId());
+                result.setGroupId(metaData.getGroupId());
+                result.setArtifactId(metaData.getId());
+                result.setVersion(metaData.getVersion());
+                result.setType(metaData.getType());
+                result.setContent(artifact.getContent().content());
+                results.add(result);
+            }
+        }
+        if (!contentIds.isEmpty()) {
+            storage.getArtifactsByContentIds(contentIds).forEach((contentId, content) -> {
+                ContentLookupResult result = new ContentLookupResult();
+                result.setContentId(contentId);
+                result.setContent(content.content());
+                results.add(result);
+            });
+        }
+
+        ContentLookupResults lookupResults = new ContentLookupResults();
+        lookupResults.setResults(results);
+        return lookupResults;
     }
 
 }
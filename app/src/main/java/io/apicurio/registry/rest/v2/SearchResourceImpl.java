@@ -28,7 +28,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.Context;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 
 import io.apicurio.registry.auth.Authorized;
@@ -80,13 +79,17 @@ public class SearchResourceImpl implements SearchResource {
     HttpServletRequest request;
 
     /**
-     * @see io.apicurio.registry.rest.v2.SearchResource#searchArtifacts(java.lang.String, java.lang.Integer, java.lang.Integer, io.apicurio.registry.rest.v2.beans.SortOrder, io.apicurio.registry.rest.v2.beans.SortBy, java.util.List, java.util.List, java.lang.String, java.lang.String)
+     * @see io.apicurio.registry.rest.v2.SearchResource#searchArtifacts(java.lang.String, java.lang.Integer, java.lang.Integer, io.apicurio.registry.rest.v2.beans.SortOrder, io.apicurio.registry.rest.v2.beans.SortBy, java.util.List, java.util.List, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean)
      */
     @Override
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
     public ArtifactSearchResults searchArtifacts(String name, Integer offset, Integer limit, SortOrder order,
             SortBy orderby, List<String> labels, List<String> properties, String description,
-            String group) {
+            String group, String cursor, Boolean count) {
+        if (cursor != null && (offset != null || order != null || orderby != null)) {
+            // Cursor paging always follows the group and artifact id order, it cannot be combined with these.
+            throw new BadRequestException("The offset, order and orderby parameters cannot be used with a cursor.");
+        }
         if (orderby == null) {
             orderby = SortBy.name;
         }
@@ -118,6 +121,13 @@ public class SearchResourceImpl implements SearchResource {
             properties.forEach(label -> filters.add(new SearchFilter(SearchFilterType.properties, label)));
         }
 
+        // An empty cursor asks for the first page of a cursor-based traversal
+        if (cursor != null) {
+            ArtifactSearchResultsDto results = storage.searchArtifacts(filters, cursor.isEmpty() ? null : cursor,
+                    limit, count != null && count);
+            return V2ApiUtil.dtoToSearchResults(results);
+        }
+
         ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, offset, limit);
         return V2ApiUtil.dtoToSearchResults(results);
     }
@@ -176,7 +186,7 @@ public class SearchResourceImpl implements SearchResource {
     }
 
     private String sha256Hash(ContentHandle chandle) {
-        return DigestUtils.sha256Hex(chandle.bytes());
+        return chandle.sha256Hex();
     }
 
     private String gidOrNull(String groupId) {
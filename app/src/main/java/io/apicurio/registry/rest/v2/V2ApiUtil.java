@@ -232,6 +232,7 @@ public final class V2ApiUtil {
     public static ArtifactSearchResults dtoToSearchResults(ArtifactSearchResultsDto dto) {
         ArtifactSearchResults results = new ArtifactSearchResults();
         results.setCount((int) dto.getCount());
+        results.setNext(dto.getNext());
         results.setArtifacts(new ArrayList<>(dto.getArtifacts().size()));
         dto.getArtifacts().forEach(artifact -> {
             SearchedArtifact sa = new SearchedArtifact();
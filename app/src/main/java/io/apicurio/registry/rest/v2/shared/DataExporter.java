@@ -16,20 +16,34 @@
 
 package io.apicurio.registry.rest.v2.shared;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
+import io.apicurio.registry.mt.TenantContext;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.utils.impexp.EntityWriter;
@@ -40,6 +54,8 @@ import io.apicurio.registry.utils.impexp.EntityWriter;
 @ApplicationScoped
 public class DataExporter {
 
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
     @Inject
     Logger log;
 
@@ -47,15 +63,56 @@ public class DataExporter {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    TenantContext tenantContext;
+
+    @ConfigProperty(name = "registry.export.compression-level", defaultValue = "-1")
+    int compressionLevel;
+
+    @ConfigProperty(name = "registry.export.resume.enabled", defaultValue = "false")
+    boolean resumeEnabled;
+
+    @ConfigProperty(name = "registry.export.resume.ttl", defaultValue = "3600")
+    long resumeTtl;
+
+    /**
+     * The last complete export of each tenant, kept so that an interrupted download can be resumed.
+     */
+    private final Map<String, SpooledExport> spools = new ConcurrentHashMap<>();
+
     /**
      * Exports all registry data.
      */
     public Response exportData() {
+        return exportData(null, null);
+    }
+
+    /**
+     * Exports all registry data.  When resuming is enabled, the export is also spooled to a temporary
+     * file, so that a client can resume an interrupted download with a range request.  Range requests
+     * are only served from the last spooled export when their If-Range header matches its ETag (so a
+     * client never stitches together parts of two different exports), otherwise a full export is produced.
+     * @param range the Range request header (optional)
+     * @param ifRange the If-Range request header (optional)
+     */
+    public Response exportData(String range, String ifRange) {
+        String tenantId = tenantContext.tenantId();
+        if (resumeEnabled && range != null) {
+            Response partial = resumeExport(tenantId, range, ifRange);
+            if (partial != null) {
+                return partial;
+            }
+        }
+
+        String etag = UUID.randomUUID().toString();
         StreamingOutput stream = new StreamingOutput() {
             @Override
             public void write(OutputStream os) throws IOException, WebApplicationException {
+                SpooledExport spool = resumeEnabled ? new SpooledExport(etag) : null;
+                boolean complete = false;
                 try {
-                    ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
+                    ZipOutputStream zip = new ZipOutputStream(spool == null ? os : spool.tee(os), StandardCharsets.UTF_8);
+                    zip.setLevel(compressionLevel);
                     EntityWriter writer = new EntityWriter(zip);
                     AtomicInteger errorCounter = new AtomicInteger(0);
                     storage.exportData(entity -> {
@@ -73,15 +130,185 @@ public class DataExporter {
 
                     zip.flush();
                     zip.close();
+                    complete = true;
                 } catch (IOException e) {
                     throw e;
                 } catch (Exception e) {
                     throw new IOException(e);
+                } finally {
+                    if (spool != null) {
+                        finishSpool(tenantId, spool, complete);
+                    }
+                }
+            }
+        };
+
+        Response.ResponseBuilder builder = Response.ok(stream).type("application/zip");
+        if (resumeEnabled) {
+            builder.header("Accept-Ranges", "bytes").tag(etag);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Serves the requested range of the last spooled export.  Returns null when the range cannot be
+     * served from the spool, in which case a full export should be produced instead.
+     */
+    private Response resumeExport(String tenantId, String range, String ifRange) {
+        SpooledExport spool = spools.get(tenantId);
+        if (spool == null) {
+            return null;
+        }
+        if (spool.isExpired(resumeTtl)) {
+            if (spools.remove(tenantId, spool)) {
+                spool.delete();
+            }
+            return null;
+        }
+        if (ifRange == null || !ifRange.equals("\"" + spool.etag + "\"")) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        long length = spool.file.length();
+        long start;
+        long end;
+        try {
+            start = Long.parseLong(matcher.group(1));
+            end = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)), length - 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (start >= length || start > end) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + length)
+                    .build();
+        }
+
+        log.debug("Resuming export from the spooled copy, bytes {}-{}/{}", start, end, length);
+        final long count = end - start + 1;
+        StreamingOutput stream = os -> {
+            try (FileChannel channel = FileChannel.open(spool.file.toPath(), StandardOpenOption.READ)) {
+                try (InputStream is = Channels.newInputStream(channel.position(start))) {
+                    byte[] buffer = new byte[8192];
+                    long remaining = count;
+                    while (remaining > 0) {
+                        int read = is.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                        if (read < 0) {
+                            break;
+                        }
+                        os.write(buffer, 0, read);
+                        remaining -= read;
+                    }
                 }
             }
         };
+        return Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity(stream)
+                .type("application/zip")
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Range", "bytes " + start + "-" + end + "/" + length)
+                .header("Content-Length", count)
+                .tag(spool.etag)
+                .build();
+    }
+
+    private void finishSpool(String tenantId, SpooledExport spool, boolean complete) {
+        spool.close();
+        if (!complete) {
+            spool.delete();
+            return;
+        }
+        SpooledExport previous = spools.put(tenantId, spool);
+        if (previous != null) {
+            previous.delete();
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        spools.values().forEach(SpooledExport::delete);
+        spools.clear();
+    }
+
+    /**
+     * A copy of an export, written to a temporary file while the export is streamed to the client.  The
+     * export keeps being spooled even if the client goes away, so that it can then resume the download.
+     */
+    private class SpooledExport {
+
+        private final String etag;
+        private final File file;
+        private final OutputStream fileStream;
+        private final long createdOn = System.currentTimeMillis();
+
+        SpooledExport(String etag) throws IOException {
+            this.etag = etag;
+            this.file = File.createTempFile("registry-export-", ".zip");
+            this.file.deleteOnExit();
+            this.fileStream = new FileOutputStream(file);
+        }
+
+        /**
+         * Returns a stream writing to both the spool file and the client.  Failures to write to the client
+         * are logged once, and then ignored.
+         */
+        OutputStream tee(OutputStream client) {
+            return new OutputStream() {
+                private boolean clientGone;
+
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[] { (byte) b }, 0, 1);
+                }
 
-        return Response.ok(stream).type("application/zip").build();
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    fileStream.write(b, off, len);
+                    if (!clientGone) {
+                        try {
+                            client.write(b, off, len);
+                        } catch (IOException e) {
+                            log.debug("Client went away during export, finishing the spooled copy only: {}", e.getMessage());
+                            clientGone = true;
+                        }
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    fileStream.flush();
+                    if (!clientGone) {
+                        try {
+                            client.flush();
+                        } catch (IOException e) {
+                            clientGone = true;
+                        }
+                    }
+                }
+            };
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - createdOn > ttlSeconds * 1000;
+        }
+
+        void close() {
+            try {
+                fileStream.close();
+            } catch (IOException e) {
+                log.warn("Failed to close spooled export: {}", file, e);
+            }
+        }
+
+        void delete() {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
     }
 
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.v2.shared;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.apicurio.registry.mt.TenantContext;
+import io.apicurio.registry.rest.v2.beans.ImportStatus;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.utils.impexp.Entity;
+
+/**
+ * Keeps track of the progress of the most recent import of each tenant, so that it can be
+ * reported through the admin API while (and after) the import runs.
+ */
+@ApplicationScoped
+public class DataImportTracker {
+
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_FAILED = "FAILED";
+
+    @Inject
+    TenantContext tenantContext;
+
+    private final Map<String, Progress> imports = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps the given entity stream so that the entities read from it are counted.
+     * @param entities
+     */
+    public EntityInputStream track(EntityInputStream entities) {
+        Progress progress = new Progress();
+        imports.put(tenantContext.tenantId(), progress);
+        return new EntityInputStream() {
+            @Override
+            public Entity nextEntity() throws IOException {
+                Entity entity = entities.nextEntity();
+                if (entity != null) {
+                    progress.entities++;
+                }
+                return entity;
+            }
+
+            @Override
+            public void close() throws IOException {
+                entities.close();
+            }
+        };
+    }
+
+    /**
+     * Marks the current import as finished.
+     * @param success
+     */
+    public void finish(boolean success) {
+        Progress progress = imports.get(tenantContext.tenantId());
+        if (progress != null) {
+            progress.finishedOn = System.currentTimeMillis();
+            progress.state = success ? STATE_COMPLETED : STATE_FAILED;
+        }
+    }
+
+    /**
+     * Returns the status of the current (or most recent) import, or null if there was none.
+     */
+    public ImportStatus getStatus() {
+        Progress progress = imports.get(tenantContext.tenantId());
+        if (progress == null) {
+            return null;
+        }
+        long entities = progress.entities;
+        Long finishedOn = progress.finishedOn;
+        long end = finishedOn != null ? finishedOn : System.currentTimeMillis();
+        long elapsed = Math.max(1, end - progress.startedOn);
+
+        ImportStatus status = new ImportStatus();
+        status.setState(progress.state);
+        status.setStartedOn(new Date(progress.startedOn));
+        status.setFinishedOn(finishedOn != null ? new Date(finishedOn) : null);
+        status.setEntities(entities);
+        status.setEntitiesPerSecond(entities * 1000.0 / elapsed);
+        return status;
+    }
+
+    private static class Progress {
+        private final long startedOn = System.currentTimeMillis();
+        // Only ever updated by the thread running the import.
+        private volatile long entities;
+        private volatile Long finishedOn;
+        private volatile String state = STATE_RUNNING;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rules;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.apicurio.registry.mt.TenantContext;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.BoundedCache;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Caches the effective rules (artifact rules, or global and default global rules when the artifact
+ * has none) per tenant, group and artifact, so that applying the rules does not need to read every
+ * rule from storage on each request.
+ *
+ * Every change to the rules of a tenant (see {@link #invalidate()}) bumps a per-tenant generation,
+ * which makes all the cached entries of that tenant stale.  Entries also expire after the configured
+ * check period.
+ *
+ * The cache is disabled by default (a check period of 0), because a rule changed through one replica
+ * is only invalidated on that replica, and replicas sharing the same SQL database would otherwise apply
+ * stale rules for up to a check period.  The KafkaSQL storage enables it, since every node applies every
+ * journal message and invalidates its own cache (see KafkaSqlSink).
+ */
+@ApplicationScoped
+public class EffectiveRulesCache {
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    @ConfigProperty(name = "registry.rules.cache.check-period", defaultValue = "0")
+    Long checkPeriod;
+
+    @Inject
+    @ConfigProperty(name = "registry.rules.cache.max-size", defaultValue = "10000")
+    Integer maxSize;
+
+    private BoundedCache<RulesKey, CachedRules> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class RulesKey {
+        String tenantId;
+        String groupId;
+        String artifactId;
+    }
+
+    @AllArgsConstructor
+    private static class CachedRules {
+        long generation;
+        long loadedOn;
+        Map<RuleType, RuleConfigurationDto> rules;
+    }
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Returns the effective global rules of the current tenant, loading them if needed.
+     * @param loader
+     */
+    public Map<RuleType, RuleConfigurationDto> getGlobalRules(Supplier<Map<RuleType, RuleConfigurationDto>> loader) {
+        return get(null, null, loader);
+    }
+
+    /**
+     * Returns the effective rules of the given artifact, loading them if needed.
+     * @param groupId
+     * @param artifactId
+     * @param loader
+     */
+    public Map<RuleType, RuleConfigurationDto> getArtifactRules(String groupId, String artifactId,
+            Supplier<Map<RuleType, RuleConfigurationDto>> loader) {
+        return get(groupId, artifactId, loader);
+    }
+
+    /**
+     * Marks all the cached rules of the current tenant as stale.  Must be called after any change
+     * to the global or artifact rules has been committed.
+     */
+    public void invalidate() {
+        generation(tenantContext.tenantId()).incrementAndGet();
+    }
+
+    private Map<RuleType, RuleConfigurationDto> get(String groupId, String artifactId,
+            Supplier<Map<RuleType, RuleConfigurationDto>> loader) {
+        if (checkPeriod <= 0) {
+            return loader.get();
+        }
+        String tenantId = tenantContext.tenantId();
+        long generation = generation(tenantId).get();
+        RulesKey key = new RulesKey(tenantId, groupId, artifactId);
+        long now = System.currentTimeMillis();
+
+        CachedRules cached = cache.get(key);
+        if (cached != null && cached.generation == generation && cached.loadedOn + checkPeriod >= now) {
+            return cached.rules;
+        }
+
+        Map<RuleType, RuleConfigurationDto> rules = loader.get();
+        // The generation read *before* loading is stored, so a concurrent invalidation makes this entry stale.
+        cache.put(key, new CachedRules(generation, now, rules));
+        return rules;
+    }
+
+    private AtomicLong generation(String tenantId) {
+        return generations.computeIfAbsent(tenantId, k -> new AtomicLong());
+    }
+
+}
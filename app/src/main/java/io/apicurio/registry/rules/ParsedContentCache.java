@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rules;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.utils.BoundedCache;
+
+/**
+ * A bounded (least recently used) cache of parsed artifact content (e.g. an Avro {@link org.apache.avro.Schema}), keyed by
+ * the contentHash of the content, so the same stored content always maps to the same entry, regardless of the
+ * artifact it belongs to.  The hash is the one memoized by the {@link ContentHandle}, so looking up content that
+ * was already hashed (e.g. by the storage) doesn't hash it again.
+ *
+ * The cached models are shared between threads, so they must not be mutated by the caller.  Parse
+ * failures are not cached.
+ */
+public class ParsedContentCache<T> {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final String name;
+    private final Function<String, T> parser;
+    private final BoundedCache<String, T> cache = new BoundedCache<>(DEFAULT_MAX_SIZE);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor.
+     * @param name
+     * @param parser
+     */
+    public ParsedContentCache(String name, Function<String, T> parser) {
+        this.name = name;
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the parsed model of the given content, parsing it only if it is not already cached.
+     * @param content
+     */
+    public T get(ContentHandle content) {
+        String contentHash = content.sha256Hex();
+        T parsed = cache.get(contentHash);
+        if (parsed != null) {
+            hits.incrementAndGet();
+            return parsed;
+        }
+        misses.incrementAndGet();
+        parsed = parser.apply(content.content());
+        cache.put(contentHash, parsed);
+        return parsed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setMaxSize(int maxSize) {
+        cache.setMaxSize(maxSize);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rules;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.avro.Schema;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+
+import io.apicurio.registry.rules.compatibility.jsonschema.JsonSchemaDiffLibrary;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
+
+/**
+ * The parsed-schema caches shared by the compatibility checkers and the content validators, so that
+ * content which is checked repeatedly (e.g. the latest version of a subject that many producers keep
+ * re-registering) is only parsed once.  The artifact type providers hand them to the checkers and
+ * validators they create.
+ */
+@ApplicationScoped
+public class ParsedSchemas {
+
+    @Inject
+    @ConfigProperty(name = "registry.rules.parsed-schema-cache.max-size", defaultValue = "1000")
+    Integer maxSize;
+
+    private final ParsedContentCache<Schema> avro = avroCache();
+    private final ParsedContentCache<org.everit.json.schema.Schema> jsonSchema = jsonSchemaCache();
+    private final ParsedContentCache<JsonSchema> jsonSchemaValidator = jsonSchemaValidatorCache();
+    private final ParsedContentCache<ProtobufFile> protobuf = protobufCache();
+
+    @PostConstruct
+    void onConstruct() {
+        for (ParsedContentCache<?> cache : all()) {
+            cache.setMaxSize(maxSize);
+        }
+    }
+
+    public ParsedContentCache<Schema> avro() {
+        return avro;
+    }
+
+    public ParsedContentCache<org.everit.json.schema.Schema> jsonSchema() {
+        return jsonSchema;
+    }
+
+    public ParsedContentCache<JsonSchema> jsonSchemaValidator() {
+        return jsonSchemaValidator;
+    }
+
+    public ParsedContentCache<ProtobufFile> protobuf() {
+        return protobuf;
+    }
+
+    public List<ParsedContentCache<?>> all() {
+        return Arrays.asList(avro, jsonSchema, jsonSchemaValidator, protobuf);
+    }
+
+    /**
+     * @return a new cache of parsed Avro schemas, for checkers and validators used outside of CDI
+     */
+    public static ParsedContentCache<Schema> avroCache() {
+        return new ParsedContentCache<>("avro", content -> new Schema.Parser().parse(content));
+    }
+
+    /**
+     * @return a new cache of JSON schemas parsed for the compatibility checks
+     */
+    public static ParsedContentCache<org.everit.json.schema.Schema> jsonSchemaCache() {
+        return new ParsedContentCache<>("json", JsonSchemaDiffLibrary::loadSchema);
+    }
+
+    /**
+     * @return a new cache of JSON schemas parsed for the validity checks
+     */
+    public static ParsedContentCache<JsonSchema> jsonSchemaValidatorCache() {
+        return new ParsedContentCache<>("json-validator", content -> JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7).getSchema(content));
+    }
+
+    /**
+     * @return a new cache of parsed Protobuf files
+     */
+    public static ParsedContentCache<ProtobufFile> protobufCache() {
+        return new ParsedContentCache<>("protobuf", ProtobufFile::new);
+    }
+
+}
@@ -34,6 +34,7 @@ public class RuleContext {
     private final String configuration;
     private final ContentHandle currentContent;
     private final ContentHandle updatedContent;
+    private final boolean historyAvailable;
 
     /**
      * Constructor.
@@ -46,12 +47,29 @@ public class RuleContext {
      */
     public RuleContext(String groupId, String artifactId, ArtifactType artifactType, String configuration,
                        ContentHandle currentContent, ContentHandle updatedContent) {
+        this(groupId, artifactId, artifactType, configuration, currentContent, updatedContent, false);
+    }
+
+    /**
+     * Constructor.
+     * @param groupId
+     * @param artifactId
+     * @param artifactType
+     * @param configuration
+     * @param currentContent
+     * @param updatedContent
+     * @param historyAvailable true if the current content is the latest version of an existing artifact,
+     *        in which case rule executors may also read the other versions of the artifact from storage
+     */
+    public RuleContext(String groupId, String artifactId, ArtifactType artifactType, String configuration,
+                       ContentHandle currentContent, ContentHandle updatedContent, boolean historyAvailable) {
         this.groupId = groupId;
         this.artifactId = Objects.requireNonNull(artifactId);
         this.artifactType = Objects.requireNonNull(artifactType);
         this.configuration = Objects.requireNonNull(configuration);
         this.currentContent = currentContent; // Current Content will be null when creating an artifact.
         this.updatedContent = Objects.requireNonNull(updatedContent);
+        this.historyAvailable = historyAvailable && currentContent != null;
     }
 
     /**
@@ -95,4 +113,11 @@ public class RuleContext {
     public ContentHandle getUpdatedContent() {
         return updatedContent;
     }
+
+    /**
+     * @return true if the other versions of the artifact may be read from storage
+     */
+    public boolean isHistoryAvailable() {
+        return historyAvailable;
+    }
 }
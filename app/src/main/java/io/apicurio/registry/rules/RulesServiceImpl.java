@@ -51,51 +51,74 @@ public class RulesServiceImpl implements RulesService {
     @Inject
     RulesProperties rulesProperties;
 
+    @Inject
+    EffectiveRulesCache rulesCache;
+
     /**
      * @see io.apicurio.registry.rules.RulesService#applyRules(java.lang.String, java.lang.String, io.apicurio.registry.types.ArtifactType, io.apicurio.registry.content.ContentHandle, io.apicurio.registry.rules.RuleApplicationType)
      */
     @Override
     public void applyRules(String groupId, String artifactId, ArtifactType artifactType, ContentHandle artifactContent,
                           RuleApplicationType ruleApplicationType) throws RuleViolationException {
-        @SuppressWarnings("unchecked")
-        List<RuleType> rules = Collections.EMPTY_LIST;
+        Map<RuleType, RuleConfigurationDto> rules;
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
-            rules = storage.getArtifactRules(groupId, artifactId);
+            rules = getEffectiveArtifactRules(groupId, artifactId);
+        } else {
+            rules = getEffectiveGlobalRules();
         }
+        if (rules.isEmpty()) {
+            return;
+        }
+
         ContentHandle currentArtifactContent = null;
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
             StoredArtifactDto currentArtifact = storage.getArtifact(groupId, artifactId);
             currentArtifactContent = currentArtifact.getContent();
         }
 
-        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentArtifactContent, artifactContent, rules);
+        applyAllRules(groupId, artifactId, artifactType, currentArtifactContent, artifactContent, rules, true);
     }
 
-    private void applyGlobalAndArtifactRules(String groupId, String artifactId, ArtifactType artifactType,
+    private void applyAllRules(String groupId, String artifactId, ArtifactType artifactType,
             ContentHandle currentArtifactContent, ContentHandle updatedArtifactContent,
-            List<RuleType> artifactRules) {
+            Map<RuleType, RuleConfigurationDto> rules, boolean historyAvailable) {
+        for (Map.Entry<RuleType, RuleConfigurationDto> rule : rules.entrySet()) {
+            applyRule(groupId, artifactId, artifactType, currentArtifactContent, updatedArtifactContent, rule.getKey(),
+                    rule.getValue().getConfiguration(), historyAvailable);
+        }
+    }
 
-        Map<RuleType, RuleConfigurationDto> globalOrArtifactRulesMap = artifactRules.stream()
-            .collect(Collectors.toMap(ruleType -> ruleType, ruleType -> storage.getArtifactRule(groupId, artifactId, ruleType)));
+    /**
+     * Returns the rules of the given artifact, or the global rules if the artifact has none.
+     * @param groupId
+     * @param artifactId
+     */
+    private Map<RuleType, RuleConfigurationDto> getEffectiveArtifactRules(String groupId, String artifactId) {
+        return rulesCache.getArtifactRules(groupId, artifactId, () -> {
+            Map<RuleType, RuleConfigurationDto> artifactRules = storage.getArtifactRules(groupId, artifactId).stream()
+                .collect(Collectors.toMap(ruleType -> ruleType, ruleType -> storage.getArtifactRule(groupId, artifactId, ruleType)));
+            if (artifactRules.isEmpty()) {
+                return getEffectiveGlobalRules();
+            }
+            return Collections.unmodifiableMap(artifactRules);
+        });
+    }
 
-        if (globalOrArtifactRulesMap.isEmpty()) {
+    /**
+     * Returns the global rules, including any default global rules that are not overridden in storage.
+     */
+    private Map<RuleType, RuleConfigurationDto> getEffectiveGlobalRules() {
+        return rulesCache.getGlobalRules(() -> {
             List<RuleType> globalRules = storage.getGlobalRules();
-            globalOrArtifactRulesMap = globalRules.stream()
+            Map<RuleType, RuleConfigurationDto> globalRulesMap = globalRules.stream()
                 .collect(Collectors.toMap(ruleType -> ruleType, storage::getGlobalRule));
 
             // Add any default global rules to the map (after filtering out any global rules from artifactStore)
             Map<RuleType, RuleConfigurationDto>  filteredDefaultGlobalRulesMap = rulesProperties.getFilteredDefaultGlobalRules(globalRules).stream()
                 .collect(Collectors.toMap(ruleType -> ruleType, rulesProperties::getDefaultGlobalRuleConfiguration));
-            globalOrArtifactRulesMap.putAll(filteredDefaultGlobalRulesMap);
-        }
-
-        if (globalOrArtifactRulesMap.isEmpty()) {
-            return;
-        }
-
-        for (RuleType ruleType : globalOrArtifactRulesMap.keySet()) {
-            applyRule(groupId, artifactId, artifactType, currentArtifactContent, updatedArtifactContent, ruleType, globalOrArtifactRulesMap.get(ruleType).getConfiguration());
-        }
+            globalRulesMap.putAll(filteredDefaultGlobalRulesMap);
+            return Collections.unmodifiableMap(globalRulesMap);
+        });
     }
 
     /**
@@ -110,7 +133,7 @@ public class RulesServiceImpl implements RulesService {
             StoredArtifactDto currentArtifact = storage.getArtifact(groupId, artifactId);
             currentArtifactContent = currentArtifact.getContent();
         }
-        applyRule(groupId, artifactId, artifactType, currentArtifactContent, artifactContent, ruleType, ruleConfiguration);
+        applyRule(groupId, artifactId, artifactType, currentArtifactContent, artifactContent, ruleType, ruleConfiguration, true);
     }
 
     /**
@@ -122,11 +145,13 @@ public class RulesServiceImpl implements RulesService {
      * @param updatedContent
      * @param ruleType
      * @param ruleConfiguration
+     * @param historyAvailable
      */
     private void applyRule(String groupId, String artifactId, ArtifactType artifactType, ContentHandle currentContent,
-                           ContentHandle updatedContent, RuleType ruleType, String ruleConfiguration) {
+                           ContentHandle updatedContent, RuleType ruleType, String ruleConfiguration, boolean historyAvailable) {
         RuleExecutor executor = factory.createExecutor(ruleType);
-        RuleContext context = new RuleContext(groupId, artifactId, artifactType, ruleConfiguration, currentContent, updatedContent);
+        RuleContext context = new RuleContext(groupId, artifactId, artifactType, ruleConfiguration, currentContent, updatedContent,
+                historyAvailable);
         executor.execute(context);
     }
 
@@ -137,6 +162,7 @@ public class RulesServiceImpl implements RulesService {
     public void applyRules(String groupId, String artifactId, String artifactVersion, ArtifactType artifactType, ContentHandle updatedContent)
             throws RuleViolationException {
         StoredArtifactDto versionContent = storage.getArtifactVersion(groupId, artifactId, artifactVersion);
-        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, versionContent.getContent(), updatedContent, storage.getArtifactRules(groupId, artifactId));
+        applyAllRules(groupId, artifactId, artifactType, versionContent.getContent(), updatedContent,
+                getEffectiveArtifactRules(groupId, artifactId), false);
     }
 }
@@ -17,6 +17,9 @@
 package io.apicurio.registry.rules.compatibility;
 
 import io.apicurio.registry.ccompat.rest.error.UnprocessableEntityException;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaParseException;
 import org.apache.avro.SchemaValidationException;
@@ -35,14 +38,42 @@ import static java.util.Objects.requireNonNull;
  */
 public class AvroCompatibilityChecker implements CompatibilityChecker {
 
+    private final ParsedContentCache<Schema> schemas;
+
+    /**
+     * Constructor.
+     */
+    public AvroCompatibilityChecker() {
+        this(ParsedSchemas.avroCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public AvroCompatibilityChecker(ParsedContentCache<Schema> schemas) {
+        this.schemas = schemas;
+    }
+
     /**
      * @see CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, java.lang.String)
      */
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<String> existingSchemaStrings, String proposedSchemaString) {
-        requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
         requireNonNull(existingSchemaStrings, "existingSchemaStrings MUST NOT be null");
         requireNonNull(proposedSchemaString, "proposedSchemaString MUST NOT be null");
+        return testCompatibility(compatibilityLevel,
+                existingSchemaStrings.stream().map(ContentHandle::create).collect(Collectors.toList()), ContentHandle.create(proposedSchemaString));
+    }
+
+    /**
+     * @see CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, io.apicurio.registry.content.ContentHandle)
+     */
+    @Override
+    public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact) {
+        requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
+        requireNonNull(existingArtifacts, "existingArtifacts MUST NOT be null");
+        requireNonNull(proposedArtifact, "proposedArtifact MUST NOT be null");
 
         SchemaValidator schemaValidator = validatorFor(compatibilityLevel);
 
@@ -50,10 +81,10 @@ public class AvroCompatibilityChecker implements CompatibilityChecker {
             return CompatibilityExecutionResult.compatible();
         }
 
-        List<Schema> existingSchemas = existingSchemaStrings.stream().map(s -> new Schema.Parser().parse(s)).collect(Collectors.toList());
+        List<Schema> existingSchemas = existingArtifacts.stream().map(schemas::get).collect(Collectors.toList());
         Collections.reverse(existingSchemas); // the most recent must come first, i.e. reverse-chronological.
         try {
-            Schema toValidate = new Schema.Parser().parse(proposedSchemaString);
+            Schema toValidate = schemas.get(proposedArtifact);
             schemaValidator.validate(toValidate, existingSchemas);
             return CompatibilityExecutionResult.compatible();
         } catch (SchemaValidationException e) {
@@ -21,7 +21,9 @@ import static java.util.Collections.singletonList;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -33,9 +35,15 @@ import io.apicurio.registry.rules.RuleContext;
 import io.apicurio.registry.rules.RuleExecutor;
 import io.apicurio.registry.rules.RuleViolation;
 import io.apicurio.registry.rules.RuleViolationException;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.SearchedVersionDto;
+import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
+import io.apicurio.registry.types.ArtifactState;
+import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
+import io.apicurio.registry.utils.BoundedCache;
 
 /**
  * Rule executor for the "Compatibility" rule.  The Compatibility Rule is responsible
@@ -48,9 +56,22 @@ import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 @Logged
 public class CompatibilityRuleExecutor implements RuleExecutor {
 
+    private static final int HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_PAIR_RESULTS = 1000;
+
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    /**
+     * Results of checking a single (existing, proposed) pair of schemas, keyed by artifact type,
+     * level and the canonical hashes of both schemas.
+     */
+    private final BoundedCache<String, CompatibilityExecutionResult> pairResults = new BoundedCache<>(MAX_PAIR_RESULTS);
+
     /**
      * @see io.apicurio.registry.rules.RuleExecutor#execute(io.apicurio.registry.rules.RuleContext)
      */
@@ -58,13 +79,18 @@ public class CompatibilityRuleExecutor implements RuleExecutor {
     public void execute(RuleContext context) throws RuleViolationException {
         CompatibilityLevel level = CompatibilityLevel.valueOf(context.getConfiguration());
         ArtifactTypeUtilProvider provider = factory.getArtifactTypeProvider(context.getArtifactType());
-        CompatibilityChecker checker = provider.getCompatibilityChecker();
-        List<ContentHandle> existingArtifacts = context.getCurrentContent() != null
-            ? singletonList(context.getCurrentContent()) : emptyList();
-        CompatibilityExecutionResult compatibilityExecutionResult = checker.testCompatibility(
-             level,
-             existingArtifacts,
-             context.getUpdatedContent());
+        CompatibilityExecutionResult compatibilityExecutionResult;
+        if (context.isHistoryAvailable() && isTransitive(level)) {
+            compatibilityExecutionResult = testTransitively(context, provider, level);
+        } else {
+            CompatibilityChecker checker = provider.getCompatibilityChecker();
+            List<ContentHandle> existingArtifacts = context.getCurrentContent() != null
+                ? singletonList(context.getCurrentContent()) : emptyList();
+            compatibilityExecutionResult = checker.testCompatibility(
+                 level,
+                 existingArtifacts,
+                 context.getUpdatedContent());
+        }
         if (!compatibilityExecutionResult.isCompatible()) {
             throw new RuleViolationException(String.format("Incompatible artifact: %s [%s], num of incompatible diffs: {%s}",
                  context.getArtifactId(), context.getArtifactType(),
@@ -74,6 +100,99 @@ public class CompatibilityRuleExecutor implements RuleExecutor {
         }
     }
 
+    /**
+     * Checks the updated content against every version of the artifact.  The versions are read from storage
+     * one page at a time, and each distinct schema (by contentId, then by the canonical hash stored with the
+     * content) is checked only once, using the non-transitive variant of the level.  Content is only read (and
+     * canonicalized) when its canonical hash is missing or the pair has not been checked before.  Pairwise
+     * results are cached, so re-registering a schema against a long history does not repeat the checks.
+     */
+    private CompatibilityExecutionResult testTransitively(RuleContext context, ArtifactTypeUtilProvider provider,
+            CompatibilityLevel level) {
+        CompatibilityChecker checker = provider.getCompatibilityChecker();
+        CompatibilityLevel pairLevel = nonTransitive(level);
+        String proposedHash = canonicalHash(provider, context.getUpdatedContent());
+
+        Set<Long> seenContentIds = new HashSet<>();
+        Set<String> verifiedHashes = new HashSet<>();
+        Set<CompatibilityDifference> differences = new HashSet<>();
+        boolean compatible = true;
+
+        int offset = 0;
+        VersionSearchResultsDto results;
+        do {
+            results = storage.searchVersions(context.getGroupId(), context.getArtifactId(), offset, HISTORY_PAGE_SIZE);
+            Set<Long> contentIds = new LinkedHashSet<>();
+            for (SearchedVersionDto version : results.getVersions()) {
+                if (version.getState() != ArtifactState.DISABLED && seenContentIds.add(version.getContentId())) {
+                    contentIds.add(version.getContentId());
+                }
+            }
+            Map<Long, String> canonicalHashes = contentIds.isEmpty() ? Collections.emptyMap()
+                    : storage.getCanonicalHashesByContentIds(contentIds);
+            for (Long contentId : contentIds) {
+                ContentHandle existing = null;
+                String existingHash = canonicalHashes.get(contentId);
+                if (existingHash == null) {
+                    existing = storage.getArtifactByContentId(contentId);
+                    existingHash = canonicalHash(provider, existing);
+                }
+                // A schema is always compatible with itself
+                if (existingHash.equals(proposedHash) || !verifiedHashes.add(existingHash)) {
+                    continue;
+                }
+                String key = context.getArtifactType().name() + ":" + pairLevel.name() + ":" + existingHash + ":" + proposedHash;
+                CompatibilityExecutionResult result = pairResults.get(key);
+                if (result == null) {
+                    if (existing == null) {
+                        existing = storage.getArtifactByContentId(contentId);
+                    }
+                    result = checker.testCompatibility(pairLevel, singletonList(existing), context.getUpdatedContent());
+                    pairResults.put(key, result);
+                }
+                if (!result.isCompatible()) {
+                    compatible = false;
+                    differences.addAll(result.getIncompatibleDifferences());
+                }
+            }
+            offset += HISTORY_PAGE_SIZE;
+        } while (offset < results.getCount());
+
+        return compatible ? CompatibilityExecutionResult.compatible() : CompatibilityExecutionResult.incompatible(differences);
+    }
+
+    private static boolean isTransitive(CompatibilityLevel level) {
+        return level == CompatibilityLevel.BACKWARD_TRANSITIVE || level == CompatibilityLevel.FORWARD_TRANSITIVE
+                || level == CompatibilityLevel.FULL_TRANSITIVE;
+    }
+
+    private static CompatibilityLevel nonTransitive(CompatibilityLevel level) {
+        switch (level) {
+            case BACKWARD_TRANSITIVE:
+                return CompatibilityLevel.BACKWARD;
+            case FORWARD_TRANSITIVE:
+                return CompatibilityLevel.FORWARD;
+            case FULL_TRANSITIVE:
+                return CompatibilityLevel.FULL;
+            default:
+                return level;
+        }
+    }
+
+    /**
+     * Hash of the canonical form of the given content, falling back to the content itself if
+     * it cannot be canonicalized (the same way the storage computes the canonicalHash).
+     */
+    private static String canonicalHash(ArtifactTypeUtilProvider provider, ContentHandle content) {
+        ContentHandle canonicalContent;
+        try {
+            canonicalContent = provider.getContentCanonicalizer().canonicalize(content);
+        } catch (Exception e) {
+            canonicalContent = content;
+        }
+        return canonicalContent.sha256Hex();
+    }
+
     /**
      * Convert the set of compatibility differences into a collection of rule violation causes
      * for return to the user.
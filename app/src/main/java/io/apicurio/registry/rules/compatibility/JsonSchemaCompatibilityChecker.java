@@ -17,8 +17,12 @@
 package io.apicurio.registry.rules.compatibility;
 
 import com.google.common.collect.ImmutableSet;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.compatibility.jsonschema.JsonSchemaDiffLibrary;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.Difference;
+import org.everit.json.schema.Schema;
 
 import java.util.HashSet;
 import java.util.List;
@@ -36,11 +40,39 @@ import static java.util.Objects.requireNonNull;
  */
 public class JsonSchemaCompatibilityChecker implements CompatibilityChecker {
 
+    private final ParsedContentCache<Schema> schemas;
+
+    /**
+     * Constructor.
+     */
+    public JsonSchemaCompatibilityChecker() {
+        this(ParsedSchemas.jsonSchemaCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public JsonSchemaCompatibilityChecker(ParsedContentCache<Schema> schemas) {
+        this.schemas = schemas;
+    }
+
     /**
      * @see io.apicurio.registry.rules.compatibility.CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, java.lang.String)
      */
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<String> existingSchemas, String proposedSchema) {
+        requireNonNull(existingSchemas, "existingSchemas MUST NOT be null");
+        requireNonNull(proposedSchema, "proposedSchema MUST NOT be null");
+        return testCompatibility(compatibilityLevel,
+                existingSchemas.stream().map(ContentHandle::create).collect(Collectors.toList()), ContentHandle.create(proposedSchema));
+    }
+
+    /**
+     * @see io.apicurio.registry.rules.compatibility.CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, io.apicurio.registry.content.ContentHandle)
+     */
+    @Override
+    public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingSchemas, ContentHandle proposedSchema) {
         requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
         requireNonNull(existingSchemas, "existingSchemas MUST NOT be null");
         requireNonNull(proposedSchema, "proposedSchema MUST NOT be null");
@@ -50,31 +82,33 @@ public class JsonSchemaCompatibilityChecker implements CompatibilityChecker {
         }
 
         Set<Difference> incompatibleDiffs = new HashSet<>();
-        String lastExistingSchema = existingSchemas.get(existingSchemas.size() - 1);
+        List<Schema> existing = existingSchemas.stream().map(schemas::get).collect(Collectors.toList());
+        Schema proposed = schemas.get(proposedSchema);
+        Schema lastExisting = existing.get(existing.size() - 1);
 
         switch (compatibilityLevel) {
             case BACKWARD:
-                incompatibleDiffs = getIncompatibleDifferences(lastExistingSchema, proposedSchema);
+                incompatibleDiffs = getIncompatibleDifferences(lastExisting, proposed);
                 break;
             case BACKWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingSchemas, proposedSchema, JsonSchemaDiffLibrary::getIncompatibleDifferences);
+                incompatibleDiffs = transitively(existing, proposed, JsonSchemaDiffLibrary::getIncompatibleDifferences);
                 break;
             case FORWARD:
-                incompatibleDiffs = getIncompatibleDifferences(proposedSchema, lastExistingSchema);
+                incompatibleDiffs = getIncompatibleDifferences(proposed, lastExisting);
                 break;
             case FORWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingSchemas, proposedSchema, (existing, proposed) -> getIncompatibleDifferences(proposed, existing));
+                incompatibleDiffs = transitively(existing, proposed, (e, p) -> getIncompatibleDifferences(p, e));
                 break;
             case FULL:
                 incompatibleDiffs = ImmutableSet.<Difference>builder()
-                    .addAll(getIncompatibleDifferences(lastExistingSchema, proposedSchema))
-                    .addAll(getIncompatibleDifferences(proposedSchema, lastExistingSchema))
+                    .addAll(getIncompatibleDifferences(lastExisting, proposed))
+                    .addAll(getIncompatibleDifferences(proposed, lastExisting))
                     .build();
                 break;
             case FULL_TRANSITIVE:
                 incompatibleDiffs = ImmutableSet.<Difference>builder()
-                    .addAll(transitively(existingSchemas, proposedSchema, JsonSchemaDiffLibrary::getIncompatibleDifferences)) // Forward
-                    .addAll(transitively(existingSchemas, proposedSchema, (existing, proposed) -> getIncompatibleDifferences(proposed, existing))) // Backward
+                    .addAll(transitively(existing, proposed, JsonSchemaDiffLibrary::getIncompatibleDifferences)) // Forward
+                    .addAll(transitively(existing, proposed, (e, p) -> getIncompatibleDifferences(p, e))) // Backward
                     .build();
                 break;
             case NONE:
@@ -94,8 +128,8 @@ public class JsonSchemaCompatibilityChecker implements CompatibilityChecker {
      *
      * @return The collected set of differences.
      */
-    private Set<Difference> transitively(List<String> existingSchemas, String proposedSchema,
-                                         BiFunction<String, String, Set<Difference>> checkExistingProposed) {
+    private Set<Difference> transitively(List<Schema> existingSchemas, Schema proposedSchema,
+                                         BiFunction<Schema, Schema, Set<Difference>> checkExistingProposed) {
         Set<Difference> result = new HashSet<>();
         for (int i = existingSchemas.size() - 1; i >= 0; i--) { // TODO This may become too slow, more wide refactoring needed.
             Set<Difference> current = checkExistingProposed.apply(existingSchemas.get(i), proposedSchema);
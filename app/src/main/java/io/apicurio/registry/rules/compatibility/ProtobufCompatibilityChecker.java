@@ -19,7 +19,11 @@ package io.apicurio.registry.rules.compatibility;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.compatibility.protobuf.ProtobufCompatibilityCheckerLibrary;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 
@@ -28,11 +32,39 @@ import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
  */
 public class ProtobufCompatibilityChecker implements CompatibilityChecker {
 
+    private final ParsedContentCache<ProtobufFile> schemas;
+
+    /**
+     * Constructor.
+     */
+    public ProtobufCompatibilityChecker() {
+        this(ParsedSchemas.protobufCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public ProtobufCompatibilityChecker(ParsedContentCache<ProtobufFile> schemas) {
+        this.schemas = schemas;
+    }
+
     /**
      * @see io.apicurio.registry.rules.compatibility.CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, java.lang.String)
      */
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<String> existingSchemas, String proposedSchema) {
+        requireNonNull(existingSchemas, "existingSchemas MUST NOT be null");
+        requireNonNull(proposedSchema, "proposedSchema MUST NOT be null");
+        return testCompatibility(compatibilityLevel,
+                existingSchemas.stream().map(ContentHandle::create).collect(Collectors.toList()), ContentHandle.create(proposedSchema));
+    }
+
+    /**
+     * @see io.apicurio.registry.rules.compatibility.CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, io.apicurio.registry.content.ContentHandle)
+     */
+    @Override
+    public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingSchemas, ContentHandle proposedSchema) {
         requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
         requireNonNull(existingSchemas, "existingSchemas MUST NOT be null");
         requireNonNull(proposedSchema, "proposedSchema MUST NOT be null");
@@ -42,8 +74,8 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
         }
         switch (compatibilityLevel) {
             case BACKWARD: {
-                ProtobufFile fileBefore = new ProtobufFile(existingSchemas.get(existingSchemas.size() - 1));
-                ProtobufFile fileAfter = new ProtobufFile(proposedSchema);
+                ProtobufFile fileBefore = schemas.get(existingSchemas.get(existingSchemas.size() - 1));
+                ProtobufFile fileAfter = schemas.get(proposedSchema);
                 ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
                 if (checker.validate()) {
                     return CompatibilityExecutionResult.compatible();
@@ -52,9 +84,9 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
                 }
             }
             case BACKWARD_TRANSITIVE:
-                ProtobufFile fileAfter = new ProtobufFile(proposedSchema);
-                for (String existing : existingSchemas) {
-                    ProtobufFile fileBefore = new ProtobufFile(existing);
+                ProtobufFile fileAfter = schemas.get(proposedSchema);
+                for (ContentHandle existing : existingSchemas) {
+                    ProtobufFile fileBefore = schemas.get(existing);
                     ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
                     if (checker.validate()) {
                         return CompatibilityExecutionResult.compatible();
@@ -21,6 +21,8 @@ import javax.enterprise.context.ApplicationScoped;
 import org.apache.avro.Schema;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.RuleViolationException;
 import io.apicurio.registry.types.RuleType;
 
@@ -31,10 +33,21 @@ import io.apicurio.registry.types.RuleType;
 @ApplicationScoped
 public class AvroContentValidator implements ContentValidator {
     
+    private final ParsedContentCache<Schema> schemas;
+
     /**
      * Constructor.
      */
     public AvroContentValidator() {
+        this(ParsedSchemas.avroCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public AvroContentValidator(ParsedContentCache<Schema> schemas) {
+        this.schemas = schemas;
     }
     
     /**
@@ -44,8 +57,7 @@ public class AvroContentValidator implements ContentValidator {
     public void validate(ValidityLevel level, ContentHandle artifactContent) throws RuleViolationException {
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
-                Schema.Parser parser = new Schema.Parser();
-                parser.parse(artifactContent.content());
+                schemas.get(artifactContent);
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for Avro artifact.", RuleType.VALIDITY, level.name(), e);
             }
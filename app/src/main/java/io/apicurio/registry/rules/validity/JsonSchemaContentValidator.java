@@ -18,12 +18,12 @@ package io.apicurio.registry.rules.validity;
 
 import javax.enterprise.context.ApplicationScoped;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
+import com.networknt.schema.JsonSchema;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.RuleViolationException;
 import io.apicurio.registry.types.RuleType;
 
@@ -36,10 +36,21 @@ public class JsonSchemaContentValidator implements ContentValidator {
     
     private static final ObjectMapper objectMapper = new ObjectMapper();
     
+    private final ParsedContentCache<JsonSchema> schemas;
+
     /**
      * Constructor.
      */
     public JsonSchemaContentValidator() {
+        this(ParsedSchemas.jsonSchemaValidatorCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public JsonSchemaContentValidator(ParsedContentCache<JsonSchema> schemas) {
+        this.schemas = schemas;
     }
     
     /**
@@ -49,10 +60,10 @@ public class JsonSchemaContentValidator implements ContentValidator {
     public void validate(ValidityLevel level, ContentHandle artifactContent) throws RuleViolationException {
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
-                JsonNode node = objectMapper.readTree(artifactContent.bytes());
                 if (level == ValidityLevel.FULL) {
-                    JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-                    factory.getSchema(node);
+                    schemas.get(artifactContent);
+                } else {
+                    objectMapper.readTree(artifactContent.bytes());
                 }
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for JSON Schema artifact.", RuleType.VALIDITY, level.name(), e);
@@ -19,6 +19,8 @@ package io.apicurio.registry.rules.validity;
 import javax.enterprise.context.ApplicationScoped;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.rules.ParsedContentCache;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.RuleViolationException;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
@@ -30,10 +32,21 @@ import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 @ApplicationScoped
 public class ProtobufContentValidator implements ContentValidator {
 
+    private final ParsedContentCache<ProtobufFile> schemas;
+
     /**
      * Constructor.
      */
     public ProtobufContentValidator() {
+        this(ParsedSchemas.protobufCache());
+    }
+
+    /**
+     * Constructor.
+     * @param schemas the cache of parsed schemas to use
+     */
+    public ProtobufContentValidator(ParsedContentCache<ProtobufFile> schemas) {
+        this.schemas = schemas;
     }
 
     /**
@@ -43,7 +56,7 @@ public class ProtobufContentValidator implements ContentValidator {
     public void validate(ValidityLevel level, ContentHandle artifactContent) throws RuleViolationException {
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
-                ProtobufFile.toProtoFileElement(artifactContent.content());
+                schemas.get(artifactContent);
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for Protobuf artifact.", RuleType.VALIDITY, level.name(), e);
             }
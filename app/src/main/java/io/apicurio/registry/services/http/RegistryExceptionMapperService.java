@@ -61,10 +61,12 @@ import io.apicurio.registry.storage.ArtifactNotFoundException;
 import io.apicurio.registry.storage.ContentNotFoundException;
 import io.apicurio.registry.storage.DownloadNotFoundException;
 import io.apicurio.registry.storage.GroupNotFoundException;
+import io.apicurio.registry.storage.ImportNotFoundException;
 import io.apicurio.registry.storage.InvalidArtifactIdException;
 import io.apicurio.registry.storage.InvalidArtifactStateException;
 import io.apicurio.registry.storage.InvalidArtifactTypeException;
 import io.apicurio.registry.storage.InvalidGroupIdException;
+import io.apicurio.registry.storage.InvalidSearchCursorException;
 import io.apicurio.registry.storage.LogConfigurationNotFoundException;
 import io.apicurio.registry.storage.NotFoundException;
 import io.apicurio.registry.storage.RoleMappingAlreadyExistsException;
@@ -112,6 +114,7 @@ public class RegistryExceptionMapperService {
         map.put(InvalidArtifactIdException.class, HTTP_BAD_REQUEST);
         map.put(TenantNotFoundException.class, HTTP_NOT_FOUND);
         map.put(InvalidGroupIdException.class, HTTP_BAD_REQUEST);
+        map.put(InvalidSearchCursorException.class, HTTP_BAD_REQUEST);
         map.put(MissingRequiredParameterException.class, HTTP_BAD_REQUEST);
         map.put(LogConfigurationNotFoundException.class, HTTP_NOT_FOUND);
         map.put(GroupNotFoundException.class, HTTP_NOT_FOUND);
@@ -122,6 +125,7 @@ public class RegistryExceptionMapperService {
         map.put(TenantManagerClientException.class, HTTP_INTERNAL_ERROR);
         map.put(ParametersConflictException.class, HTTP_CONFLICT);
         map.put(DownloadNotFoundException.class, HTTP_NOT_FOUND);
+        map.put(ImportNotFoundException.class, HTTP_NOT_FOUND);
         CODE_MAP = Collections.unmodifiableMap(map);
     }
 
@@ -18,6 +18,7 @@
 package io.apicurio.registry.storage;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -25,7 +26,9 @@ import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.mt.TenantContext;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
@@ -166,6 +169,16 @@ public interface RegistryStorage {
      */
     public StoredArtifactDto getArtifact(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets both the meta-data and the content of the most recent version of the artifact with the given
+     * group and ID, in a single read.
+     * @param groupId (optional)
+     * @param artifactId
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    public ArtifactVersionContentDto getLatestArtifactContent(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException;
+
     /**
      * Gets some artifact content by the unique contentId.  This method of getting content
      * from storage does not allow extra meta-data to be returned, because the contentId only
@@ -176,6 +189,30 @@ public interface RegistryStorage {
      */
     public ContentHandle getArtifactByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets some artifact content by the unique contentId, along with the hash it is stored under.
+     * @param contentId
+     * @throws ContentNotFoundException
+     * @throws RegistryStorageException
+     */
+    public ContentWrapperDto getContentWrapperByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException;
+
+    /**
+     * Gets the content with the given content IDs, in a single read.  Content that does not exist is
+     * not included in the result.
+     * @param contentIds
+     * @throws RegistryStorageException
+     */
+    public Map<Long, ContentHandle> getArtifactsByContentIds(Set<Long> contentIds) throws RegistryStorageException;
+
+    /**
+     * Gets the stored canonical hashes of the content with the given content IDs, in a single read.
+     * Content that does not exist (or has no canonical hash) is not included in the result.
+     * @param contentIds
+     * @throws RegistryStorageException
+     */
+    public Map<Long, String> getCanonicalHashesByContentIds(Set<Long> contentIds) throws RegistryStorageException;
+
     /**
      * Gets some artifact content by the SHA-256 hash of that content.  This method of getting content
      * from storage does not allow extra meta-data to be returned, because the content hash only
@@ -245,6 +282,19 @@ public interface RegistryStorage {
     public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
             int offset, int limit);
 
+    /**
+     * Search artifacts by given criteria, using keyset pagination.  Results are ordered by group and
+     * artifact id, and fetching a page costs the same no matter how deep into the result set it is.
+     * Pass a null cursor to get the first page, and the "next" cursor of a page to get the one after it.
+     * @param filters the set of filters to apply when searching
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the result size limit
+     * @param includeCount whether to also count the total number of matches (-1 is reported otherwise)
+     * @throws InvalidSearchCursorException
+     */
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, String cursor, int limit,
+            boolean includeCount) throws InvalidSearchCursorException, RegistryStorageException;
+
     /**
      * Gets the stored meta-data for an artifact by group and ID.  This will include client-editable meta-data such as
      * name and description, but also generated meta-data such as "modifedOn" and "globalId".
@@ -377,6 +427,25 @@ public interface RegistryStorage {
      */
     public VersionSearchResultsDto searchVersions(String groupId, String artifactId, int offset, int limit) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Fetch the versions of the given artifact, using keyset pagination.  Versions are ordered by global id,
+     * which is their creation order unless global ids are reserved in blocks per node (see the KafkaSQL
+     * "registry.kafkasql.id-block-size" setting), in which case versions created on different nodes are
+     * not in creation order.  Pass a null cursor to get the first page, and the "next" cursor of a page to
+     * get the one after it.
+     * @param groupId (optional)
+     * @param artifactId the artifact used to fetch versions
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the result size limit
+     * @param includeCount whether to also count the total number of versions (-1 is reported otherwise)
+     * @return the artifact versions, limited
+     * @throws ArtifactNotFoundException
+     * @throws InvalidSearchCursorException
+     * @throws RegistryStorageException
+     */
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, String cursor, int limit,
+            boolean includeCount) throws ArtifactNotFoundException, InvalidSearchCursorException, RegistryStorageException;
+
     /**
      * Gets the stored artifact content for the artifact version with the given unique global ID.
      * @param globalId
@@ -385,6 +454,23 @@ public interface RegistryStorage {
      */
     public StoredArtifactDto getArtifactVersion(long globalId) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets both the meta-data and the content of the artifact version with the given unique global ID,
+     * in a single read.
+     * @param globalId
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    public ArtifactVersionContentDto getArtifactVersionContent(long globalId) throws ArtifactNotFoundException, RegistryStorageException;
+
+    /**
+     * Gets both the meta-data and the content of all the artifact versions with the given global IDs, in a
+     * single read.  Versions that do not exist are not included in the result.
+     * @param globalIds
+     * @throws RegistryStorageException
+     */
+    public List<ArtifactVersionContentDto> getArtifactVersionContents(Set<Long> globalIds) throws RegistryStorageException;
+
     /**
      * Gets the stored value for a single version of a given artifact.
      * @param groupId (optional)
@@ -556,7 +642,8 @@ public interface RegistryStorage {
     /**
      * Called to export all data in the registry.  Caller provides a handle to handle the data/entities.  This
      * should be used to stream the data from the storage to some output source (e.g. a HTTP response).  It is
-     * important that the full dataset is *not* kept in memory.
+     * important that the full dataset is *not* kept in memory.  Content entities may carry their data as a
+     * stream (rather than a byte array) which is only valid while the handler is processing that entity.
      * @param handler
      * @throws RegistryStorageException
      */
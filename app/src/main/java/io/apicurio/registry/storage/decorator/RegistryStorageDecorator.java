@@ -30,7 +30,9 @@ import io.apicurio.registry.storage.RuleNotFoundException;
 import io.apicurio.registry.storage.VersionNotFoundException;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
@@ -49,6 +51,7 @@ import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.impexp.Entity;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -209,6 +212,15 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.getArtifact(groupId, artifactId);
     }
 
+    /**
+     * @see RegistryStorage#getLatestArtifactContent(java.lang.String, java.lang.String)
+     */
+    @Override
+    public ArtifactVersionContentDto getLatestArtifactContent(String groupId, String artifactId)
+        throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getLatestArtifactContent(groupId, artifactId);
+    }
+
     /**
      * @param contentId
      * @return
@@ -222,6 +234,31 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.getArtifactByContentId(contentId);
     }
 
+    /**
+     * @see RegistryStorage#getContentWrapperByContentId(long)
+     */
+    @Override
+    public ContentWrapperDto getContentWrapperByContentId(long contentId)
+        throws ContentNotFoundException, RegistryStorageException {
+        return delegate.getContentWrapperByContentId(contentId);
+    }
+
+    /**
+     * @see RegistryStorage#getArtifactsByContentIds(java.util.Set)
+     */
+    @Override
+    public Map<Long, ContentHandle> getArtifactsByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        return delegate.getArtifactsByContentIds(contentIds);
+    }
+
+    /**
+     * @see RegistryStorage#getCanonicalHashesByContentIds(java.util.Set)
+     */
+    @Override
+    public Map<Long, String> getCanonicalHashesByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        return delegate.getCanonicalHashesByContentIds(contentIds);
+    }
+
     /**
      * @param contentHash
      * @return
@@ -308,6 +345,15 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.searchArtifacts(filters, orderBy, orderDirection, offset, limit);
     }
 
+    /**
+     * @see RegistryStorage#searchArtifacts(java.util.Set, java.lang.String, int, boolean)
+     */
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, String cursor, int limit,
+                                                    boolean includeCount) {
+        return delegate.searchArtifacts(filters, cursor, limit, includeCount);
+    }
+
     /**
      * @param groupId
      * @param artifactId
@@ -488,6 +534,15 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.searchVersions(groupId, artifactId, offset, limit);
     }
 
+    /**
+     * @see RegistryStorage#searchVersions(java.lang.String, java.lang.String, java.lang.String, int, boolean)
+     */
+    @Override
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, String cursor, int limit,
+                                                  boolean includeCount) throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.searchVersions(groupId, artifactId, cursor, limit, includeCount);
+    }
+
     /**
      * @param globalId
      * @return
@@ -501,6 +556,23 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.getArtifactVersion(globalId);
     }
 
+    /**
+     * @see RegistryStorage#getArtifactVersionContent(long)
+     */
+    @Override
+    public ArtifactVersionContentDto getArtifactVersionContent(long globalId)
+        throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getArtifactVersionContent(globalId);
+    }
+
+    /**
+     * @see RegistryStorage#getArtifactVersionContents(java.util.Set)
+     */
+    @Override
+    public List<ArtifactVersionContentDto> getArtifactVersionContents(Set<Long> globalIds) throws RegistryStorageException {
+        return delegate.getArtifactVersionContents(globalIds);
+    }
+
     /**
      * @param groupId
      * @param artifactId
@@ -26,6 +26,7 @@ public class ArtifactSearchResultsDto {
     
     private List<SearchedArtifactDto> artifacts = new ArrayList<SearchedArtifactDto>();
     private long count;
+    private String next;
     
     /**
      * Constructor.
@@ -61,4 +62,18 @@ public class ArtifactSearchResultsDto {
         this.count = count;
     }
 
+    /**
+     * @return the cursor of the next page, or null if there are no more results
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * @param next the cursor of the next page to set
+     */
+    public void setNext(String next) {
+        this.next = next;
+    }
+
 }
@@ -26,6 +26,7 @@ public class VersionSearchResultsDto {
     
     private long count;
     private List<SearchedVersionDto> versions = new ArrayList<SearchedVersionDto>();
+    private String next;
     
     /**
      * Constructor.
@@ -61,4 +62,18 @@ public class VersionSearchResultsDto {
         this.versions = versions;
     }
 
+    /**
+     * @return the cursor of the next page, or null if there are no more results
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * @param next the cursor of the next page to set
+     */
+    public void setNext(String next) {
+        this.next = next;
+    }
+
 }
@@ -21,7 +21,10 @@ import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +32,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -36,7 +43,6 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
@@ -56,6 +62,7 @@ import io.apicurio.registry.storage.ContentNotFoundException;
 import io.apicurio.registry.storage.DownloadNotFoundException;
 import io.apicurio.registry.storage.GroupAlreadyExistsException;
 import io.apicurio.registry.storage.GroupNotFoundException;
+import io.apicurio.registry.storage.InvalidSearchCursorException;
 import io.apicurio.registry.storage.LogConfigurationNotFoundException;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.RegistryStorageException;
@@ -67,7 +74,9 @@ import io.apicurio.registry.storage.StorageException;
 import io.apicurio.registry.storage.VersionNotFoundException;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
@@ -90,10 +99,12 @@ import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
 import io.apicurio.registry.storage.impl.sql.jdb.Update;
 import io.apicurio.registry.storage.impl.sql.mappers.ArtifactMetaDataDtoMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.ArtifactRuleEntityMapper;
+import io.apicurio.registry.storage.impl.sql.mappers.ArtifactVersionContentMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.ArtifactVersionEntityMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.ArtifactVersionMetaDataDtoMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.ContentEntityMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.ContentMapper;
+import io.apicurio.registry.storage.impl.sql.mappers.ContentWrapperDtoMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.GlobalRuleEntityMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.GroupEntityMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.GroupMetaDataDtoMapper;
@@ -108,6 +119,7 @@ import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
+import io.apicurio.registry.utils.BoundedCache;
 import io.apicurio.registry.utils.StringUtil;
 import io.apicurio.registry.utils.impexp.ArtifactRuleEntity;
 import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
@@ -125,7 +137,7 @@ import io.quarkus.security.identity.SecurityIdentity;
  */
 public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage {
 
-    private static int DB_VERSION = 5;
+    private static int DB_VERSION = 6;
     private static final Object dbMutex = new Object();
 
     private static final ObjectMapper mapper = new ObjectMapper();
@@ -135,6 +147,15 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     }
     private static final String GLOBAL_ID_SEQUENCE = "globalId";
     private static final String CONTENT_ID_SEQUENCE = "contentId";
+    private static final int MAX_CANONICAL_HASHES = 10000;
+    private static final int MAX_IN_LIST_SIZE = 500;
+    private static final int EXPORT_PREFETCH_QUERIES = 4;
+
+    /**
+     * Canonical hashes by artifact type and contentHash, so that content we have already seen
+     * is not canonicalized (i.e. parsed and re-printed) again.
+     */
+    private final BoundedCache<String, String> canonicalHashes = new BoundedCache<>(MAX_CANONICAL_HASHES);
 
     @Inject
     Logger log;
@@ -174,6 +195,32 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     @ConfigProperty(name = "quarkus.datasource.jdbc.url")
     String jdbcUrl;
 
+    @ConfigProperty(name = "registry.export.fetch-size", defaultValue = "50")
+    int exportFetchSize;
+
+    @ConfigProperty(name = "registry.export.queue-size", defaultValue = "1000")
+    int exportQueueSize;
+
+    /**
+     * The maximum number of connections used, across all the running exports, to read the groups, versions
+     * and rules in the background.  An export that cannot get a connection for each of its queries reads
+     * them one after the other on its own connection instead.
+     */
+    @ConfigProperty(name = "registry.export.prefetch.max-connections", defaultValue = "4")
+    int exportPrefetchMaxConnections;
+
+    @ConfigProperty(name = "registry.import.batch-size", defaultValue = "500")
+    int importBatchSize;
+
+    @ConfigProperty(name = "registry.storage.content-cache.max-size", defaultValue = "0")
+    int contentCacheMaxSize;
+
+    @ConfigProperty(name = "registry.storage.content-cache.ttl", defaultValue = "10000")
+    long contentCacheTtl;
+
+    private ContentCache contentCache;
+    private Semaphore exportPrefetchConnections;
+
     /**
      * Constructor.
      */
@@ -185,6 +232,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     protected void initialize() {
         log.info("SqlRegistryStorage constructed successfully.  JDBC URL: " + jdbcUrl);
 
+        contentCache = new ContentCache(contentCacheMaxSize, contentCacheTtl);
+        exportPrefetchConnections = new Semaphore(exportPrefetchMaxConnections);
+
         synchronized (dbMutex) {
             handles.withHandleNoException((handle) -> {
                 if (initDB) {
@@ -297,7 +347,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     /**
      * Reuturns the current DB version by selecting the value in the 'apicurio' table.
      */
-    private int getDatabaseVersion(Handle handle) {
+    protected int getDatabaseVersion(Handle handle) {
         try {
             int version = handle.createQuery(this.sqlStatements.getDatabaseVersion())
                     .bind(0, "db_version")
@@ -331,15 +381,69 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public ContentHandle getArtifactByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException {
-        return handles.withHandleNoException( handle -> {
+        return getContentWrapperByContentId(contentId).getContent();
+    }
+
+    /**
+     * @see RegistryStorage#getContentWrapperByContentId(long)
+     */
+    @Override
+    public ContentWrapperDto getContentWrapperByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException {
+        return contentCache.getByContentId(tenantContext.tenantId(), contentId, () -> handles.withHandleNoException( handle -> {
             String sql = sqlStatements().selectContentById();
-            Optional<ContentHandle> res = handle.createQuery(sql)
+            Optional<ContentWrapperDto> res = handle.createQuery(sql)
                     .bind(0, tenantContext.tenantId())
                     .bind(1, contentId)
-                    .map(ContentMapper.instance)
+                    .map(ContentWrapperDtoMapper.instance)
                     .findFirst();
             return res.orElseThrow(() -> new ContentNotFoundException("contentId-" + contentId));
-        });
+        }));
+    }
+
+    /**
+     * @see RegistryStorage#getArtifactsByContentIds(java.util.Set)
+     */
+    @Override @Transactional
+    public Map<Long, ContentHandle> getArtifactsByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        Map<Long, ContentHandle> contents = new HashMap<>();
+        for (List<Long> ids : partition(contentIds)) {
+            handles.withHandleNoException( handle -> {
+                Query query = handle.createQuery(sqlStatements.selectContentByIds(ids.size()))
+                        .bind(0, tenantContext.tenantId());
+                for (int i = 0; i < ids.size(); i++) {
+                    query.bind(i + 1, ids.get(i));
+                }
+                query.map(rs -> new SimpleImmutableEntry<>(rs.getLong("contentId"), ContentMapper.instance.map(rs)))
+                        .list()
+                        .forEach(entry -> contents.put(entry.getKey(), entry.getValue()));
+                return null;
+            });
+        }
+        return contents;
+    }
+
+    /**
+     * @see RegistryStorage#getCanonicalHashesByContentIds(java.util.Set)
+     */
+    @Override @Transactional
+    public Map<Long, String> getCanonicalHashesByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        Map<Long, String> hashes = new HashMap<>();
+        for (List<Long> ids : partition(contentIds)) {
+            handles.withHandleNoException( handle -> {
+                Query query = handle.createQuery(sqlStatements.selectCanonicalHashesByContentIds(ids.size()))
+                        .bind(0, tenantContext.tenantId());
+                for (int i = 0; i < ids.size(); i++) {
+                    query.bind(i + 1, ids.get(i));
+                }
+                query.map(rs -> new SimpleImmutableEntry<>(rs.getLong("contentId"), rs.getString("canonicalHash")))
+                        .list()
+                        .stream()
+                        .filter(entry -> entry.getValue() != null)
+                        .forEach(entry -> hashes.put(entry.getKey(), entry.getValue()));
+                return null;
+            });
+        }
+        return hashes;
     }
 
     /**
@@ -347,7 +451,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public ContentHandle getArtifactByContentHash(String contentHash) throws ContentNotFoundException, RegistryStorageException {
-        return handles.withHandleNoException( handle -> {
+        return contentCache.getByContentHash(tenantContext.tenantId(), contentHash, () -> handles.withHandleNoException( handle -> {
             String sql = sqlStatements().selectContentByContentHash();
             Optional<ContentHandle> res = handle.createQuery(sql)
                     .bind(0, tenantContext.tenantId())
@@ -355,7 +459,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .map(ContentMapper.instance)
                     .findFirst();
             return res.orElseThrow(() -> new ContentNotFoundException("contentHash-" + contentHash));
-        });
+        }));
     }
 
     /**
@@ -402,6 +506,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             }, oldState, newState);
             return null;
         });
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     /**
@@ -431,6 +536,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             }
             return null;
         });
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     /**
@@ -575,10 +681,8 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     protected Long createOrUpdateContent(Handle handle, ArtifactType artifactType, ContentHandle content) {
         byte[] contentBytes = content.bytes();
-        String contentHash = DigestUtils.sha256Hex(contentBytes);
-        ContentHandle canonicalContent = this.canonicalizeContent(artifactType, content);
-        byte[] canonicalContentBytes = canonicalContent.bytes();
-        String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+        String contentHash = content.sha256Hex();
+        String canonicalContentHash = canonicalHash(handle, artifactType, content);
 
         // Upsert a row in the "content" table.  This will insert a row for the content
         // iff a row doesn't already exist.  We use the canonical hash to determine whether
@@ -861,6 +965,50 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         }
     }
 
+    /**
+     * @see RegistryStorage#getArtifactVersionContents(java.util.Set)
+     */
+    @Override @Transactional
+    public List<ArtifactVersionContentDto> getArtifactVersionContents(Set<Long> globalIds) throws RegistryStorageException {
+        List<ArtifactVersionContentDto> versions = new ArrayList<>(globalIds.size());
+        for (List<Long> ids : partition(globalIds)) {
+            versions.addAll(handles.withHandleNoException( handle -> {
+                Query query = handle.createQuery(sqlStatements.selectArtifactMetaDataAndContentByGlobalIds(ids.size()))
+                        .bind(0, tenantContext.tenantId());
+                for (int i = 0; i < ids.size(); i++) {
+                    query.bind(i + 1, ids.get(i));
+                }
+                return query.map(ArtifactVersionContentMapper.instance).list();
+            }));
+        }
+        return versions;
+    }
+
+    /**
+     * @see RegistryStorage#getLatestArtifactContent(java.lang.String, java.lang.String)
+     */
+    @Override @Transactional
+    public ArtifactVersionContentDto getLatestArtifactContent(String groupId, String artifactId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        log.debug("Selecting the meta-data and content of an artifact (latest version): {} {}", groupId, artifactId);
+        try {
+            return this.handles.withHandle( handle -> {
+                String sql = sqlStatements.selectLatestArtifactMetaDataAndContent();
+                Optional<ArtifactVersionContentDto> res = handle.createQuery(sql)
+                        .bind(0, tenantContext.tenantId())
+                        .bind(1, normalizeGroupId(groupId))
+                        .bind(2, artifactId)
+                        .map(ArtifactVersionContentMapper.instance)
+                        .findOne();
+                return res.orElseThrow(() -> new ArtifactNotFoundException(groupId, artifactId));
+            });
+        } catch (ArtifactNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RegistryStorageException(e);
+        }
+    }
+
     /**
      * @see RegistryStorage#updateArtifact(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.types.ArtifactType, io.apicurio.registry.content.ContentHandle)
      */
@@ -999,91 +1147,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             });
             // Formulate the WHERE clause for both queries
 
-            for (SearchFilter filter : filters) {
-                where.append(" AND (");
-                switch (filter.getType()) {
-                    case description:
-                        where.append("v.description LIKE ?");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        break;
-                    case everything:
-                        where.append("("
-                                + "v.name LIKE ? OR "
-                                + "v.groupId LIKE ? OR "
-                                + "a.artifactId LIKE ? OR "
-                                + "v.description LIKE ? OR "
-                                + "EXISTS(SELECT l.globalId FROM labels l WHERE l.label = ? AND l.globalId = v.globalId AND l.tenantId = v.tenantId) OR "
-                                + "EXISTS(SELECT p.globalId FROM properties p WHERE p.pkey = ? AND p.globalId = v.globalId AND p.tenantId = v.tenantId)"
-                                + ")");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        binders.add((query, idx) -> {
-                          //    Note: convert search to lowercase when searching for labels (case-insensitivity support).
-                            query.bind(idx, filter.getValue().toLowerCase());
-                        });
-                        binders.add((query, idx) -> {
-                            //    Note: convert search to lowercase when searching for properties (case-insensitivity support).
-                            query.bind(idx, filter.getValue().toLowerCase());
-                        });
-                        break;
-                    case labels:
-                        where.append("EXISTS(SELECT l.globalId FROM labels l WHERE l.label = ? AND l.globalId = v.globalId AND l.tenantId = v.tenantId)");
-                        binders.add((query, idx) -> {
-                          //    Note: convert search to lowercase when searching for labels (case-insensitivity support).
-                            query.bind(idx, filter.getValue().toLowerCase());
-                        });
-                        break;
-                    case name:
-                        where.append("(v.name LIKE ?) OR (a.artifactId LIKE ?)");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        binders.add((query, idx) -> {
-                            query.bind(idx, "%" + filter.getValue() + "%");
-                        });
-                        break;
-                    case group:
-                        where.append("(v.groupId = ?)");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, normalizeGroupId(filter.getValue()));
-                        });
-                        break;
-                    case contentHash:
-                        where.append("(c.contentHash = ?)");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, filter.getValue());
-                        });
-                        break;
-                    case canonicalHash:
-                        where.append("(c.canonicalHash = ?)");
-                        binders.add((query, idx) -> {
-                            query.bind(idx, filter.getValue());
-                        });
-                        break;
-                    case properties:
-                        where.append("EXISTS(SELECT p.globalId FROM properties p WHERE p.pkey = ? AND p.globalId = v.globalId AND p.tenantId = v.tenantId)");
-                        binders.add((query, idx) -> {
-                            //    Note: convert search to lowercase when searching for properties (case-insensitivity support).
-                            query.bind(idx, filter.getValue().toLowerCase());
-                        });
-                        break;
-                    default :
-                        break;
-                }
-                where.append(")");
-            }
+            appendSearchFilters(filters, where, binders);
 
             // Add order by to artifact query
             switch (orderBy) {
@@ -1135,6 +1199,178 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         });
     }
 
+    /**
+     * @see RegistryStorage#searchArtifacts(java.util.Set, java.lang.String, int, boolean)
+     */
+    @Override @Transactional
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, String cursor, int limit,
+            boolean includeCount) {
+        final String[] after = cursor == null ? null : KeysetCursor.decode(cursor, 2);
+        return handles.withHandleNoException( handle -> {
+            List<SqlStatementVariableBinder> binders = new LinkedList<>();
+
+            StringBuilder from = new StringBuilder();
+            StringBuilder where = new StringBuilder();
+
+            from.append("FROM artifacts a "
+                    + "JOIN versions v ON a.tenantId = v.tenantId AND a.latest = v.globalId ");
+            if (hasContentFilter(filters)) {
+                from.append("JOIN content c ON v.contentId = c.contentId AND v.tenantId = c.tenantId ");
+            }
+
+            where.append("WHERE a.tenantId = ?");
+            binders.add((query, idx) -> {
+                query.bind(idx, tenantContext.tenantId());
+            });
+            appendSearchFilters(filters, where, binders);
+
+            // Seek past the last artifact of the previous page, following the primary key index.  The
+            // redundant lower bound on groupId lets the database start the index scan at the right place.
+            StringBuilder keyset = new StringBuilder();
+            if (after != null) {
+                keyset.append(" AND a.groupId >= ? AND (a.groupId > ? OR a.artifactId > ?)");
+            }
+
+            // Fetch one extra row to find out whether there is a next page.
+            String artifactsQuerySql = "SELECT a.*, v.globalId, v.version, v.state, v.name, v.description, v.labels, v.properties, "
+                    +      "v.createdBy AS modifiedBy, v.createdOn AS modifiedOn "
+                    + from.toString() + where.toString() + keyset.toString()
+                    + " ORDER BY a.groupId ASC, a.artifactId ASC LIMIT ?";
+            ArtifactSearchResultsDto results = new ArtifactSearchResultsDto();
+            List<SearchedArtifactDto> artifacts = new ArrayList<>();
+            if (limit > 0) {
+                Query artifactsQuery = handle.createQuery(artifactsQuerySql);
+                int idx = 0;
+                for (SqlStatementVariableBinder binder : binders) {
+                    binder.bind(artifactsQuery, idx++);
+                }
+                if (after != null) {
+                    artifactsQuery.bind(idx++, after[0]);
+                    artifactsQuery.bind(idx++, after[0]);
+                    artifactsQuery.bind(idx++, after[1]);
+                }
+                artifactsQuery.bind(idx++, limit + 1);
+                artifacts = artifactsQuery.map(SearchedArtifactMapper.instance).list();
+                if (artifacts.size() > limit) {
+                    artifacts = artifacts.subList(0, limit);
+                    SearchedArtifactDto last = artifacts.get(limit - 1);
+                    results.setNext(KeysetCursor.encode(normalizeGroupId(last.getGroupId()), last.getId()));
+                }
+            }
+            results.setArtifacts(artifacts);
+
+            if (includeCount) {
+                Query countQuery = handle.createQuery("SELECT count(a.artifactId) " + from.toString() + where.toString());
+                int idx = 0;
+                for (SqlStatementVariableBinder binder : binders) {
+                    binder.bind(countQuery, idx++);
+                }
+                results.setCount(countQuery.mapTo(Integer.class).one());
+            } else {
+                results.setCount(-1);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Appends the WHERE clause predicates (and their variable binders) for the given search filters.
+     * @param filters
+     * @param where
+     * @param binders
+     */
+    private void appendSearchFilters(Set<SearchFilter> filters, StringBuilder where, List<SqlStatementVariableBinder> binders) {
+        for (SearchFilter filter : filters) {
+            where.append(" AND (");
+            switch (filter.getType()) {
+                case description:
+                    where.append("v.description LIKE ?");
+                    binders.add((query, idx) -> {
+                        query.bind(idx, "%" + filter.getValue() + "%");
+                    });
+                    break;
+                case everything:
+                    // A UNION of single predicate branches rather than one OR of LIKEs and EXISTS sub-queries,
+                    // so that each branch can use its own index (e.g. the trigram indexes on PostgreSQL).
+                    where.append("v.globalId IN ("
+                            + "SELECT vs.globalId FROM versions vs WHERE vs.tenantId = ? AND vs.name LIKE ? UNION "
+                            + "SELECT vs.globalId FROM versions vs WHERE vs.tenantId = ? AND vs.groupId LIKE ? UNION "
+                            + "SELECT vs.globalId FROM versions vs WHERE vs.tenantId = ? AND vs.artifactId LIKE ? UNION "
+                            + "SELECT vs.globalId FROM versions vs WHERE vs.tenantId = ? AND vs.description LIKE ? UNION "
+                            + "SELECT l.globalId FROM labels l WHERE l.tenantId = ? AND l.label = ? UNION "
+                            + "SELECT p.globalId FROM properties p WHERE p.tenantId = ? AND p.pkey = ?"
+                            + ")");
+                    for (int i = 0; i < 4; i++) {
+                        binders.add((query, idx) -> {
+                            query.bind(idx, tenantContext.tenantId());
+                        });
+                        binders.add((query, idx) -> {
+                            query.bind(idx, "%" + filter.getValue() + "%");
+                        });
+                    }
+                    binders.add((query, idx) -> {
+                        query.bind(idx, tenantContext.tenantId());
+                    });
+                    binders.add((query, idx) -> {
+                      //    Note: convert search to lowercase when searching for labels (case-insensitivity support).
+                        query.bind(idx, filter.getValue().toLowerCase());
+                    });
+                    binders.add((query, idx) -> {
+                        query.bind(idx, tenantContext.tenantId());
+                    });
+                    binders.add((query, idx) -> {
+                        //    Note: convert search to lowercase when searching for properties (case-insensitivity support).
+                        query.bind(idx, filter.getValue().toLowerCase());
+                    });
+                    break;
+                case labels:
+                    where.append("EXISTS(SELECT l.globalId FROM labels l WHERE l.label = ? AND l.globalId = v.globalId AND l.tenantId = v.tenantId)");
+                    binders.add((query, idx) -> {
+                      //    Note: convert search to lowercase when searching for labels (case-insensitivity support).
+                        query.bind(idx, filter.getValue().toLowerCase());
+                    });
+                    break;
+                case name:
+                    where.append("(v.name LIKE ?) OR (v.artifactId LIKE ?)");
+                    binders.add((query, idx) -> {
+                        query.bind(idx, "%" + filter.getValue() + "%");
+                    });
+                    binders.add((query, idx) -> {
+                        query.bind(idx, "%" + filter.getValue() + "%");
+                    });
+                    break;
+                case group:
+                    where.append("(v.groupId = ?)");
+                    binders.add((query, idx) -> {
+                        query.bind(idx, normalizeGroupId(filter.getValue()));
+                    });
+                    break;
+                case contentHash:
+                    where.append("(c.contentHash = ?)");
+                    binders.add((query, idx) -> {
+                        query.bind(idx, filter.getValue());
+                    });
+                    break;
+                case canonicalHash:
+                    where.append("(c.canonicalHash = ?)");
+                    binders.add((query, idx) -> {
+                        query.bind(idx, filter.getValue());
+                    });
+                    break;
+                case properties:
+                    where.append("EXISTS(SELECT p.globalId FROM properties p WHERE p.pkey = ? AND p.globalId = v.globalId AND p.tenantId = v.tenantId)");
+                    binders.add((query, idx) -> {
+                        //    Note: convert search to lowercase when searching for properties (case-insensitivity support).
+                        query.bind(idx, filter.getValue().toLowerCase());
+                    });
+                    break;
+                default :
+                    break;
+            }
+            where.append(")");
+        }
+    }
+
     /**
      * @see RegistryStorage#getArtifactMetaData(java.lang.String, java.lang.String)
      */
@@ -1178,10 +1414,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         String hash;
         if (canonical) {
             ArtifactType type = this.getArtifactMetaData(groupId, artifactId).getType();
-            ContentHandle canonicalContent = this.canonicalizeContent(type, content);
-            hash = DigestUtils.sha256Hex(canonicalContent.bytes());
+            hash = this.handles.withHandleNoException(handle -> canonicalHash(handle, type, content));
         } else {
-            hash = DigestUtils.sha256Hex(content.bytes());
+            hash = content.sha256Hex();
         }
 
         try {
@@ -1499,6 +1734,64 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         });
     }
 
+    /**
+     * @see RegistryStorage#searchVersions(java.lang.String, java.lang.String, java.lang.String, int, boolean)
+     */
+    @Override @Transactional
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, String cursor, int limit,
+            boolean includeCount) {
+        log.debug("Searching for versions of artifact {} {} after {}", groupId, artifactId, cursor);
+        final long afterGlobalId = cursor == null ? Long.MIN_VALUE : decodeGlobalIdCursor(cursor);
+        return handles.withHandleNoException( handle -> {
+            if (!isArtifactExists(groupId, artifactId)) {
+                throw new ArtifactNotFoundException(groupId, artifactId);
+            }
+
+            VersionSearchResultsDto rval = new VersionSearchResultsDto();
+
+            // Fetch one extra row to find out whether there is a next page.
+            List<SearchedVersionDto> versions = new ArrayList<>();
+            if (limit > 0) {
+                versions = handle.createQuery(sqlStatements.selectArtifactVersionsAfter())
+                        .bind(0, tenantContext.tenantId())
+                        .bind(1, normalizeGroupId(groupId))
+                        .bind(2, artifactId)
+                        .bind(3, afterGlobalId)
+                        .bind(4, limit + 1)
+                        .map(SearchedVersionMapper.instance)
+                        .list();
+                if (versions.size() > limit) {
+                    versions = versions.subList(0, limit);
+                    rval.setNext(KeysetCursor.encode(String.valueOf(versions.get(limit - 1).getGlobalId())));
+                }
+            }
+            rval.setVersions(versions);
+
+            if (includeCount) {
+                String sql = sqlStatements.selectAllArtifactVersionsCount();
+                Integer count = handle.createQuery(sql)
+                        .bind(0, tenantContext.tenantId())
+                        .bind(1, normalizeGroupId(groupId))
+                        .bind(2, artifactId)
+                        .mapTo(Integer.class)
+                        .one();
+                rval.setCount(count);
+            } else {
+                rval.setCount(-1);
+            }
+
+            return rval;
+        });
+    }
+
+    private static long decodeGlobalIdCursor(String cursor) {
+        try {
+            return Long.parseLong(KeysetCursor.decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchCursorException("Invalid search cursor: " + cursor);
+        }
+    }
+
     /**
      * @see RegistryStorage#getArtifactVersion(long)
      */
@@ -1506,21 +1799,49 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     public StoredArtifactDto getArtifactVersion(long globalId)
             throws ArtifactNotFoundException, RegistryStorageException {
         log.debug("Selecting a single artifact version by globalId: {}", globalId);
-        try {
-            return this.handles.withHandle( handle -> {
-                String sql = sqlStatements.selectArtifactVersionContentByGlobalId();
-                Optional<StoredArtifactDto> res = handle.createQuery(sql)
-                        .bind(0, tenantContext.tenantId())
-                        .bind(1, globalId)
-                        .map(StoredArtifactMapper.instance)
-                        .findOne();
-                return res.orElseThrow(() -> new ArtifactNotFoundException(null, "gid-" + globalId));
-            });
-        } catch (ArtifactNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RegistryStorageException(e);
-        }
+        return contentCache.getByGlobalId(tenantContext.tenantId(), globalId, () -> {
+            try {
+                return this.handles.withHandle( handle -> {
+                    String sql = sqlStatements.selectArtifactVersionContentByGlobalId();
+                    Optional<StoredArtifactDto> res = handle.createQuery(sql)
+                            .bind(0, tenantContext.tenantId())
+                            .bind(1, globalId)
+                            .map(StoredArtifactMapper.instance)
+                            .findOne();
+                    return res.orElseThrow(() -> new ArtifactNotFoundException(null, "gid-" + globalId));
+                });
+            } catch (ArtifactNotFoundException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RegistryStorageException(e);
+            }
+        });
+    }
+
+    /**
+     * @see RegistryStorage#getArtifactVersionContent(long)
+     */
+    @Override @Transactional
+    public ArtifactVersionContentDto getArtifactVersionContent(long globalId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        log.debug("Selecting the meta-data and content of an artifact version by globalId: {}", globalId);
+        return contentCache.getVersionContentByGlobalId(tenantContext.tenantId(), globalId, () -> {
+            try {
+                return this.handles.withHandle( handle -> {
+                    String sql = sqlStatements.selectArtifactMetaDataAndContentByGlobalId();
+                    Optional<ArtifactVersionContentDto> res = handle.createQuery(sql)
+                            .bind(0, tenantContext.tenantId())
+                            .bind(1, globalId)
+                            .map(ArtifactVersionContentMapper.instance)
+                            .findOne();
+                    return res.orElseThrow(() -> new ArtifactNotFoundException(null, String.valueOf(globalId)));
+                });
+            } catch (ArtifactNotFoundException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RegistryStorageException(e);
+            }
+        });
     }
 
     /**
@@ -1765,6 +2086,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         } catch (Exception e) {
             throw new RegistryStorageException(e);
         }
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     /**
@@ -1819,6 +2141,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         } catch (Exception e) {
             throw new RegistryStorageException(e);
         }
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     /**
@@ -2151,6 +2474,10 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     @Override
     @Transactional
     public void exportData(Function<Entity, Void> handler) throws RegistryStorageException {
+        String tenantId = tenantContext().tenantId();
+        boolean prefetch = exportPrefetchConnections.tryAcquire(EXPORT_PREFETCH_QUERIES);
+        ExecutorService executor = null;
+        List<ExportPrefetcher<?>> prefetchers = new ArrayList<>(EXPORT_PREFETCH_QUERIES);
         try {
             // Export a simple manifest file
             /////////////////////////////////
@@ -2163,99 +2490,84 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             manifest.systemVersion = system.getVersion();
             handler.apply(manifest);
 
-            // Export all content
-            /////////////////////////////////
-            this.handles.withHandle(handle -> {
-                String sql = sqlStatements.exportContent();
-                Stream<ContentEntity> stream = handle.createQuery(sql)
-                        .bind(0, tenantContext().tenantId())
-                        .setFetchSize(50)
-                        .map(ContentEntityMapper.instance)
-                        .stream();
-                // Process and then close the stream.
-                try (stream) {
-                    stream.forEach(entity -> {
-                        handler.apply(entity);
-                    });
-                }
-                return null;
-            });
-
-            // Export all groups
+            // Start reading the groups, artifact versions and rules in the background, each on its
+            // own connection, while the content is being exported.
             /////////////////////////////////
-            this.handles.withHandle(handle -> {
-                String sql = sqlStatements.exportGroups();
-                Stream<GroupEntity> stream = handle.createQuery(sql)
-                        .bind(0, tenantContext().tenantId())
-                        .setFetchSize(50)
-                        .map(GroupEntityMapper.instance)
-                        .stream();
-                // Process and then close the stream.
-                try (stream) {
-                    stream.forEach(entity -> {
-                        handler.apply(entity);
-                    });
-                }
-                return null;
-            });
+            if (prefetch) {
+                executor = Executors.newFixedThreadPool(EXPORT_PREFETCH_QUERIES, runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setName("Registry Export Thread");
+                    return thread;
+                });
+                prefetchers.add(new ExportPrefetcher<>(executor, handles,
+                        sqlStatements.exportGroups(), tenantId, exportFetchSize, exportQueueSize, GroupEntityMapper.instance));
+                prefetchers.add(new ExportPrefetcher<>(executor, handles,
+                        sqlStatements.exportArtifactVersions(), tenantId, exportFetchSize, exportQueueSize, ArtifactVersionEntityMapper.instance));
+                prefetchers.add(new ExportPrefetcher<>(executor, handles,
+                        sqlStatements.exportArtifactRules(), tenantId, exportFetchSize, exportQueueSize, ArtifactRuleEntityMapper.instance));
+                prefetchers.add(new ExportPrefetcher<>(executor, handles,
+                        sqlStatements.exportGlobalRules(), tenantId, exportFetchSize, exportQueueSize, GlobalRuleEntityMapper.instance));
+            } else {
+                log.debug("No export prefetch connections available, reading the export data sequentially.");
+            }
 
-            // Export all artifact versions
+            // Export all content, streaming each one straight from the result set to the handler
             /////////////////////////////////
             this.handles.withHandle(handle -> {
-                String sql = sqlStatements.exportArtifactVersions();
-                Stream<ArtifactVersionEntity> stream = handle.createQuery(sql)
-                        .bind(0, tenantContext().tenantId())
-                        .setFetchSize(50)
-                        .map(ArtifactVersionEntityMapper.instance)
-                        .stream();
-                // Process and then close the stream.
-                try (stream) {
-                    stream.forEach(entity -> {
-                        handler.apply(entity);
-                    });
+                exportEntities(handle, sqlStatements.exportContent(), tenantId, ContentEntityMapper.streaming, handler);
+
+                // Export all groups, artifact versions, artifact rules and global rules (in that order)
+                /////////////////////////////////
+                if (!prefetch) {
+                    exportEntities(handle, sqlStatements.exportGroups(), tenantId, GroupEntityMapper.instance, handler);
+                    exportEntities(handle, sqlStatements.exportArtifactVersions(), tenantId, ArtifactVersionEntityMapper.instance, handler);
+                    exportEntities(handle, sqlStatements.exportArtifactRules(), tenantId, ArtifactRuleEntityMapper.instance, handler);
+                    exportEntities(handle, sqlStatements.exportGlobalRules(), tenantId, GlobalRuleEntityMapper.instance, handler);
                 }
                 return null;
             });
-
-            // Export all artifact rules
-            /////////////////////////////////
-            this.handles.withHandle(handle -> {
-                String sql = sqlStatements.exportArtifactRules();
-                Stream<ArtifactRuleEntity> stream = handle.createQuery(sql)
-                        .bind(0, tenantContext().tenantId())
-                        .setFetchSize(50)
-                        .map(ArtifactRuleEntityMapper.instance)
-                        .stream();
-                // Process and then close the stream.
-                try (stream) {
-                    stream.forEach(entity -> {
-                        handler.apply(entity);
-                    });
+            for (ExportPrefetcher<?> prefetcher : prefetchers) {
+                prefetcher.drainTo(handler);
+            }
+        } catch (RegistryStorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RegistryStorageException(e);
+        } finally {
+            prefetchers.forEach(ExportPrefetcher::cancel);
+            if (executor != null) {
+                executor.shutdownNow();
+                try {
+                    // Only give the connections back to the pool of permits once they have been closed.
+                    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                        log.warn("Export prefetch queries did not stop in time.");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
-                return null;
-            });
+            }
+            if (prefetch) {
+                exportPrefetchConnections.release(EXPORT_PREFETCH_QUERIES);
+            }
+        }
+    }
 
-            // Export all global rules
-            /////////////////////////////////
-            this.handles.withHandle(handle -> {
-                String sql = sqlStatements.exportGlobalRules();
-                Stream<GlobalRuleEntity> stream = handle.createQuery(sql)
-                        .bind(0, tenantContext().tenantId())
-                        .setFetchSize(50)
-                        .map(GlobalRuleEntityMapper.instance)
-                        .stream();
-                // Process and then close the stream.
-                try (stream) {
-                    stream.forEach(entity -> {
-                        handler.apply(entity);
-                    });
-                }
-                return null;
+    /**
+     * Streams the results of the given export query (taking the tenant id as its only parameter) to the handler.
+     */
+    private <T extends Entity> void exportEntities(Handle handle, String sql, String tenantId, RowMapper<T> mapper,
+            Function<Entity, Void> handler) {
+        Stream<T> stream = handle.createQuery(sql)
+                .bind(0, tenantId)
+                .setFetchSize(exportFetchSize)
+                .map(mapper)
+                .stream();
+        // Process and then close the stream.
+        try (stream) {
+            stream.forEach(entity -> {
+                handler.apply(entity);
             });
-
-
-        } catch (Exception e) {
-            throw new RegistryStorageException(e);
         }
     }
 
@@ -2267,9 +2579,18 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     public void importData(EntityInputStream entities) throws RegistryStorageException {
         handles.withHandleNoException( handle -> {
             Entity entity = null;
-            while ( (entity = entities.nextEntity()) != null ) {
-                if (entity != null) {
-                    importEntity(handle, entity);
+            if (importBatchSize > 1) {
+                BulkEntityImporter importer = new BulkEntityImporter(handle, sqlStatements, tenantContext.tenantId(), importBatchSize);
+                while ( (entity = entities.nextEntity()) != null ) {
+                    importer.importEntity(entity);
+                }
+                importer.flush();
+                log.info("Imported {} entities, skipped {} existing entities.", importer.getImported(), importer.getSkipped());
+            } else {
+                while ( (entity = entities.nextEntity()) != null ) {
+                    if (entity != null) {
+                        importEntity(handle, entity);
+                    }
                 }
             }
 
@@ -2281,6 +2602,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
 
             return null;
         });
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     /**
@@ -2611,7 +2933,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
 
             return null;
         });
-
+        contentCache.invalidate(tenantContext.tenantId());
     }
 
     protected void deleteAllOrphanedContent() {
@@ -2625,6 +2947,8 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
 
             return null;
         });
+        // The orphaned content of every tenant is deleted, so none of it must be served from the cache anymore.
+        contentCache.invalidateAll();
     }
 
     protected void resetGlobalId(Handle handle) {
@@ -2944,6 +3268,51 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         }
     }
 
+    /**
+     * Splits the given ids into lists small enough to be used as the parameters of an IN list.
+     * @param ids
+     */
+    private static List<List<Long>> partition(Set<Long> ids) {
+        List<List<Long>> partitions = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        for (Long id : ids) {
+            if (current.size() == MAX_IN_LIST_SIZE) {
+                partitions.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(id);
+        }
+        if (!current.isEmpty()) {
+            partitions.add(current);
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns the canonical hash of the given content.  The content is only canonicalized if its
+     * canonical hash is neither cached nor already stored in the "content" table for an artifact
+     * of the same type.
+     * @param handle
+     * @param artifactType
+     * @param content
+     */
+    protected String canonicalHash(Handle handle, ArtifactType artifactType, ContentHandle content) {
+        String contentHash = content.sha256Hex();
+        String key = artifactType.name() + ":" + contentHash;
+        String canonicalHash = canonicalHashes.get(key);
+        if (canonicalHash == null) {
+            canonicalHash = handle.createQuery(sqlStatements.selectCanonicalHashByContentHash())
+                    .bind(0, tenantContext.tenantId())
+                    .bind(1, contentHash)
+                    .bind(2, artifactType.name())
+                    .mapTo(String.class)
+                    .findFirst()
+                    .orElseGet(() -> canonicalizeContent(artifactType, content).sha256Hex());
+            canonicalHashes.put(key, canonicalHash);
+        }
+        return canonicalHash;
+    }
+
     protected EditableArtifactMetaDataDto extractMetaData(ArtifactType artifactType, ContentHandle content) {
         ArtifactTypeUtilProvider provider = factory.getArtifactTypeProvider(artifactType);
         ContentExtractor extractor = provider.getContentExtractor();
@@ -2974,6 +3343,26 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         return nextSequenceValue(handle, GLOBAL_ID_SEQUENCE);
     }
 
+    /**
+     * Reserves a block of consecutive contentIds.
+     * @param handle
+     * @param count the size of the block
+     * @return the first contentId of the reserved block
+     */
+    protected long reserveContentIds(Handle handle, int count) {
+        return reserveSequenceValues(handle, CONTENT_ID_SEQUENCE, count) - count + 1;
+    }
+
+    /**
+     * Reserves a block of consecutive globalIds.
+     * @param handle
+     * @param count the size of the block
+     * @return the first globalId of the reserved block
+     */
+    protected long reserveGlobalIds(Handle handle, int count) {
+        return reserveSequenceValues(handle, GLOBAL_ID_SEQUENCE, count) - count + 1;
+    }
+
     private long nextSequenceValue(Handle handle, String sequenceName) {
         if ("postgresql".equals(sqlStatements.dbType())) {
             return handle.createQuery(sqlStatements.getNextSequenceValue())
@@ -2982,33 +3371,46 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .mapTo(Long.class)
                     .one();
         } else {
-            // no way to automatically increment the sequence in h2 with just one query
-            // good news is that this algorithm is good enough for our needs and is lock free
-            // we are incresing the sequence value in a way that it's not safe for concurrent executions
-            // but we are just doing this because our h2 storage is not supposed to be used concurrently
-            // caveat emptor , consider yourself as warned
-            Optional<Long> seqExists = handle.createQuery(sqlStatements.selectCurrentSequenceValue())
-                    .bind(0, sequenceName)
-                    .bind(1, tenantContext.tenantId())
-                    .mapTo(Long.class)
-                    .findOne();
+            return reserveSequenceValues(handle, sequenceName, 1);
+        }
+    }
 
-            if (seqExists.isPresent()) {
-                //
-                Long newValue = seqExists.get() + 1;
-                handle.createUpdate(sqlStatements.resetSequenceValue())
+    /**
+     * Increments the given sequence by the given amount and returns the new (last reserved) value.
+     */
+    private long reserveSequenceValues(Handle handle, String sequenceName, int count) {
+        if ("postgresql".equals(sqlStatements.dbType())) {
+            return handle.createQuery(sqlStatements.getNextSequenceValues())
                     .bind(0, tenantContext.tenantId())
                     .bind(1, sequenceName)
-                    .bind(2, newValue)
+                    .bind(2, count)
+                    .bind(3, count)
+                    .mapTo(Long.class)
+                    .one();
+        } else {
+            // no way to automatically increment the sequence and read it back in h2 with just one query
+            // the increment itself is atomic, but reading the value back is not safe for concurrent executions
+            // we are just doing this because our h2 storage is not supposed to be used concurrently
+            // caveat emptor , consider yourself as warned
+            int updated = handle.createUpdate(sqlStatements.getNextSequenceValues())
+                    .bind(0, count)
+                    .bind(1, tenantContext.tenantId())
+                    .bind(2, sequenceName)
                     .execute();
-                return newValue;
+
+            if (updated > 0) {
+                return handle.createQuery(sqlStatements.selectCurrentSequenceValue())
+                        .bind(0, sequenceName)
+                        .bind(1, tenantContext.tenantId())
+                        .mapTo(Long.class)
+                        .one();
             } else {
                 handle.createUpdate(sqlStatements.insertSequenceValue())
                     .bind(0, tenantContext.tenantId())
                     .bind(1, sequenceName)
-                    .bind(2, 1)
+                    .bind(2, count)
                     .execute();
-                return 1;
+                return count;
             }
         }
     }
@@ -0,0 +1,535 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.storage.RegistryStorageException;
+import io.apicurio.registry.storage.impl.sql.jdb.Batch;
+import io.apicurio.registry.storage.impl.sql.jdb.Handle;
+import io.apicurio.registry.storage.impl.sql.jdb.Query;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+import io.apicurio.registry.storage.impl.sql.jdb.RuntimeSqlException;
+import io.apicurio.registry.utils.impexp.ArtifactRuleEntity;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.GlobalRuleEntity;
+import io.apicurio.registry.utils.impexp.GroupEntity;
+import io.apicurio.registry.utils.impexp.ManifestEntity;
+
+/**
+ * Imports entities using JDBC batches.  Instead of checking the DB for every entity, the entities are
+ * queued and, when a batch is full, the keys that already exist are loaded with one query per key type,
+ * so only the keys of the current batch are ever held in memory.  Entities that already exist are
+ * skipped (like the per-entity import does).  The batches are always flushed together, in foreign key
+ * order (content, artifacts, versions, labels and properties, rules), so the rows referenced by a batch
+ * have always been inserted.
+ * If a flush fails (e.g. because of a constraint violation), it is rolled back and the buffered entities
+ * are imported again one at a time, skipping (with a warning) the ones that fail, like the per-entity
+ * import does.
+ */
+public class BulkEntityImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEntityImporter.class);
+
+    /**
+     * Flush early when the buffered content gets this big, whatever the number of rows.
+     */
+    private static final long MAX_BUFFERED_CONTENT_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * The maximum number of keys bound to a single existence query.
+     */
+    private static final int MAX_QUERY_KEYS = 500;
+
+    private final Handle handle;
+    private final SqlStatements sqlStatements;
+    private final String tenantId;
+    private final int batchSize;
+
+    /*
+     * The keys that exist, either in the DB or earlier in the current batch.  Cleared on every flush.
+     */
+    private final Set<Long> contentIds = new HashSet<>();
+    private final Set<Long> globalIds = new HashSet<>();
+    private final Set<String> artifactKeys = new HashSet<>();
+    private final Set<String> groupIds = new HashSet<>();
+    private final Set<String> artifactRuleKeys = new HashSet<>();
+    private final Set<String> globalRuleTypes = new HashSet<>();
+
+    private final Batch content;
+    private final Batch groups;
+    private final Batch artifacts;
+    private final Batch versions;
+    private final Batch labels;
+    private final Batch properties;
+    private final Batch latest;
+    private final Batch artifactRules;
+    private final Batch globalRules;
+
+    /**
+     * The entities queued since the last flush.
+     */
+    private final List<Entity> queued = new ArrayList<>();
+
+    /**
+     * The entities buffered in the batches since the last flush, so they can be replayed one at a time.
+     */
+    private final List<PendingEntity> pending = new ArrayList<>();
+
+    private long bufferedContentBytes;
+    private long imported;
+    private long skipped;
+
+    /**
+     * Constructor.
+     * @param handle
+     * @param sqlStatements
+     * @param tenantId
+     * @param batchSize
+     */
+    public BulkEntityImporter(Handle handle, SqlStatements sqlStatements, String tenantId, int batchSize) {
+        this.handle = handle;
+        this.sqlStatements = sqlStatements;
+        this.tenantId = tenantId;
+        this.batchSize = batchSize;
+
+        content = handle.createBatch(sqlStatements.importContent());
+        groups = handle.createBatch(sqlStatements.importGroup());
+        artifacts = handle.createBatch(sqlStatements.insertArtifact());
+        versions = handle.createBatch(sqlStatements.importArtifactVersion());
+        labels = handle.createBatch(sqlStatements.insertLabel());
+        properties = handle.createBatch(sqlStatements.insertProperty());
+        latest = handle.createBatch(sqlStatements.updateArtifactLatest());
+        artifactRules = handle.createBatch(sqlStatements.importArtifactRule());
+        globalRules = handle.createBatch(sqlStatements.importGlobalRule());
+    }
+
+    /**
+     * Imports (or rather, queues for import) the given entity.
+     * @param entity
+     */
+    public void importEntity(Entity entity) {
+        switch (entity.getEntityType()) {
+            case ArtifactRule:
+            case ArtifactVersion:
+            case GlobalRule:
+            case Group:
+                queued.add(entity);
+                break;
+            case Content:
+                queued.add(entity);
+                byte[] bytes = ((ContentEntity) entity).contentBytes;
+                bufferedContentBytes += bytes == null ? 0 : bytes.length;
+                break;
+            case Manifest:
+                ManifestEntity manifest = (ManifestEntity) entity;
+                log.info("---------- Import Info ----------");
+                log.info("System Name:    {}", manifest.systemName);
+                log.info("System Desc:    {}", manifest.systemDescription);
+                log.info("System Version: {}", manifest.systemVersion);
+                log.info("Data exported on {} by user {}", manifest.exportedOn, manifest.exportedBy);
+                log.info("---------- ----------- ----------");
+                // Ignore the manifest for now.
+                break;
+            default:
+                throw new RegistryStorageException("Unhandled entity type during import: " + entity.getEntityType());
+        }
+        if (queued.size() >= batchSize || bufferedContentBytes >= MAX_BUFFERED_CONTENT_BYTES) {
+            flush();
+        }
+    }
+
+    /**
+     * Skips the queued entities that already exist and executes the batches for the others.  If that
+     * fails, the buffered entities are imported again one at a time, and the ones that still fail are
+     * skipped.
+     */
+    public void flush() {
+        if (queued.isEmpty()) {
+            return;
+        }
+        loadExistingKeys();
+        for (Entity entity : queued) {
+            switch (entity.getEntityType()) {
+                case ArtifactRule:
+                    importArtifactRule((ArtifactRuleEntity) entity);
+                    break;
+                case ArtifactVersion:
+                    importArtifactVersion((ArtifactVersionEntity) entity);
+                    break;
+                case Content:
+                    importContent((ContentEntity) entity);
+                    break;
+                case GlobalRule:
+                    importGlobalRule((GlobalRuleEntity) entity);
+                    break;
+                case Group:
+                    importGroup((GroupEntity) entity);
+                    break;
+                default:
+                    break;
+            }
+        }
+        queued.clear();
+        bufferedContentBytes = 0;
+        if (pending.isEmpty()) {
+            return;
+        }
+        Savepoint savepoint = handle.setSavepoint();
+        try {
+            executeBatches();
+            handle.release(savepoint);
+        } catch (RuntimeSqlException e) {
+            handle.rollback(savepoint);
+            clearBatches();
+            log.warn("Failed to import a batch of " + pending.size() + " entities, importing them one at a time.", e);
+            replay();
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * @return the number of entities imported so far
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * @return the number of entities skipped because they already existed (or failed to import)
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private void importContent(ContentEntity entity) {
+        if (!contentIds.add(entity.contentId)) {
+            skipped++;
+            return;
+        }
+        buffer("content", true, () -> {
+            content.bind(0, tenantId)
+                .bind(1, entity.contentId)
+                .bind(2, entity.canonicalHash)
+                .bind(3, entity.contentHash)
+                .bind(4, entity.contentBytes)
+                .add();
+        });
+        imported++;
+    }
+
+    private void importGroup(GroupEntity entity) {
+        if (!groupIds.add(normalizeGroupId(entity.groupId))) {
+            skipped++;
+            return;
+        }
+        buffer("group", true, () -> {
+            groups.bind(0, tenantId)
+                .bind(1, normalizeGroupId(entity.groupId))
+                .bind(2, entity.description)
+                .bind(3, entity.artifactsType == null ? null : entity.artifactsType.name())
+                .bind(4, entity.createdBy)
+                .bind(5, new Date(entity.createdOn))
+                .bind(6, entity.modifiedBy)
+                .bind(7, new Date(entity.modifiedOn))
+                .bind(8, SqlUtil.serializeProperties(entity.properties))
+                .add();
+        });
+        imported++;
+    }
+
+    private void importArtifactVersion(ArtifactVersionEntity entity) {
+        if (artifactKeys.add(artifactKey(normalizeGroupId(entity.groupId), entity.artifactId))) {
+            // The artifact row is not an entity of its own (it is not counted), but it is replayed separately
+            // so that it still gets created if the version that triggered it fails.
+            buffer("artifact", false, () -> {
+                artifacts.bind(0, tenantId)
+                    .bind(1, normalizeGroupId(entity.groupId))
+                    .bind(2, entity.artifactId)
+                    .bind(3, entity.artifactType.name())
+                    .bind(4, entity.createdBy)
+                    .bind(5, new Date(entity.createdOn))
+                    .add();
+            });
+        }
+
+        if (!globalIds.add(entity.globalId)) {
+            log.info("Duplicate globalId detected, skipping import of artifact version.");
+            skipped++;
+            return;
+        }
+        buffer("artifact version", true, () -> {
+            versions.bind(0, entity.globalId)
+                .bind(1, tenantId)
+                .bind(2, normalizeGroupId(entity.groupId))
+                .bind(3, entity.artifactId)
+                .bind(4, entity.version)
+                .bind(5, entity.versionId)
+                .bind(6, entity.state)
+                .bind(7, entity.name)
+                .bind(8, entity.description)
+                .bind(9, entity.createdBy)
+                .bind(10, new Date(entity.createdOn))
+                .bind(11, SqlUtil.serializeLabels(entity.labels))
+                .bind(12, SqlUtil.serializeProperties(entity.properties))
+                .bind(13, entity.contentId)
+                .add();
+
+            if (entity.labels != null) {
+                entity.labels.forEach(label -> {
+                    labels.bind(0, tenantId)
+                        .bind(1, entity.globalId)
+                        .bind(2, label.toLowerCase())
+                        .add();
+                });
+            }
+            if (entity.properties != null) {
+                entity.properties.forEach((k, v) -> {
+                    properties.bind(0, tenantId)
+                        .bind(1, entity.globalId)
+                        .bind(2, k.toLowerCase())
+                        .bind(3, v.toLowerCase())
+                        .add();
+                });
+            }
+            if (entity.isLatest) {
+                latest.bind(0, entity.globalId)
+                    .bind(1, tenantId)
+                    .bind(2, normalizeGroupId(entity.groupId))
+                    .bind(3, entity.artifactId)
+                    .add();
+            }
+        });
+        imported++;
+    }
+
+    private void importArtifactRule(ArtifactRuleEntity entity) {
+        String artifactKey = artifactKey(normalizeGroupId(entity.groupId), entity.artifactId);
+        if (!artifactKeys.contains(artifactKey)) {
+            log.warn("Artifact rule import failed: artifact not found.");
+            skipped++;
+            return;
+        }
+        if (!artifactRuleKeys.add(artifactKey + "/" + entity.type.name())) {
+            skipped++;
+            return;
+        }
+        buffer("artifact rule", true, () -> {
+            artifactRules.bind(0, tenantId)
+                .bind(1, normalizeGroupId(entity.groupId))
+                .bind(2, entity.artifactId)
+                .bind(3, entity.type.name())
+                .bind(4, entity.configuration)
+                .add();
+        });
+        imported++;
+    }
+
+    private void importGlobalRule(GlobalRuleEntity entity) {
+        if (!globalRuleTypes.add(entity.ruleType.name())) {
+            skipped++;
+            return;
+        }
+        buffer("global rule", true, () -> {
+            globalRules.bind(0, tenantId)
+                .bind(1, entity.ruleType.name())
+                .bind(2, entity.configuration)
+                .add();
+        });
+        imported++;
+    }
+
+    /**
+     * Binds the rows of an entity into the batches, and remembers how to do it again in case the
+     * batches fail and the entity has to be replayed.
+     * @param type
+     * @param counted
+     * @param binder
+     */
+    private void buffer(String type, boolean counted, Runnable binder) {
+        binder.run();
+        pending.add(new PendingEntity(type, counted, binder));
+    }
+
+    /**
+     * Imports the pending entities one at a time, each within its own savepoint, skipping the ones
+     * that fail.
+     */
+    private void replay() {
+        for (PendingEntity entity : pending) {
+            Savepoint savepoint = handle.setSavepoint();
+            try {
+                entity.binder.run();
+                executeBatches();
+                handle.release(savepoint);
+            } catch (RuntimeSqlException e) {
+                handle.rollback(savepoint);
+                clearBatches();
+                log.warn("Failed to import " + entity.type + " entity.", e);
+                if (entity.counted) {
+                    imported--;
+                    skipped++;
+                }
+            }
+        }
+    }
+
+    private void executeBatches() {
+        content.execute();
+        groups.execute();
+        artifacts.execute();
+        versions.execute();
+        labels.execute();
+        properties.execute();
+        latest.execute();
+        artifactRules.execute();
+        globalRules.execute();
+    }
+
+    private void clearBatches() {
+        content.clear();
+        groups.clear();
+        artifacts.clear();
+        versions.clear();
+        labels.clear();
+        properties.clear();
+        latest.clear();
+        artifactRules.clear();
+        globalRules.clear();
+    }
+
+    /**
+     * Loads which of the keys referenced by the queued entities already exist.
+     */
+    private void loadExistingKeys() {
+        contentIds.clear();
+        globalIds.clear();
+        artifactKeys.clear();
+        groupIds.clear();
+        artifactRuleKeys.clear();
+        globalRuleTypes.clear();
+
+        Set<Long> queuedContentIds = new HashSet<>();
+        Set<Long> queuedGlobalIds = new HashSet<>();
+        Set<String> queuedGroupIds = new HashSet<>();
+        Set<String> queuedArtifactIds = new HashSet<>();
+        Set<String> queuedRuleArtifactIds = new HashSet<>();
+        boolean globalRulesQueued = false;
+        for (Entity entity : queued) {
+            switch (entity.getEntityType()) {
+                case ArtifactRule:
+                    queuedArtifactIds.add(((ArtifactRuleEntity) entity).artifactId);
+                    queuedRuleArtifactIds.add(((ArtifactRuleEntity) entity).artifactId);
+                    break;
+                case ArtifactVersion:
+                    queuedArtifactIds.add(((ArtifactVersionEntity) entity).artifactId);
+                    queuedGlobalIds.add(((ArtifactVersionEntity) entity).globalId);
+                    break;
+                case Content:
+                    queuedContentIds.add(((ContentEntity) entity).contentId);
+                    break;
+                case GlobalRule:
+                    globalRulesQueued = true;
+                    break;
+                case Group:
+                    queuedGroupIds.add(normalizeGroupId(((GroupEntity) entity).groupId));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        contentIds.addAll(selectExisting(sqlStatements::selectContentIds, queuedContentIds, rs -> rs.getLong("contentId")));
+        globalIds.addAll(selectExisting(sqlStatements::selectGlobalIds, queuedGlobalIds, rs -> rs.getLong("globalId")));
+        groupIds.addAll(selectExisting(sqlStatements::selectGroupIds, queuedGroupIds, rs -> rs.getString("groupId")));
+        // The artifacts are looked up by artifactId only, so rows of other groups can come back, which is harmless
+        artifactKeys.addAll(selectExisting(sqlStatements::selectArtifactKeys, queuedArtifactIds,
+                rs -> artifactKey(rs.getString("groupId"), rs.getString("artifactId"))));
+        artifactRuleKeys.addAll(selectExisting(sqlStatements::selectArtifactRuleKeys, queuedRuleArtifactIds,
+                rs -> artifactKey(rs.getString("groupId"), rs.getString("artifactId")) + "/" + rs.getString("type")));
+        if (globalRulesQueued) {
+            // There are only a handful of global rule types
+            handle.createQuery(sqlStatements.selectGlobalRules())
+                    .bind(0, tenantId)
+                    .mapTo(String.class)
+                    .list()
+                    .forEach(globalRuleTypes::add);
+        }
+    }
+
+    /**
+     * Selects which of the given keys exist, in chunks of at most {@link #MAX_QUERY_KEYS} keys.
+     * @param sql creates the statement for the given number of keys
+     * @param keys
+     * @param mapper
+     */
+    private <K, T> List<T> selectExisting(IntFunction<String> sql, Collection<K> keys, RowMapper<T> mapper) {
+        List<T> rval = new ArrayList<>();
+        List<K> chunk = new ArrayList<>(Math.min(keys.size(), MAX_QUERY_KEYS));
+        Iterator<K> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == MAX_QUERY_KEYS || !iterator.hasNext()) {
+                Query query = handle.createQuery(sql.apply(chunk.size())).bind(0, tenantId);
+                for (int i = 0; i < chunk.size(); i++) {
+                    K key = chunk.get(i);
+                    if (key instanceof Long) {
+                        query.bind(i + 1, (Long) key);
+                    } else {
+                        query.bind(i + 1, (String) key);
+                    }
+                }
+                rval.addAll(query.map(mapper).list());
+                chunk.clear();
+            }
+        }
+        return rval;
+    }
+
+    private static String artifactKey(String normalizedGroupId, String artifactId) {
+        return normalizedGroupId + "/" + artifactId;
+    }
+
+    private static class PendingEntity {
+        private final String type;
+        private final boolean counted;
+        private final Runnable binder;
+
+        private PendingEntity(String type, boolean counted, Runnable binder) {
+            this.type = type;
+            this.counted = counted;
+            this.binder = binder;
+        }
+    }
+
+}
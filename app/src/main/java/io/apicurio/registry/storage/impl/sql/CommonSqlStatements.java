@@ -19,6 +19,7 @@ package io.apicurio.registry.storage.impl.sql;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -271,6 +272,18 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE a.tenantId = ? AND a.groupId = ? AND a.artifactId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectLatestArtifactMetaDataAndContent()
+     */
+    @Override
+    public String selectLatestArtifactMetaDataAndContent() {
+        return "SELECT a.*, v.contentId, v.globalId, v.version, v.versionId, v.state, v.name, v.description, v.labels, v.properties, v.createdBy AS modifiedBy, v.createdOn AS modifiedOn, c.content "
+                + "FROM artifacts a "
+                + "JOIN versions v ON a.tenantId = v.tenantId AND a.latest = v.globalId "
+                + "JOIN content c ON v.contentId = c.contentId AND v.tenantId = c.tenantId "
+                + "WHERE a.tenantId = ? AND a.groupId = ? AND a.artifactId = ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentIdByHash()
      */
@@ -455,6 +468,48 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE v.tenantId = ? AND v.globalId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactMetaDataAndContentByGlobalId()
+     */
+    @Override
+    public String selectArtifactMetaDataAndContentByGlobalId() {
+        return "SELECT a.*, v.contentId, v.globalId, v.version, v.versionId, v.state, v.name, v.description, v.labels, v.properties, v.createdBy AS modifiedBy, v.createdOn AS modifiedOn, c.content, c.contentHash "
+                + "FROM artifacts a "
+                + "JOIN versions v ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "JOIN content c ON v.contentId = c.contentId AND v.tenantId = c.tenantId "
+                + "WHERE v.tenantId = ? AND v.globalId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactMetaDataAndContentByGlobalIds(int)
+     */
+    @Override
+    public String selectArtifactMetaDataAndContentByGlobalIds(int count) {
+        return "SELECT a.*, v.contentId, v.globalId, v.version, v.versionId, v.state, v.name, v.description, v.labels, v.properties, v.createdBy AS modifiedBy, v.createdOn AS modifiedOn, c.content, c.contentHash "
+                + "FROM artifacts a "
+                + "JOIN versions v ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "JOIN content c ON v.contentId = c.contentId AND v.tenantId = c.tenantId "
+                + "WHERE v.tenantId = ? AND v.globalId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentByIds(int)
+     */
+    @Override
+    public String selectContentByIds(int count) {
+        return "SELECT c.contentId, c.content FROM content c "
+                + "WHERE c.tenantId = ? AND c.contentId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectCanonicalHashesByContentIds(int)
+     */
+    @Override
+    public String selectCanonicalHashesByContentIds(int count) {
+        return "SELECT c.contentId, c.canonicalHash FROM content c "
+                + "WHERE c.tenantId = ? AND c.contentId IN (" + parameters(count) + ")";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateArtifactVersionState()
      */
@@ -514,6 +569,17 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "ORDER BY v.globalId ASC LIMIT ? OFFSET ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionsAfter()
+     */
+    @Override
+    public String selectArtifactVersionsAfter() {
+        return "SELECT v.*, a.type FROM versions v "
+                + "JOIN artifacts a ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE a.tenantId = ? AND a.groupId = ? AND a.artifactId = ? AND v.globalId > ? "
+                + "ORDER BY v.globalId ASC LIMIT ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactCount()
      */
@@ -580,7 +646,7 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String selectContentById() {
-        return "SELECT c.content FROM content c "
+        return "SELECT c.content, c.contentHash FROM content c "
                 + "WHERE c.tenantId = ? AND c.contentId = ?";
     }
 
@@ -593,6 +659,17 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE c.tenantId = ? AND c.contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectCanonicalHashByContentHash()
+     */
+    @Override
+    public String selectCanonicalHashByContentHash() {
+        return "SELECT c.canonicalHash FROM content c "
+                + "WHERE c.tenantId = ? AND c.contentHash = ? "
+                + "AND EXISTS (SELECT 1 FROM versions v JOIN artifacts a ON v.tenantId = a.tenantId AND v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "WHERE v.tenantId = c.tenantId AND v.contentId = c.contentId AND a.type = ?)";
+    }
+
     @Override
     public String deleteAllOrphanedContent() {
         // TODO This may be too slow
@@ -748,6 +825,61 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentIds(int)
+     */
+    @Override
+    public String selectContentIds(int count) {
+        return "SELECT c.contentId FROM content c WHERE c.tenantId = ? AND c.contentId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectGlobalIds(int)
+     */
+    @Override
+    public String selectGlobalIds(int count) {
+        return "SELECT v.globalId FROM versions v WHERE v.tenantId = ? AND v.globalId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactKeys(int)
+     */
+    @Override
+    public String selectArtifactKeys(int count) {
+        return "SELECT a.groupId, a.artifactId FROM artifacts a WHERE a.tenantId = ? AND a.artifactId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectGroupIds(int)
+     */
+    @Override
+    public String selectGroupIds(int count) {
+        return "SELECT g.groupId FROM groups g WHERE g.tenantId = ? AND g.groupId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactRuleKeys(int)
+     */
+    @Override
+    public String selectArtifactRuleKeys(int count) {
+        return "SELECT r.groupId, r.artifactId, r.type FROM rules r WHERE r.tenantId = ? AND r.artifactId IN (" + parameters(count) + ")";
+    }
+
+    /**
+     * Returns a comma separated list of the given number of query parameters.
+     * @param count
+     */
+    private static String parameters(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("?");
+        }
+        return builder.toString();
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#importContent()
      */
@@ -917,4 +1049,12 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "INSERT INTO sequences (tenantId, name, value) VALUES (?, ?, ?)";
     }
 
+    /**
+     * Returns a comma separated list of the given number of "?" parameters, for an IN list.
+     * @param count
+     */
+    protected static String parameters(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.apicurio.registry.utils.BoundedCache;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A bounded, tenant-aware LRU of hot content, keyed by contentId, content hash or globalId.
+ *
+ * The content of a given ID never changes, but it can be deleted (and the meta-data cached along with the
+ * content of a version can be updated), so every such change (see {@link #invalidate(String)}) bumps a
+ * per-tenant generation, which makes all the cached entries of that tenant stale.  Operations spanning all
+ * the tenants (e.g. deleting the orphaned content) bump a global generation instead (see
+ * {@link #invalidateAll()}).  Entries also expire after the configured TTL.
+ *
+ * The cache is disabled by default (a max size of 0), because a change made through one replica is only
+ * invalidated on that replica, and replicas sharing the same SQL database would otherwise serve deleted
+ * content for up to a TTL.
+ */
+public class ContentCache {
+
+    private final int maxSize;
+    private final long ttl;
+
+    private final BoundedCache<CacheKey, CacheEntry> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class CacheKey {
+        String tenantId;
+        char type;
+        Object id;
+    }
+
+    @AllArgsConstructor
+    private static class CacheEntry {
+        long globalGeneration;
+        long generation;
+        long loadedOn;
+        Object value;
+    }
+
+    /**
+     * Constructor.
+     * @param maxSize the max number of entries (0 disables the cache)
+     * @param ttl the time (in ms) after which an entry is reloaded
+     */
+    public ContentCache(int maxSize, long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Returns the value cached for the given contentId, loading it if needed.
+     * @param tenantId
+     * @param contentId
+     * @param loader
+     */
+    public <T> T getByContentId(String tenantId, long contentId, Supplier<T> loader) {
+        return get(new CacheKey(tenantId, 'c', contentId), loader);
+    }
+
+    /**
+     * Returns the value cached for the given content hash, loading it if needed.
+     * @param tenantId
+     * @param contentHash
+     * @param loader
+     */
+    public <T> T getByContentHash(String tenantId, String contentHash, Supplier<T> loader) {
+        return get(new CacheKey(tenantId, 'h', contentHash), loader);
+    }
+
+    /**
+     * Returns the value cached for the given globalId, loading it if needed.
+     * @param tenantId
+     * @param globalId
+     * @param loader
+     */
+    public <T> T getByGlobalId(String tenantId, long globalId, Supplier<T> loader) {
+        return get(new CacheKey(tenantId, 'g', globalId), loader);
+    }
+
+    /**
+     * Returns the meta-data and content cached for the given globalId, loading them if needed.
+     * @param tenantId
+     * @param globalId
+     * @param loader
+     */
+    public <T> T getVersionContentByGlobalId(String tenantId, long globalId, Supplier<T> loader) {
+        return get(new CacheKey(tenantId, 'v', globalId), loader);
+    }
+
+    /**
+     * Marks all the cached entries of the given tenant as stale.
+     * @param tenantId
+     */
+    public void invalidate(String tenantId) {
+        if (maxSize > 0) {
+            generation(tenantId).incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks all the cached entries, of every tenant, as stale.
+     */
+    public void invalidateAll() {
+        if (maxSize > 0) {
+            globalGeneration.incrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(CacheKey key, Supplier<T> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        long global = globalGeneration.get();
+        long generation = generation(key.tenantId).get();
+        long now = System.currentTimeMillis();
+
+        CacheEntry cached = cache.get(key);
+        if (cached != null && cached.globalGeneration == global && cached.generation == generation && (ttl <= 0 || cached.loadedOn + ttl >= now)) {
+            return (T) cached.value;
+        }
+
+        T value = loader.get();
+        // The generations read *before* loading are stored, so a concurrent invalidation makes this entry stale.
+        cache.put(key, new CacheEntry(global, generation, now, value));
+        return value;
+    }
+
+    private AtomicLong generation(String tenantId) {
+        return generations.computeIfAbsent(tenantId, k -> new AtomicLong());
+    }
+
+}
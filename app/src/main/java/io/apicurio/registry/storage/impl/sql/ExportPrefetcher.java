@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.apicurio.registry.storage.RegistryStorageException;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+import io.apicurio.registry.utils.impexp.Entity;
+
+/**
+ * Runs one of the export queries on a background thread (using its own connection), buffering the
+ * resulting entities in a bounded queue until the exporting thread is ready to handle them.  This lets
+ * the export read every entity type at the same time, while still handing the entities over in the
+ * order the importer expects.
+ */
+public class ExportPrefetcher<T extends Entity> {
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final Future<?> future;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    /**
+     * Constructor.  Starts running the query right away.
+     * @param executor
+     * @param handles
+     * @param sql the export query, with the tenant id as its only parameter
+     * @param tenantId
+     * @param fetchSize
+     * @param queueSize the maximum number of entities buffered
+     * @param mapper
+     */
+    public ExportPrefetcher(ExecutorService executor, HandleFactory handles, String sql, String tenantId,
+            int fetchSize, int queueSize, RowMapper<T> mapper) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.future = executor.submit(() -> {
+            try {
+                handles.withReadOnlyHandle(handle -> {
+                    Stream<T> stream = handle.createQuery(sql)
+                            .bind(0, tenantId)
+                            .setFetchSize(fetchSize)
+                            .map(mapper)
+                            .stream();
+                    // Process and then close the stream.
+                    try (stream) {
+                        Iterator<T> iterator = stream.iterator();
+                        while (!cancelled && iterator.hasNext()) {
+                            put(iterator.next());
+                        }
+                    }
+                    return null;
+                });
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                put(END);
+            }
+        });
+    }
+
+    /**
+     * Hands every entity to the given handler, in query order, waiting for the query as needed.
+     * @param handler
+     * @throws InterruptedException
+     */
+    public void drainTo(Function<Entity, Void> handler) throws InterruptedException {
+        while (true) {
+            Object next = queue.take();
+            if (next == END) {
+                if (error != null) {
+                    throw new RegistryStorageException(error);
+                }
+                return;
+            }
+            handler.apply((Entity) next);
+        }
+    }
+
+    /**
+     * Stops the query (if still running), e.g. because the export failed.
+     */
+    public void cancel() {
+        cancelled = true;
+        future.cancel(true);
+    }
+
+    private void put(Object item) {
+        try {
+            while (!cancelled) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -86,6 +86,14 @@ public class H2SqlStatements extends CommonSqlStatements {
         return "UPDATE sequences sa SET value = (SELECT sb.value + 1 FROM sequences sb WHERE sb.tenantId = sa.tenantId AND sb.name = sa.name) WHERE sa.tenantId = ? AND sa.name = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#getNextSequenceValues()
+     */
+    @Override
+    public String getNextSequenceValues() {
+        return "UPDATE sequences sa SET value = (SELECT sb.value + ? FROM sequences sb WHERE sb.tenantId = sa.tenantId AND sb.name = sa.name) WHERE sa.tenantId = ? AND sa.name = ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#resetSequenceValue()
      */
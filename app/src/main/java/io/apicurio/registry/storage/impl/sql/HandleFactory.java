@@ -47,6 +47,27 @@ public class HandleFactory {
         }
     }
 
+    /**
+     * Runs the callback on a dedicated connection with auto-commit disabled (the work is rolled back
+     * afterwards).  Some drivers (e.g. PostgreSQL) only honour the fetch size of a query, and so stream its
+     * results rather than loading them all into memory, when not in auto-commit mode.  Must not be used to
+     * make changes, nor from within a transaction.
+     * @param callback
+     */
+    public <R, X extends Exception> R withReadOnlyHandle(HandleCallback<R, X> callback) throws X {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Handle handleImpl = new HandleImpl(connection);
+                return callback.withHandle(handleImpl);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new RegistryStorageException(e);
+        }
+    }
+
     public <R, X extends Exception> R withHandleNoException(HandleCallback<R, X> callback)  throws RegistryStorageException {
         try {
             return withHandle(callback);
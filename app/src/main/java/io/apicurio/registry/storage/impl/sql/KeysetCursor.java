@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import io.apicurio.registry.storage.InvalidSearchCursorException;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used for keyset pagination.  A cursor holds
+ * the sort key of the last row of a page, so the next page can be fetched with a "greater than"
+ * predicate instead of an OFFSET.
+ */
+public class KeysetCursor {
+
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the given sort key values into a cursor.
+     * @param values
+     */
+    public static String encode(String ... values) {
+        StringBuilder builder = new StringBuilder();
+        for (String value : values) {
+            if (builder.length() > 0) {
+                builder.append('.');
+            }
+            builder.append(encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Decodes a cursor into the expected number of sort key values.
+     * @param cursor
+     * @param size
+     * @throws InvalidSearchCursorException
+     */
+    public static String[] decode(String cursor, int size) throws InvalidSearchCursorException {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != size) {
+            throw new InvalidSearchCursorException("Invalid search cursor: " + cursor);
+        }
+        String[] values = new String[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                values[i] = new String(decoder.decode(parts[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchCursorException("Invalid search cursor: " + cursor);
+        }
+        return values;
+    }
+
+}
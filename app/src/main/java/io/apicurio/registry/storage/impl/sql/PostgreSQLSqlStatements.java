@@ -86,6 +86,14 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
         return "INSERT INTO sequences (tenantId, name, value) VALUES (?, ?, 1) ON CONFLICT (tenantId, name) DO UPDATE SET value = sequences.value + 1 RETURNING value";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#getNextSequenceValues()
+     */
+    @Override
+    public String getNextSequenceValues() {
+        return "INSERT INTO sequences (tenantId, name, value) VALUES (?, ?, ?) ON CONFLICT (tenantId, name) DO UPDATE SET value = sequences.value + ? RETURNING value";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#resetSequenceValue()
      */
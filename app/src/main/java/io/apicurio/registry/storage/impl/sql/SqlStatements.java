@@ -156,6 +156,11 @@ public interface SqlStatements {
      */
     public String selectAllArtifactVersions();
 
+    /**
+     * A statement used to select a page of versions for a given artifactId, starting after a given globalId.
+     */
+    public String selectArtifactVersionsAfter();
+
     /**
      * A statement used to count the total # of artifacts.
      */
@@ -202,6 +207,11 @@ public interface SqlStatements {
      */
     public String selectLatestArtifactMetaData();
 
+    /**
+     * A statement to get a single artifact (latest version) meta-data and content by artifactId.
+     */
+    public String selectLatestArtifactMetaDataAndContent();
+
     /**
      * A statement to select the contentId of a row in the content table by hash value.
      */
@@ -332,6 +342,29 @@ public interface SqlStatements {
      */
     public String selectArtifactMetaDataByGlobalId();
 
+    /**
+     * A statement to get an artifact's meta-data and content by version globalId.
+     */
+    public String selectArtifactMetaDataAndContentByGlobalId();
+
+    /**
+     * A statement to get the meta-data and content of several artifact versions by globalId.
+     * @param count the number of globalIds in the IN list
+     */
+    public String selectArtifactMetaDataAndContentByGlobalIds(int count);
+
+    /**
+     * A statement to get several contents by contentId.
+     * @param count the number of contentIds in the IN list
+     */
+    public String selectContentByIds(int count);
+
+    /**
+     * A statement to get the canonical hashes of several contents by contentId.
+     * @param count the number of contentIds in the IN list
+     */
+    public String selectCanonicalHashesByContentIds(int count);
+
     /**
      * A statement to update the state of an artifact version (by globalId);
      */
@@ -392,6 +425,12 @@ public interface SqlStatements {
      */
     public String selectContentByContentHash();
 
+    /**
+     * A statement to select the canonicalHash of a content row by contentHash, provided the content is used
+     * by at least one artifact of the given type (the canonical form depends on the artifact type)
+     */
+    public String selectCanonicalHashByContentHash();
+
     /**
      * A statement to delete content that is no longer being referenced by an artifact version.
      */
@@ -458,6 +497,11 @@ public interface SqlStatements {
 
     public String getNextSequenceValue();
 
+    /**
+     * A statement used to increment a sequence by a given amount, reserving a block of values, and return the new value.
+     */
+    public String getNextSequenceValues();
+
     public String selectCurrentSequenceValue();
 
     public String resetSequenceValue();
@@ -500,6 +544,22 @@ public interface SqlStatements {
 
     public String selectGlobalIdExists();
 
+    /*
+     * The next few statements select which of the given keys already exist, so that a bulk import can
+     * skip duplicates with one query per batch instead of one query per entity.  The count is the
+     * number of keys bound after the tenantId.
+     */
+
+    public String selectContentIds(int count);
+
+    public String selectGlobalIds(int count);
+
+    public String selectArtifactKeys(int count);
+
+    public String selectGroupIds(int count);
+
+    public String selectArtifactRuleKeys(int count);
+
 
     /*
      * The next few statements support role mappings
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+/**
+ * A statement executed once for each of a set of parameter bindings, using a single JDBC batch.
+ */
+public interface Batch extends Sql<Batch> {
+
+    /**
+     * Adds the currently bound parameters to the batch, and clears them so the next row can be bound.
+     */
+    public Batch add();
+
+    /**
+     * @return the number of rows added to the batch (and not yet executed)
+     */
+    public int size();
+
+    /**
+     * Executes the batch, then clears it so it can be reused.
+     */
+    public int[] execute();
+
+    /**
+     * Discards the rows added to the batch (and not yet executed).
+     */
+    public void clear();
+
+}
@@ -17,6 +17,7 @@
 package io.apicurio.registry.storage.impl.sql.jdb;
 
 import java.io.Closeable;
+import java.sql.Savepoint;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -35,4 +36,28 @@ public interface Handle extends Closeable {
      */
     Update createUpdate(String sql);
 
+    /**
+     * Create a new Batch statement from the given SQL.
+     * @param sql
+     */
+    Batch createBatch(String sql);
+
+    /**
+     * Sets a savepoint in the current transaction, or returns null when the handle is in auto-commit mode
+     * (in which case there is nothing to roll back to).
+     */
+    Savepoint setSavepoint();
+
+    /**
+     * Rolls back the current transaction to the given savepoint (as returned by {@link #setSavepoint()}).
+     * @param savepoint
+     */
+    void rollback(Savepoint savepoint);
+
+    /**
+     * Releases the given savepoint (as returned by {@link #setSavepoint()}).
+     * @param savepoint
+     */
+    void release(Savepoint savepoint);
+
 }
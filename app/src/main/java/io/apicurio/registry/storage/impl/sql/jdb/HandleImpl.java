@@ -19,6 +19,7 @@ package io.apicurio.registry.storage.impl.sql.jdb;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -65,4 +66,58 @@ public class HandleImpl implements Handle {
         return update;
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Handle#createBatch(java.lang.String)
+     */
+    @Override
+    public Batch createBatch(String sql) {
+        BatchImpl batch = new BatchImpl(connection, sql);
+        return batch;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Handle#setSavepoint()
+     */
+    @Override
+    public Savepoint setSavepoint() {
+        try {
+            if (connection.getAutoCommit()) {
+                return null;
+            }
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Handle#rollback(java.sql.Savepoint)
+     */
+    @Override
+    public void rollback(Savepoint savepoint) {
+        if (savepoint == null) {
+            return;
+        }
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Handle#release(java.sql.Savepoint)
+     */
+    @Override
+    public void release(Savepoint savepoint) {
+        if (savepoint == null) {
+            return;
+        }
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+    }
+
 }
@@ -27,12 +27,21 @@ import io.apicurio.registry.utils.impexp.ContentEntity;
  */
 public class ContentEntityMapper implements RowMapper<ContentEntity> {
 
-    public static final ContentEntityMapper instance = new ContentEntityMapper();
+    public static final ContentEntityMapper instance = new ContentEntityMapper(false);
+    /**
+     * Maps the content as a stream rather than a byte array.  The stream is only valid until the
+     * result set is moved to the next row.
+     */
+    public static final ContentEntityMapper streaming = new ContentEntityMapper(true);
+
+    private final boolean stream;
 
     /**
      * Constructor.
+     * @param stream
      */
-    private ContentEntityMapper() {
+    private ContentEntityMapper(boolean stream) {
+        this.stream = stream;
     }
 
     /**
@@ -44,7 +53,11 @@ public class ContentEntityMapper implements RowMapper<ContentEntity> {
         entity.contentId = rs.getLong("contentId");
         entity.canonicalHash = rs.getString("canonicalHash");
         entity.contentHash = rs.getString("contentHash");
-        entity.contentBytes = rs.getBytes("content");
+        if (stream) {
+            entity.contentStream = rs.getBinaryStream("content");
+        } else {
+            entity.contentBytes = rs.getBytes("content");
+        }
         return entity;
     }
 
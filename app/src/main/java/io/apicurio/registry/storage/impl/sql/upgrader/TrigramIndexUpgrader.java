@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.impl.sql.upgrader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.storage.impl.sql.IDbUpgrader;
+import io.apicurio.registry.storage.impl.sql.jdb.Handle;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Creates the trigram (pg_trgm) indexes used by the substring searches on PostgreSQL.  Enabling the
+ * pg_trgm extension requires a superuser, or (on PostgreSQL 13 and later, where pg_trgm is a trusted
+ * extension) the CREATE privilege on the database.  If the extension is not installed and the registry
+ * user is not allowed to install it, the indexes are skipped: the searches still work, but they scan
+ * the versions table.  A DBA can create the extension and the indexes (see {@link #INDEXES}) later.
+ */
+@RegisterForReflection
+public class TrigramIndexUpgrader implements IDbUpgrader {
+
+    private static Logger logger = LoggerFactory.getLogger(TrigramIndexUpgrader.class);
+
+    static final String[] INDEXES = {
+        "CREATE INDEX IF NOT EXISTS IDX_versions_8 ON versions USING GIN (name gin_trgm_ops)",
+        "CREATE INDEX IF NOT EXISTS IDX_versions_9 ON versions USING GIN (description gin_trgm_ops)",
+        "CREATE INDEX IF NOT EXISTS IDX_versions_10 ON versions USING GIN (groupId gin_trgm_ops)",
+        "CREATE INDEX IF NOT EXISTS IDX_versions_11 ON versions USING GIN (artifactId gin_trgm_ops)"
+    };
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.IDbUpgrader#upgrade(io.apicurio.registry.storage.impl.sql.jdb.Handle)
+     */
+    @Override
+    public void upgrade(Handle dbHandle) throws Exception {
+        if (!isInstalled(dbHandle)) {
+            if (!canInstall(dbHandle)) {
+                logger.warn("The pg_trgm extension is not installed and the registry database user is not allowed to install it, "
+                        + "skipping the trigram search indexes.  To create them, run 'CREATE EXTENSION pg_trgm;' as a superuser, "
+                        + "followed by: {}", String.join("; ", INDEXES));
+                return;
+            }
+            dbHandle.createUpdate("CREATE EXTENSION IF NOT EXISTS pg_trgm").execute();
+        }
+        for (String index : INDEXES) {
+            dbHandle.createUpdate(index).execute();
+        }
+    }
+
+    private static boolean isInstalled(Handle dbHandle) {
+        return count(dbHandle, "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'") > 0;
+    }
+
+    /**
+     * Only catalog queries that cannot fail are used here, since any failed statement would abort the
+     * upgrade transaction.
+     */
+    private static boolean canInstall(Handle dbHandle) {
+        if (count(dbHandle, "SELECT COUNT(*) FROM pg_available_extensions WHERE name = 'pg_trgm'") == 0) {
+            return false;
+        }
+        if (count(dbHandle, "SELECT COUNT(*) FROM pg_roles WHERE rolname = current_user AND rolsuper") > 0) {
+            return true;
+        }
+        // The "trusted" column (and trusted extensions) only exist since PostgreSQL 13.
+        int serverVersion = Integer.parseInt(dbHandle.createQuery("SELECT current_setting('server_version_num')")
+                .mapTo(String.class)
+                .one());
+        return serverVersion >= 130000 && count(dbHandle, "SELECT COUNT(*) FROM pg_available_extension_versions "
+                + "WHERE name = 'pg_trgm' AND trusted AND has_database_privilege(current_database(), 'CREATE')") > 0;
+    }
+
+    private static int count(Handle dbHandle, String sql) {
+        return dbHandle.createQuery(sql).mapTo(Integer.class).one();
+    }
+
+}
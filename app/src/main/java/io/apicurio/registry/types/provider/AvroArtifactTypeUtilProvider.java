@@ -24,6 +24,7 @@ import io.apicurio.registry.content.canon.ContentCanonicalizer;
 import io.apicurio.registry.content.extract.AvroContentExtractor;
 import io.apicurio.registry.content.extract.ContentExtractor;
 import io.apicurio.registry.logging.Logged;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.compatibility.AvroCompatibilityChecker;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
 import io.apicurio.registry.rules.validity.AvroContentValidator;
@@ -40,6 +41,9 @@ public class AvroArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
     @Inject
     AvroContentExtractor extractor;
 
+    @Inject
+    ParsedSchemas parsedSchemas;
+
     @Override
     public ArtifactType getArtifactType() {
         return ArtifactType.AVRO;
@@ -47,7 +51,7 @@ public class AvroArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new AvroCompatibilityChecker();
+        return new AvroCompatibilityChecker(parsedSchemas.avro());
     }
 
     @Override
@@ -57,7 +61,7 @@ public class AvroArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new AvroContentValidator();
+        return new AvroContentValidator(parsedSchemas.avro());
     }
 
     @Override
@@ -24,6 +24,7 @@ import io.apicurio.registry.content.canon.JsonContentCanonicalizer;
 import io.apicurio.registry.content.extract.ContentExtractor;
 import io.apicurio.registry.content.extract.JsonContentExtractor;
 import io.apicurio.registry.logging.Logged;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
 import io.apicurio.registry.rules.compatibility.JsonSchemaCompatibilityChecker;
 import io.apicurio.registry.rules.validity.ContentValidator;
@@ -40,6 +41,9 @@ public class JsonArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
     @Inject
     JsonContentExtractor extractor;
 
+    @Inject
+    ParsedSchemas parsedSchemas;
+
     @Override
     public ArtifactType getArtifactType() {
         return ArtifactType.JSON;
@@ -47,7 +51,7 @@ public class JsonArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new JsonSchemaCompatibilityChecker();
+        return new JsonSchemaCompatibilityChecker(parsedSchemas.jsonSchema());
     }
 
     @Override
@@ -57,7 +61,7 @@ public class JsonArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new JsonSchemaContentValidator();
+        return new JsonSchemaContentValidator(parsedSchemas.jsonSchemaValidator());
     }
 
     @Override
@@ -21,6 +21,7 @@ import io.apicurio.registry.content.canon.ProtobufContentCanonicalizer;
 import io.apicurio.registry.content.extract.ContentExtractor;
 import io.apicurio.registry.content.extract.NoopContentExtractor;
 import io.apicurio.registry.logging.Logged;
+import io.apicurio.registry.rules.ParsedSchemas;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
 import io.apicurio.registry.rules.compatibility.ProtobufCompatibilityChecker;
 import io.apicurio.registry.rules.validity.ContentValidator;
@@ -28,6 +29,7 @@ import io.apicurio.registry.rules.validity.ProtobufContentValidator;
 import io.apicurio.registry.types.ArtifactType;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 /**
  * @author Ales Justin
@@ -35,6 +37,10 @@ import javax.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 @Logged
 public class ProtobufArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvider {
+
+    @Inject
+    ParsedSchemas parsedSchemas;
+
     @Override
     public ArtifactType getArtifactType() {
         return ArtifactType.PROTOBUF;
@@ -42,7 +48,7 @@ public class ProtobufArtifactTypeUtilProvider extends AbstractArtifactTypeUtilPr
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new ProtobufCompatibilityChecker();
+        return new ProtobufCompatibilityChecker(parsedSchemas.protobuf());
     }
 
     @Override
@@ -52,7 +58,7 @@ public class ProtobufArtifactTypeUtilProvider extends AbstractArtifactTypeUtilPr
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new ProtobufContentValidator();
+        return new ProtobufContentValidator(parsedSchemas.protobuf());
     }
 
     @Override
@@ -70,6 +70,12 @@ public class ResourceCacheControlFilter implements Filter {
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         httpResponse.setDateHeader("Date", now.getTime()); //$NON-NLS-1$
 
+        if (requestURI != null && requestURI.contains("/apis/registry/v2/ids/")) {
+            // The ids endpoints set their own cache control headers (see IdsResourceImpl)
+            chain.doFilter(request, response);
+            return;
+        }
+
         boolean disableCaching = false;
         if (requestURI == null) {
             disableCaching = true;
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.rest.client.AsyncRegistryClient;
+import io.apicurio.registry.rest.client.RegistryClientFactory;
+import io.apicurio.registry.rest.client.config.ClientConfig;
+import io.apicurio.registry.rest.client.exception.ArtifactNotFoundException;
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.utils.IoUtil;
+import io.apicurio.registry.utils.tests.TestUtils;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+public class AsyncRegistryClientTest extends AbstractResourceTestBase {
+
+    private static final String CONTENT = "{\"type\":\"string\"}";
+
+    @Test
+    public void testCompletion() throws Exception {
+        String groupId = TestUtils.generateGroupId();
+        String artifactId = generateArtifactId();
+        try (AsyncRegistryClient client = RegistryClientFactory.createAsync(registryV2ApiUrl)) {
+            ArtifactMetaData created = client.createArtifact(groupId, artifactId, null, ArtifactType.JSON, null, null, data(CONTENT))
+                    .toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(artifactId, created.getId());
+
+            // Several requests in flight at the same time
+            CompletableFuture<InputStream> latest = client.getLatestArtifact(groupId, artifactId).toCompletableFuture();
+            CompletableFuture<InputStream> byGlobalId = client.getContentByGlobalId(created.getGlobalId()).toCompletableFuture();
+            CompletableFuture<InputStream> byContentId = client.getContentById(created.getContentId()).toCompletableFuture();
+            CompletableFuture<ArtifactMetaData> metaData = client.getArtifactMetaData(groupId, artifactId).toCompletableFuture();
+
+            Assertions.assertEquals(CONTENT, IoUtil.toString(latest.get(10, TimeUnit.SECONDS)));
+            Assertions.assertEquals(CONTENT, IoUtil.toString(byGlobalId.get(10, TimeUnit.SECONDS)));
+            Assertions.assertEquals(CONTENT, IoUtil.toString(byContentId.get(10, TimeUnit.SECONDS)));
+            Assertions.assertEquals(created.getGlobalId(), metaData.get(10, TimeUnit.SECONDS).getGlobalId());
+        }
+    }
+
+    @Test
+    public void testExceptionalCompletion() throws Exception {
+        try (AsyncRegistryClient client = RegistryClientFactory.createAsync(registryV2ApiUrl)) {
+            CompletableFuture<ArtifactMetaData> missing = client.getArtifactMetaData(TestUtils.generateGroupId(), generateArtifactId())
+                    .toCompletableFuture();
+
+            // The stage completes with the exception of the RegistryClient, not a CompletionException
+            Throwable error = missing.handle((result, e) -> e).get(10, TimeUnit.SECONDS);
+            Assertions.assertTrue(error instanceof ArtifactNotFoundException, String.valueOf(error));
+
+            ExecutionException executionException = Assertions.assertThrows(ExecutionException.class, missing::get);
+            Assertions.assertTrue(executionException.getCause() instanceof ArtifactNotFoundException);
+            CompletionException completionException = Assertions.assertThrows(CompletionException.class, missing::join);
+            Assertions.assertTrue(completionException.getCause() instanceof ArtifactNotFoundException);
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        String groupId = TestUtils.generateGroupId();
+        String artifactId = generateArtifactId();
+        createArtifact(groupId, artifactId, ArtifactType.JSON, CONTENT);
+
+        AsyncRegistryClient client = RegistryClientFactory.createAsync(registryV2ApiUrl);
+        CompletableFuture<ArtifactMetaData> submitted = client.getArtifactMetaData(groupId, artifactId).toCompletableFuture();
+        client.close();
+
+        // Already submitted requests still complete, later ones fail without throwing
+        Assertions.assertEquals(artifactId, submitted.get(10, TimeUnit.SECONDS).getId());
+        CompletableFuture<ArtifactMetaData> rejected = client.getArtifactMetaData(groupId, artifactId).toCompletableFuture();
+        Assertions.assertTrue(rejected.isCompletedExceptionally());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, rejected::get);
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testThreadsConfig() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RegistryClientFactory.createAsync(registryV2ApiUrl, threads("many"), null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RegistryClientFactory.createAsync(registryV2ApiUrl, threads("0"), null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RegistryClientFactory.createAsync(registryV2ApiUrl, threads(-1), null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RegistryClientFactory.createAsync(clientV2, 0));
+
+        RegistryClientFactory.createAsync(registryV2ApiUrl, threads("2"), null).close();
+        RegistryClientFactory.createAsync(registryV2ApiUrl, threads(2), null).close();
+    }
+
+    private static Map<String, Object> threads(Object threads) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS, threads);
+        return configs;
+    }
+
+    private static InputStream data(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
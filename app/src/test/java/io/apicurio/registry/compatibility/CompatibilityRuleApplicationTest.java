@@ -152,6 +152,38 @@ public class CompatibilityRuleApplicationTest extends AbstractResourceTestBase {
 
     }
 
+    @Test
+    public void testAvroTransitiveCompatibilityAgainstHistory() throws Exception {
+        String groupId = "CompatibilityRuleApplicationTest";
+        String artifactId = TestUtils.generateArtifactId();
+        String v1Schema = "{\"type\":\"record\",\"name\":\"Rec\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}";
+        String v2Schema = "{\"type\":\"record\",\"name\":\"Rec\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"},{\"name\":\"c\",\"type\":\"int\",\"default\":0}]}";
+        // Same canonical form as v2, but a different contentHash
+        String v2SchemaReformatted = "{ \"type\": \"record\", \"name\": \"Rec\", \"fields\": [ {\"name\": \"a\", \"type\": \"string\"}, {\"name\": \"c\", \"type\": \"int\", \"default\": 0} ] }";
+        // Compatible with v2, but not with v1 (c has no default)
+        String v3Schema = "{\"type\":\"record\",\"name\":\"Rec\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"},{\"name\":\"c\",\"type\":\"int\"}]}";
+
+        createArtifact(groupId, artifactId, ArtifactType.AVRO, v1Schema);
+        createArtifactVersion(groupId, artifactId, ArtifactType.AVRO, v2Schema);
+        createArtifactVersion(groupId, artifactId, ArtifactType.AVRO, v2SchemaReformatted);
+
+        RuleContext latestOnly = new RuleContext(groupId, artifactId, ArtifactType.AVRO, "BACKWARD",
+                ContentHandle.create(v2SchemaReformatted), ContentHandle.create(v3Schema), true);
+        compatibility.execute(latestOnly);
+
+        // The pairwise results are cached, the outcome must not change when checking again
+        for (int i = 0; i < 2; i++) {
+            RuleContext transitive = new RuleContext(groupId, artifactId, ArtifactType.AVRO, "BACKWARD_TRANSITIVE",
+                    ContentHandle.create(v2SchemaReformatted), ContentHandle.create(v3Schema), true);
+            Assertions.assertThrows(RuleViolationException.class, () -> compatibility.execute(transitive));
+        }
+
+        // Compatible with every version, including itself
+        RuleContext compatible = new RuleContext(groupId, artifactId, ArtifactType.AVRO, "BACKWARD_TRANSITIVE",
+                ContentHandle.create(v2SchemaReformatted), ContentHandle.create(v2Schema), true);
+        compatibility.execute(compatible);
+    }
+
     private RuleViolation findCauseByContext(Set<RuleViolation> ruleViolations, String context) {
         for (RuleViolation violation : ruleViolations) {
             if (violation.getContext().equals(context)) {
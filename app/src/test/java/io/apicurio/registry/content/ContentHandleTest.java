@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.content;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Tests the content handle implementations.
+ */
+public class ContentHandleTest {
+
+    private static final String CONTENT = "{\"type\":\"record\",\"name\":\"test\",\"fields\":[]}";
+
+    @Test
+    public void testSha256Hex() {
+        String expected = DigestUtils.sha256Hex(CONTENT);
+        Assertions.assertEquals(expected, ContentHandle.create(CONTENT).sha256Hex());
+        Assertions.assertEquals(expected, ContentHandle.create(CONTENT.getBytes(StandardCharsets.UTF_8)).sha256Hex());
+        Assertions.assertEquals(expected, ContentHandle.create(stream(CONTENT)).sha256Hex());
+    }
+
+    @Test
+    public void testEquals() {
+        ContentHandle string = ContentHandle.create(CONTENT);
+        ContentHandle bytes = ContentHandle.create(CONTENT.getBytes(StandardCharsets.UTF_8));
+        ContentHandle stream = ContentHandle.create(stream(CONTENT));
+        Assertions.assertEquals(string, bytes);
+        Assertions.assertEquals(bytes, stream);
+        Assertions.assertEquals(string.hashCode(), stream.hashCode());
+        Assertions.assertNotEquals(string, ContentHandle.create(CONTENT + " "));
+    }
+
+    @Test
+    public void testStreamReadOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        InputStream in = new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                reads.incrementAndGet();
+                return super.read(b, off, len);
+            }
+        };
+        ContentHandle handle = ContentHandle.create(in);
+        Assertions.assertEquals(CONTENT, handle.content());
+        Assertions.assertArrayEquals(CONTENT.getBytes(StandardCharsets.UTF_8), handle.bytes());
+        Assertions.assertEquals(DigestUtils.sha256Hex(CONTENT), handle.sha256Hex());
+        Assertions.assertEquals(CONTENT, new String(IoUtil.toBytes(handle.stream()), StandardCharsets.UTF_8));
+        // one read of the content, one read returning the end of the stream
+        Assertions.assertEquals(2, reads.get());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
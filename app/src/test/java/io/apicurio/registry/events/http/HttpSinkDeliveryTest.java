@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.events.http;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.utils.tests.TestUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests the delivery of the events to an http sink, against a local http server.
+ */
+public class HttpSinkDeliveryTest {
+
+    private Vertx vertx;
+    private HttpServer server;
+    private HttpClient client;
+    private Timer deliveryLatency;
+    private Counter dropped;
+
+    private final List<Request> received = new CopyOnWriteArrayList<>();
+    // The status codes to answer with (200 once they are used up)
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    // When set, the requests are not answered until released
+    private volatile boolean hold;
+    private final Queue<HttpServerRequest> held = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    public void start() throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer()
+                .requestHandler(this::handle)
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        client = vertx.createHttpClient();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        deliveryLatency = Timer.builder("events.delivery").register(registry);
+        dropped = Counter.builder("events.dropped").register(registry);
+    }
+
+    @AfterEach
+    public void stop() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testBinaryMode() throws Exception {
+        HttpSinkDelivery delivery = delivery(10, 1, 0, 0);
+        delivery.enqueue("type-a", event(1));
+
+        waitFor("the event to be delivered", () -> deliveryLatency.count() == 1);
+        Assertions.assertEquals(1, received.size());
+        Request request = received.get(0);
+        Assertions.assertEquals("type-a", request.headers.get("ce-type"));
+        Assertions.assertEquals("1.0", request.headers.get("ce-specversion"));
+        Assertions.assertNotNull(request.headers.get("ce-id"));
+        Assertions.assertEquals("application/json", request.headers.get("content-type"));
+        Assertions.assertEquals(new JsonObject().put("n", 1), request.body.toJsonObject());
+        Assertions.assertEquals(0, dropped.count());
+    }
+
+    @Test
+    public void testBatching() throws Exception {
+        // A long linger, the batch is sent as soon as it is full
+        HttpSinkDelivery delivery = delivery(10, 3, 60000, 0);
+        for (int n = 1; n <= 3; n++) {
+            delivery.enqueue("type-" + n, event(n));
+        }
+
+        waitFor("the batch to be delivered", () -> deliveryLatency.count() == 3);
+        Assertions.assertEquals(1, received.size());
+        Request request = received.get(0);
+        Assertions.assertEquals(HttpSinkDelivery.CLOUDEVENTS_BATCH_CONTENT_TYPE, request.headers.get("content-type"));
+        JsonArray events = request.body.toJsonArray();
+        Assertions.assertEquals(3, events.size());
+        for (int idx = 0; idx < 3; idx++) {
+            JsonObject event = events.getJsonObject(idx);
+            Assertions.assertEquals("type-" + (idx + 1), event.getString("type"));
+            Assertions.assertEquals(idx + 1, event.getJsonObject("data").getInteger("n"));
+        }
+        Assertions.assertEquals(3, ids(events).stream().distinct().count());
+    }
+
+    @Test
+    public void testLinger() throws Exception {
+        HttpSinkDelivery delivery = delivery(10, 10, 500, 0);
+        delivery.enqueue("type-1", event(1));
+        delivery.enqueue("type-2", event(2));
+
+        // The batch is not full, so the events wait for the linger time
+        Thread.sleep(100);
+        Assertions.assertEquals(0, received.size());
+        Assertions.assertEquals(2, delivery.queueSize());
+
+        waitFor("the batch to be delivered", () -> deliveryLatency.count() == 2);
+        Assertions.assertEquals(1, received.size());
+        Assertions.assertEquals(2, received.get(0).body.toJsonArray().size());
+        Assertions.assertEquals(0, delivery.queueSize());
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        statuses.add(503);
+        statuses.add(500);
+        HttpSinkDelivery delivery = delivery(10, 1, 0, 3);
+        delivery.enqueue("type-a", event(1));
+
+        waitFor("the event to be delivered", () -> deliveryLatency.count() == 1);
+        Assertions.assertEquals(3, received.size());
+        // Every attempt is sent with the same id
+        Assertions.assertEquals(1, received.stream().map(request -> request.headers.get("ce-id")).distinct().count());
+        Assertions.assertEquals(0, dropped.count());
+    }
+
+    @Test
+    public void testRetryBatch() throws Exception {
+        statuses.add(503);
+        HttpSinkDelivery delivery = delivery(10, 2, 60000, 1);
+        delivery.enqueue("type-1", event(1));
+        delivery.enqueue("type-2", event(2));
+
+        waitFor("the batch to be delivered", () -> deliveryLatency.count() == 2);
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(ids(received.get(0).body.toJsonArray()), ids(received.get(1).body.toJsonArray()));
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        statuses.add(500);
+        statuses.add(500);
+        statuses.add(500);
+        HttpSinkDelivery delivery = delivery(10, 1, 0, 2);
+        delivery.enqueue("type-a", event(1));
+
+        waitFor("the event to be dropped", () -> dropped.count() == 1);
+        Assertions.assertEquals(3, received.size());
+        Assertions.assertEquals(0, deliveryLatency.count());
+
+        // The next event is still delivered
+        delivery.enqueue("type-b", event(2));
+        waitFor("the event to be delivered", () -> deliveryLatency.count() == 1);
+    }
+
+    @Test
+    public void testClientErrors() throws Exception {
+        statuses.add(400);
+        HttpSinkDelivery delivery = delivery(10, 1, 0, 3);
+        delivery.enqueue("type-a", event(1));
+
+        // Not retried
+        waitFor("the event to be dropped", () -> dropped.count() == 1);
+        Assertions.assertEquals(1, received.size());
+
+        // Rate limiting and timeouts are retried
+        statuses.add(429);
+        statuses.add(408);
+        delivery.enqueue("type-b", event(2));
+        waitFor("the event to be delivered", () -> deliveryLatency.count() == 1);
+        Assertions.assertEquals(4, received.size());
+        Assertions.assertEquals(1, dropped.count());
+    }
+
+    @Test
+    public void testQueueOverflow() throws Exception {
+        hold = true;
+        HttpSinkDelivery delivery = delivery(2, 1, 0, 0);
+        delivery.enqueue("type-1", event(1));
+        waitFor("the first event to be sent", () -> held.size() == 1);
+
+        // One event in flight, two queued, the next one doesn't fit
+        delivery.enqueue("type-2", event(2));
+        delivery.enqueue("type-3", event(3));
+        delivery.enqueue("type-4", event(4));
+        Assertions.assertEquals(2, delivery.queueSize());
+        Assertions.assertEquals(1, dropped.count());
+
+        hold = false;
+        held.poll().response().setStatusCode(200).end();
+        waitFor("the queued events to be delivered", () -> deliveryLatency.count() == 3);
+        Assertions.assertEquals(0, delivery.queueSize());
+        Assertions.assertEquals(List.of("type-1", "type-2", "type-3"),
+                received.stream().map(request -> request.headers.get("ce-type")).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testInvalidEvent() throws Exception {
+        HttpSinkDelivery delivery = delivery(10, 2, 60000, 0);
+        delivery.enqueue("type-1", event(1));
+        delivery.enqueue("type-invalid", Buffer.buffer("not json"));
+
+        // Only the invalid event is dropped
+        waitFor("the batch to be delivered", () -> deliveryLatency.count() == 1);
+        Assertions.assertEquals(1, dropped.count());
+        JsonArray events = received.get(0).body.toJsonArray();
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals("type-1", events.getJsonObject(0).getString("type"));
+
+        // A batch of invalid events is not sent at all, and doesn't block the next ones
+        delivery.enqueue("type-invalid", Buffer.buffer("not json"));
+        delivery.enqueue("type-invalid", Buffer.buffer("not json either"));
+        delivery.enqueue("type-2", event(2));
+        delivery.enqueue("type-3", event(3));
+        waitFor("the next batch to be delivered", () -> deliveryLatency.count() == 3);
+        Assertions.assertEquals(3, dropped.count());
+        Assertions.assertEquals(2, received.size());
+    }
+
+    private HttpSinkDelivery delivery(int queueSize, int batchSize, long lingerMs, int maxRetries) {
+        HttpSinkConfiguration sink = new HttpSinkConfiguration("test", "http://localhost:" + server.actualPort() + "/events");
+        return new HttpSinkDelivery(sink, vertx, () -> client, LoggerFactory.getLogger(HttpSinkDeliveryTest.class),
+                queueSize, batchSize, lingerMs, maxRetries, 10, deliveryLatency, dropped);
+    }
+
+    private void handle(HttpServerRequest request) {
+        request.bodyHandler(body -> {
+            received.add(new Request(request.headers(), body));
+            if (hold) {
+                held.add(request);
+            } else {
+                Integer status = statuses.poll();
+                request.response().setStatusCode(status == null ? 200 : status).end();
+            }
+        });
+    }
+
+    private static Buffer event(int n) {
+        return new JsonObject().put("n", n).toBuffer();
+    }
+
+    private static List<String> ids(JsonArray events) {
+        return events.stream().map(event -> ((JsonObject) event).getString("id")).collect(Collectors.toList());
+    }
+
+    private static void waitFor(String description, BooleanSupplier ready) throws Exception {
+        TestUtils.waitFor(description, 10, 10000, ready);
+    }
+
+    private static class Request {
+        private final MultiMap headers;
+        private final Buffer body;
+
+        Request(MultiMap headers, Buffer body) {
+            this.headers = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+            this.body = body;
+        }
+    }
+
+}
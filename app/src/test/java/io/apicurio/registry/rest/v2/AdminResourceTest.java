@@ -20,6 +20,7 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.anything;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -637,6 +638,18 @@ public class AdminResourceTest extends AbstractResourceTestBase {
                     .body(anything());
         }
 
+        // The import runs synchronously, so its status is already final
+        given()
+            .when()
+                .get("/registry/v2/admin/import/status")
+            .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("state", equalTo("COMPLETED"))
+                .body("entities", greaterThan(0))
+                .body("startedOn", notNullValue())
+                .body("finishedOn", notNullValue());
+
         // Verify global rules were imported
         TestUtils.retry(() -> {
             given()
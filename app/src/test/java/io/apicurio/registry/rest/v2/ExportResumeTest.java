@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rest.v2;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.types.ArtifactType;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+
+/**
+ * Tests resuming an export download with range requests, with the export data read sequentially.
+ */
+@QuarkusTest
+@TestProfile(ExportResumeTestProfile.class)
+public class ExportResumeTest extends AbstractResourceTestBase {
+
+    @Test
+    public void testResumeExport() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json");
+        for (int idx = 0; idx < 5; idx++) {
+            createArtifact("testResumeExport", "Empty-" + idx, ArtifactType.OPENAPI, artifactContent);
+        }
+
+        Response full = given()
+            .when()
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(200)
+                .header("Accept-Ranges", "bytes")
+                .extract().response();
+        String etag = full.getHeader("ETag");
+        Assertions.assertNotNull(etag);
+        byte[] fullBytes = full.asByteArray();
+        Assertions.assertEquals(5, countVersions(fullBytes, "testResumeExport"));
+
+        // Resume from the spooled export (it is registered before the export response completes)
+        int start = fullBytes.length / 2;
+        byte[] rest = given()
+            .when()
+                .header("Range", "bytes=" + start + "-")
+                .header("If-Range", etag)
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes " + start + "-" + (fullBytes.length - 1) + "/" + fullBytes.length)
+                .header("ETag", etag)
+                .extract().asByteArray();
+        Assertions.assertArrayEquals(Arrays.copyOfRange(fullBytes, start, fullBytes.length), rest);
+
+        // A range past the end of the export
+        given()
+            .when()
+                .header("Range", "bytes=" + fullBytes.length + "-")
+                .header("If-Range", etag)
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(416);
+
+        // A range for another export produces a full, new export
+        String otherEtag = given()
+            .when()
+                .header("Range", "bytes=" + start + "-")
+                .header("If-Range", "\"some-other-export\"")
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        Assertions.assertNotEquals(etag, otherEtag);
+
+        // So does a range without If-Range
+        given()
+            .when()
+                .header("Range", "bytes=" + start + "-")
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(200);
+    }
+
+    private static int countVersions(byte[] export, String groupId) throws Exception {
+        int count = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(export))) {
+            ZipEntry entry = zip.getNextEntry();
+            while (entry != null) {
+                if (entry.getName().contains(groupId) && entry.getName().endsWith(".ArtifactVersion.json")) {
+                    count++;
+                }
+                entry = zip.getNextEntry();
+            }
+        }
+        return count;
+    }
+
+}
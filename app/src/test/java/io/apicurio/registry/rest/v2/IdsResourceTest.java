@@ -18,16 +18,27 @@
 package io.apicurio.registry.rest.v2;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.apicurio.registry.AbstractResourceTestBase;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResult;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.utils.tests.TestUtils;
 import io.quarkus.test.junit.QuarkusTest;
@@ -296,4 +307,137 @@ public class IdsResourceTest extends AbstractResourceTestBase {
                 .statusCode(404);
     }
 
+    @Test
+    public void testConditionalGetByContentHash() throws Exception {
+        String title = "Test Conditional Get By Content Hash API";
+        String artifactContent = resourceToString("openapi-empty.json").replaceAll("Empty API", title);
+        String contentHash = DigestUtils.sha256Hex(artifactContent);
+        String artifactId = "testConditionalGetByContentHash/Empty";
+
+        long globalId = this.createArtifact(GROUP, artifactId, ArtifactType.OPENAPI, artifactContent);
+
+        // The content hash is the (strong) ETag, and the content of a given hash never changes.
+        given()
+            .when()
+                .pathParam("contentHash", contentHash)
+                .get("/registry/v2/ids/contentHashes/{contentHash}")
+            .then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"" + contentHash + "\""))
+                .header("Cache-Control", containsString("immutable"))
+                .body("info.title", equalTo(title));
+
+        // The IDs can be reused, so the content fetched by ID must be revalidated.
+        given()
+            .when()
+                .pathParam("globalId", globalId)
+                .get("/registry/v2/ids/globalIds/{globalId}")
+            .then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"" + contentHash + "\""))
+                .header("Cache-Control", equalTo("no-cache"))
+                .body("info.title", equalTo(title));
+
+        // Revalidating returns a 304 without the content.
+        given()
+            .when()
+                .pathParam("contentHash", contentHash)
+                .header("If-None-Match", "\"" + contentHash + "\"")
+                .get("/registry/v2/ids/contentHashes/{contentHash}")
+            .then()
+                .statusCode(304);
+
+        // A different ETag returns the content.
+        given()
+            .when()
+                .pathParam("contentHash", contentHash)
+                .header("If-None-Match", "\"not-the-content-hash\"")
+                .get("/registry/v2/ids/contentHashes/{contentHash}")
+            .then()
+                .statusCode(200)
+                .body("info.title", equalTo(title));
+    }
+
+    @Test
+    public void testLookupContent() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json");
+        String artifactId = "testLookupContent/Empty";
+
+        long globalId1 = createArtifact(GROUP, artifactId, ArtifactType.OPENAPI, artifactContent);
+        long globalId2 = createArtifactVersion(GROUP, artifactId, ArtifactType.OPENAPI, artifactContent.replaceAll("Empty API", "Lookup API"));
+        long globalId3 = createArtifactVersion(GROUP, artifactId, ArtifactType.OPENAPI, artifactContent.replaceAll("Empty API", "Disabled API"));
+        long contentId3 = clientV2.getArtifactMetaData(GROUP, artifactId).getContentId();
+
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .pathParam("version", "3")
+                .body("{\"state\":\"DISABLED\"}")
+                .put("/registry/v2/groups/{groupId}/artifacts/{artifactId}/versions/{version}/state")
+            .then()
+                .statusCode(204);
+
+        // Duplicate IDs are looked up once, and disabled versions are left out (but not their content)
+        ContentLookup lookup = new ContentLookup();
+        lookup.setGlobalIds(Arrays.asList(globalId1, globalId2, globalId1, globalId3));
+        lookup.setContentIds(Arrays.asList(contentId3, contentId3));
+        List<ContentLookupResult> results = lookupContent(lookup);
+        Assertions.assertEquals(3, results.size());
+        Map<Long, ContentLookupResult> byGlobalId = results.stream()
+                .filter(result -> result.getGlobalId() != null)
+                .collect(Collectors.toMap(ContentLookupResult::getGlobalId, result -> result));
+        Assertions.assertEquals(Set.of(globalId1, globalId2), byGlobalId.keySet());
+        ContentLookupResult result2 = byGlobalId.get(globalId2);
+        Assertions.assertEquals(GROUP, result2.getGroupId());
+        Assertions.assertEquals(artifactId, result2.getArtifactId());
+        Assertions.assertEquals("2", result2.getVersion());
+        Assertions.assertEquals(ArtifactType.OPENAPI, result2.getType());
+        Assertions.assertTrue(result2.getContent().contains("Lookup API"));
+        ContentLookupResult byContentId = results.stream().filter(result -> result.getGlobalId() == null).findFirst().get();
+        Assertions.assertEquals(contentId3, byContentId.getContentId());
+        Assertions.assertTrue(byContentId.getContent().contains("Disabled API"));
+
+        // More IDs than fit in a single IN list (500) are looked up in chunks
+        List<Long> globalIds = LongStream.range(0, 600).map(idx -> Long.MAX_VALUE - idx).boxed().collect(Collectors.toList());
+        globalIds.add(globalId1);
+        globalIds.add(globalId2);
+        List<Long> contentIds = LongStream.range(0, 300).map(idx -> Long.MAX_VALUE - idx).boxed().collect(Collectors.toList());
+        contentIds.add(contentId3);
+        lookup = new ContentLookup();
+        lookup.setGlobalIds(globalIds);
+        lookup.setContentIds(contentIds);
+        results = lookupContent(lookup);
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(Set.of(globalId1, globalId2), results.stream()
+                .map(ContentLookupResult::getGlobalId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet()));
+
+        // Too many IDs
+        lookup = new ContentLookup();
+        lookup.setGlobalIds(LongStream.range(0, 1001).boxed().collect(Collectors.toList()));
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .body(lookup)
+                .post("/registry/v2/ids/lookup")
+            .then()
+                .statusCode(400);
+    }
+
+    private List<ContentLookupResult> lookupContent(ContentLookup lookup) {
+        return given()
+            .when()
+                .contentType(CT_JSON)
+                .body(lookup)
+                .post("/registry/v2/ids/lookup")
+            .then()
+                .statusCode(200)
+            .extract()
+                .as(ContentLookupResults.class)
+                .getResults();
+    }
+
 }
@@ -19,6 +19,8 @@ package io.apicurio.registry.rest.v2;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -68,6 +70,102 @@ public class SearchResourceTest extends AbstractResourceTestBase {
                 ;
     }
 
+    @Test
+    public void testSearchWithCursor() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json");
+        String group = UUID.randomUUID().toString();
+
+        // Create 5 artifacts in the UUID group
+        for (int idx = 0; idx < 5; idx++) {
+            String artifactId = "Empty-" + idx;
+            this.createArtifact(group, artifactId, ArtifactType.OPENAPI, artifactContent);
+            waitForArtifact(group, artifactId);
+        }
+
+        // First page (with the total count)
+        String next = given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("cursor", "")
+                .queryParam("count", true)
+                .queryParam("limit", 2)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("count", equalTo(5))
+                .body("artifacts.size()", equalTo(2))
+                .body("artifacts[0].id", equalTo("Empty-0"))
+                .body("artifacts[1].id", equalTo("Empty-1"))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        // Second page (without the count)
+        next = given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("cursor", next)
+                .queryParam("limit", 2)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("count", equalTo(-1))
+                .body("artifacts.size()", equalTo(2))
+                .body("artifacts[0].id", equalTo("Empty-2"))
+                .body("artifacts[1].id", equalTo("Empty-3"))
+                .extract().path("next");
+
+        // Last page
+        given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("cursor", next)
+                .queryParam("limit", 2)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("artifacts.size()", equalTo(1))
+                .body("artifacts[0].id", equalTo("Empty-4"))
+                .body("next", nullValue());
+
+        // Invalid cursor
+        given()
+            .when()
+                .queryParam("cursor", "not-a-cursor")
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(400);
+
+        // A zero limit returns no artifacts (and no next page)
+        given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("cursor", "")
+                .queryParam("count", true)
+                .queryParam("limit", 0)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("count", equalTo(5))
+                .body("artifacts.size()", equalTo(0))
+                .body("next", nullValue());
+
+        // Cursor paging has a fixed order
+        given()
+            .when()
+                .queryParam("cursor", "")
+                .queryParam("orderby", "createdOn")
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(400);
+        given()
+            .when()
+                .queryParam("cursor", "")
+                .queryParam("order", "desc")
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(400);
+    }
+
     @Test
     public void testSearchByName() throws Exception {
         String group = UUID.randomUUID().toString();
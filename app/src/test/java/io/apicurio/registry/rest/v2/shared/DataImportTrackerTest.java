@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rest.v2.shared;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.mt.TenantContextImpl;
+import io.apicurio.registry.rest.v2.beans.ImportStatus;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+
+public class DataImportTrackerTest {
+
+    @Test
+    public void testTrack() throws Exception {
+        DataImportTracker tracker = new DataImportTracker();
+        tracker.tenantContext = new TenantContextImpl();
+        Assertions.assertNull(tracker.getStatus());
+
+        EntityInputStream entities = tracker.track(stream(new ContentEntity(), new ContentEntity(), new ContentEntity()));
+        entities.nextEntity();
+        entities.nextEntity();
+
+        ImportStatus status = tracker.getStatus();
+        Assertions.assertEquals(DataImportTracker.STATE_RUNNING, status.getState());
+        Assertions.assertEquals(2, status.getEntities());
+        Assertions.assertNotNull(status.getStartedOn());
+        Assertions.assertNull(status.getFinishedOn());
+
+        // The end of the stream is not counted
+        entities.nextEntity();
+        Assertions.assertNull(entities.nextEntity());
+        tracker.finish(true);
+
+        status = tracker.getStatus();
+        Assertions.assertEquals(DataImportTracker.STATE_COMPLETED, status.getState());
+        Assertions.assertEquals(3, status.getEntities());
+        Assertions.assertNotNull(status.getFinishedOn());
+        Assertions.assertTrue(status.getEntitiesPerSecond() > 0);
+    }
+
+    @Test
+    public void testFailed() throws Exception {
+        DataImportTracker tracker = new DataImportTracker();
+        tracker.tenantContext = new TenantContextImpl();
+
+        // Finishing when nothing was tracked is a no-op
+        tracker.finish(false);
+        Assertions.assertNull(tracker.getStatus());
+
+        tracker.track(stream()).nextEntity();
+        tracker.finish(false);
+        Assertions.assertEquals(DataImportTracker.STATE_FAILED, tracker.getStatus().getState());
+        Assertions.assertEquals(0, tracker.getStatus().getEntities());
+
+        // A new import replaces the status of the previous one
+        tracker.track(stream(new ContentEntity()));
+        Assertions.assertEquals(DataImportTracker.STATE_RUNNING, tracker.getStatus().getState());
+    }
+
+    private static EntityInputStream stream(Entity ... entities) {
+        Deque<Entity> queue = new ArrayDeque<>(Arrays.asList(entities));
+        return new EntityInputStream() {
+            @Override
+            public Entity nextEntity() throws IOException {
+                return queue.poll();
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+    }
+
+}
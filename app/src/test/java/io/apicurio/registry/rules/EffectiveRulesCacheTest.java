@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rules;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.mt.TenantContextImpl;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.types.RuleType;
+
+/**
+ * Tests the effective rules cache.
+ */
+public class EffectiveRulesCacheTest {
+
+    private static EffectiveRulesCache createCache(long checkPeriod, int maxSize) {
+        EffectiveRulesCache cache = new EffectiveRulesCache();
+        cache.tenantContext = new TenantContextImpl();
+        cache.checkPeriod = checkPeriod;
+        cache.maxSize = maxSize;
+        cache.init();
+        return cache;
+    }
+
+    private static Supplier<Map<RuleType, RuleConfigurationDto>> loader(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return Collections.singletonMap(RuleType.VALIDITY, new RuleConfigurationDto("FULL"));
+        };
+    }
+
+    @Test
+    public void testDisabled() {
+        EffectiveRulesCache cache = createCache(0, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getGlobalRules(loader(loads));
+        cache.getGlobalRules(loader(loads));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testCachedUntilInvalidated() {
+        EffectiveRulesCache cache = createCache(60000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getArtifactRules("g", "a", loader(loads));
+        cache.getArtifactRules("g", "a", loader(loads));
+        Assertions.assertEquals(1, loads.get());
+
+        cache.getArtifactRules("g", "b", loader(loads));
+        Assertions.assertEquals(2, loads.get());
+
+        cache.invalidate();
+        cache.getArtifactRules("g", "a", loader(loads));
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testBounded() {
+        EffectiveRulesCache cache = createCache(60000, 1);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getArtifactRules("g", "a", loader(loads));
+        cache.getArtifactRules("g", "b", loader(loads));
+        // "a" was evicted to make room for "b"
+        cache.getArtifactRules("g", "a", loader(loads));
+        Assertions.assertEquals(3, loads.get());
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.rules;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.content.ContentHandle;
+
+/**
+ * Tests the bounded parsed content cache.
+ */
+public class ParsedContentCacheTest {
+
+    @Test
+    public void testParsesOncePerContent() {
+        AtomicInteger parses = new AtomicInteger();
+        ParsedContentCache<String> cache = new ParsedContentCache<>("test", content -> {
+            parses.incrementAndGet();
+            return content.toUpperCase();
+        });
+
+        Assertions.assertEquals("A", cache.get(ContentHandle.create("a")));
+        Assertions.assertEquals("A", cache.get(ContentHandle.create("a")));
+        Assertions.assertEquals("B", cache.get(ContentHandle.create("b")));
+
+        Assertions.assertEquals(2, parses.get());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testBounded() {
+        ParsedContentCache<String> cache = new ParsedContentCache<>("test", content -> content);
+        cache.setMaxSize(2);
+        cache.get(ContentHandle.create("a"));
+        cache.get(ContentHandle.create("b"));
+        cache.get(ContentHandle.create("a"));
+        cache.get(ContentHandle.create("c"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+        // "b" was the least recently used entry, "a" is still cached
+        cache.get(ContentHandle.create("a"));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testFailuresNotCached() {
+        ParsedContentCache<String> cache = new ParsedContentCache<>("test", content -> {
+            throw new IllegalArgumentException(content);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.get(ContentHandle.create("a")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.get(ContentHandle.create("a")));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testKeyedByContentHash() {
+        AtomicInteger parses = new AtomicInteger();
+        ParsedContentCache<String> cache = new ParsedContentCache<>("test", content -> {
+            parses.incrementAndGet();
+            return content;
+        });
+        // The same content, whatever the handle it comes in
+        cache.get(ContentHandle.create("a"));
+        cache.get(ContentHandle.create("a".getBytes()));
+        Assertions.assertEquals(1, parses.get());
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+}
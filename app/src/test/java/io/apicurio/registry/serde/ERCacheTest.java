@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.rest.client.exception.RateLimitedClientException;
+
+public class ERCacheTest {
+
+    private ERCache<SchemaLookupResult<Object>> newCache() {
+        ERCache<SchemaLookupResult<Object>> cache = new ERCache<>();
+        cache.configureLifetime(Duration.ofMinutes(1));
+        cache.configureRetryBackoff(Duration.ofMillis(10));
+        cache.configureRetryCount(0);
+        cache.configureArtifactReferenceKeyExtractor(SchemaLookupResult::toArtifactReference);
+        cache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
+        cache.configureContentKeyExtractor(r -> null);
+        cache.configureContentIdKeyExtractor(SchemaLookupResult::getContentId);
+        cache.configureWeigher(r -> r.getRawSchema() == null ? 0 : r.getRawSchema().length);
+        return cache;
+    }
+
+    private SchemaLookupResult<Object> result(long globalId, int size) {
+        return SchemaLookupResult.builder()
+                .globalId(globalId)
+                .contentId(globalId)
+                .artifactId("artifact-" + globalId)
+                .rawSchema(new byte[size])
+                .build();
+    }
+
+    @Test
+    void testMaxEntries() {
+        ERCache<SchemaLookupResult<Object>> cache = newCache();
+        cache.configureMaxEntries(2);
+        cache.checkInitialized();
+
+        cache.getByGlobalId(1L, id -> result(id, 10));
+        cache.getByGlobalId(2L, id -> result(id, 10));
+        // Make 1 the most recently used
+        cache.getByGlobalId(1L, id -> Assertions.fail("Should be cached"));
+        cache.getByGlobalId(3L, id -> result(id, 10));
+
+        Assertions.assertEquals(2, cache.getStats().getSize());
+        Assertions.assertEquals(1, cache.getStats().getEvictionCount());
+        cache.getByGlobalId(1L, id -> Assertions.fail("Should be cached"));
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.getByGlobalId(2L, id -> {
+            loads.incrementAndGet();
+            return result(id, 10);
+        });
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testMaxBytes() {
+        ERCache<SchemaLookupResult<Object>> cache = newCache();
+        cache.configureMaxBytes(250);
+        cache.checkInitialized();
+
+        for (long i = 0; i < 10; i++) {
+            cache.getByGlobalId(i, id -> result(id, 100));
+        }
+
+        ERCache.Stats stats = cache.getStats();
+        Assertions.assertEquals(2, stats.getSize());
+        Assertions.assertEquals(200, stats.getWeight());
+        Assertions.assertEquals(8, stats.getEvictionCount());
+        Assertions.assertEquals(10, stats.getMissCount());
+    }
+
+    @Test
+    void testSingleFlightLoading() throws Exception {
+        ERCache<SchemaLookupResult<Object>> cache = newCache();
+        cache.checkInitialized();
+
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SchemaLookupResult<Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getByGlobalId(42L, id -> {
+                        loads.incrementAndGet();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return result(id, 10);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<SchemaLookupResult<Object>> future : futures) {
+                Assertions.assertEquals(42L, future.get(10, TimeUnit.SECONDS).getGlobalId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.getStats().getLoadSuccessCount());
+    }
+
+    @Test
+    void testRefreshAhead() throws Exception {
+        ERCache<SchemaLookupResult<Object>> cache = newCache();
+        cache.configureLifetime(Duration.ofMillis(50));
+        cache.configureRefreshAhead(true);
+        cache.configureMaxStaleness(Duration.ofMinutes(1));
+        cache.checkInitialized();
+
+        cache.getByGlobalId(1L, id -> result(id, 10));
+        Thread.sleep(100);
+
+        // The expired value is served while the refresh fails in the background
+        CountDownLatch failed = new CountDownLatch(1);
+        SchemaLookupResult<Object> stale = cache.getByGlobalId(1L, id -> {
+            failed.countDown();
+            throw new IllegalStateException("Registry unavailable");
+        });
+        Assertions.assertEquals(10, stale.getRawSchema().length);
+        Assertions.assertTrue(failed.await(10, TimeUnit.SECONDS));
+
+        // The failed refresh kept the old value, a later one replaces it
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.getStats().getLoadSuccessCount() < 2 && System.currentTimeMillis() < deadline) {
+            SchemaLookupResult<Object> value = cache.getByGlobalId(1L, id -> result(id, 20));
+            if (value.getRawSchema().length == 10) {
+                Thread.sleep(10);
+            }
+        }
+        Assertions.assertEquals(20, cache.getByGlobalId(1L, id -> result(id, 30)).getRawSchema().length);
+        Assertions.assertEquals(1, cache.getStats().getLoadFailureCount());
+    }
+
+    @Test
+    void testRetryThrottled() {
+        ERCache<SchemaLookupResult<Object>> cache = newCache();
+        cache.configureRetryCount(2);
+        cache.checkInitialized();
+
+        AtomicInteger calls = new AtomicInteger();
+        SchemaLookupResult<Object> value = cache.getByGlobalId(1L, id -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new RateLimitedClientException("Too many requests");
+            }
+            return result(id, 10);
+        });
+        Assertions.assertEquals(1L, value.getGlobalId());
+        Assertions.assertEquals(3, calls.get());
+
+        // Not throttled, not retried
+        calls.set(0);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.getByGlobalId(2L, id -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Not found");
+        }));
+        Assertions.assertEquals(1, calls.get());
+
+        ERCache.Stats stats = cache.getStats();
+        Assertions.assertEquals(1, stats.getLoadSuccessCount());
+        Assertions.assertEquals(1, stats.getLoadFailureCount());
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.serde;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.serde.avro.AvroSchemaParser;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.utils.tests.TestUtils;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Tests the prefetch of the versions of the explicitly configured artifact.
+ */
+@QuarkusTest
+public class SchemaResolverPrefetchTest extends AbstractResourceTestBase {
+
+    private static final String SCHEMA = "{\"type\":\"record\",\"name\":\"prefetched\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"}]}";
+    private static final String SCHEMA_V2 = "{\"type\":\"record\",\"name\":\"prefetched\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"},{\"name\":\"foo\",\"type\":\"string\",\"default\":\"\"}]}";
+
+    @Test
+    public void testPrefetch() throws Exception {
+        String groupId = TestUtils.generateGroupId();
+        String artifactId = generateArtifactId();
+        long globalId1 = createArtifact(groupId, artifactId, ArtifactType.AVRO, SCHEMA);
+        long globalId2 = createArtifactVersion(groupId, artifactId, ArtifactType.AVRO, SCHEMA_V2);
+
+        DefaultSchemaResolver<Schema, GenericRecord> resolver = new DefaultSchemaResolver<>();
+        resolver.configure(config(groupId, artifactId), false, new AvroSchemaParser());
+
+        for (long globalId : Arrays.asList(globalId1, globalId2)) {
+            SchemaLookupResult<Schema> result = resolver.schemaCache.getByGlobalId(globalId, id -> {
+                throw new AssertionError("Version " + id + " was not prefetched");
+            });
+            Assertions.assertEquals(groupId, result.getGroupId());
+            Assertions.assertEquals(artifactId, result.getArtifactId());
+            Assertions.assertEquals("prefetched", result.getSchema().getName());
+        }
+        SchemaLookupResult<Schema> v2 = resolver.schemaCache.getByGlobalId(globalId2, id -> null);
+        Assertions.assertEquals("2", v2.getVersion());
+        Assertions.assertEquals(2, v2.getSchema().getFields().size());
+        // The prefetched entries are indexed by all their keys
+        Assertions.assertSame(v2, resolver.schemaCache.getByContentId(v2.getContentId(), id -> null));
+    }
+
+    @Test
+    public void testPrefetchIsBestEffort() throws Exception {
+        DefaultSchemaResolver<Schema, GenericRecord> resolver = new DefaultSchemaResolver<>();
+        // The artifact does not exist, the failure is only logged
+        resolver.configure(config(TestUtils.generateGroupId(), generateArtifactId()), false, new AvroSchemaParser());
+        Assertions.assertEquals(0, resolver.schemaCache.getStats().getSize());
+    }
+
+    private Map<String, Object> config(String groupId, String artifactId) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.REGISTRY_URL, TestUtils.getRegistryV2ApiUrl());
+        config.put(SerdeConfig.EXPLICIT_ARTIFACT_GROUP_ID, groupId);
+        config.put(SerdeConfig.EXPLICIT_ARTIFACT_ID, artifactId);
+        config.put(SerdeConfig.PREFETCH_ARTIFACT_VERSIONS, true);
+        return config;
+    }
+
+}
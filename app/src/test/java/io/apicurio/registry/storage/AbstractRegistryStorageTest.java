@@ -25,6 +25,7 @@ import io.apicurio.registry.mt.RegistryTenantContext;
 import io.apicurio.registry.mt.TenantContext;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.OrderBy;
@@ -32,6 +33,7 @@ import io.apicurio.registry.storage.dto.OrderDirection;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.SearchFilterType;
+import io.apicurio.registry.storage.dto.SearchedArtifactDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
 import io.apicurio.registry.types.ArtifactState;
@@ -47,13 +49,16 @@ import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -543,6 +548,47 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertEquals(ArtifactState.DEPRECATED, v2.getState());
     }
 
+    @Test
+    public void testGetArtifactVersionContent() throws Exception {
+        String artifactId = "testGetArtifactVersionContent-1";
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        ArtifactMetaDataDto dtov2 = storage().updateArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT_V2));
+
+        ArtifactVersionContentDto latest = storage().getLatestArtifactContent(GROUP_ID, artifactId);
+        Assertions.assertEquals(dtov2.getGlobalId(), latest.getMetaData().getGlobalId());
+        Assertions.assertEquals(dtov2.getContentId(), latest.getMetaData().getContentId());
+        Assertions.assertEquals("2", latest.getMetaData().getVersion());
+        Assertions.assertEquals(ArtifactType.OPENAPI, latest.getMetaData().getType());
+        Assertions.assertEquals(OPENAPI_CONTENT_V2, latest.getContent().content());
+
+        ArtifactVersionContentDto v1 = storage().getArtifactVersionContent(dto.getGlobalId());
+        Assertions.assertEquals(artifactId, v1.getMetaData().getId());
+        Assertions.assertEquals("1", v1.getMetaData().getVersion());
+        Assertions.assertEquals(ArtifactState.ENABLED, v1.getMetaData().getState());
+        Assertions.assertEquals(OPENAPI_CONTENT, v1.getContent().content());
+
+        // Load the (cached) content of the versions
+        Assertions.assertEquals(OPENAPI_CONTENT, storage().getArtifactVersion(dto.getGlobalId()).getContent().content());
+        Assertions.assertEquals(OPENAPI_CONTENT_V2, storage().getArtifactVersion(dtov2.getGlobalId()).getContent().content());
+        Assertions.assertEquals(OPENAPI_CONTENT_V2, storage().getArtifactByContentId(dtov2.getContentId()).content());
+
+        // The combined reads are not cached, they always see the current state
+        storage().updateArtifactState(GROUP_ID, artifactId, "1", ArtifactState.DEPRECATED);
+        Assertions.assertEquals(ArtifactState.DEPRECATED, storage().getArtifactVersionContent(dto.getGlobalId()).getMetaData().getState());
+
+        // Deleting a version invalidates the cached content
+        storage().deleteArtifactVersion(GROUP_ID, artifactId, "2");
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionContent(dtov2.getGlobalId()));
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersion(dtov2.getGlobalId()));
+        latest = storage().getLatestArtifactContent(GROUP_ID, artifactId);
+        Assertions.assertEquals(dto.getGlobalId(), latest.getMetaData().getGlobalId());
+        Assertions.assertEquals(OPENAPI_CONTENT, latest.getContent().content());
+
+        storage().deleteArtifact(GROUP_ID, artifactId);
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getLatestArtifactContent(GROUP_ID, artifactId));
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersion(dto.getGlobalId()));
+    }
+
     @Test
     public void testUpdateArtifactVersionMetaData() throws Exception {
         String artifactId = "testUpdateArtifactVersionMetaData-1";
@@ -950,6 +996,50 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         System.out.println("Search time: " + (end - start) + "ms");
     }
 
+    @Test
+    public void testSearchArtifactsEverything() throws Exception {
+        String groupId = "testSearchArtifactsEverything-group";
+        ContentHandle content = ContentHandle.create(OPENAPI_CONTENT);
+        storage().createArtifactWithMetadata(groupId, "byGroup", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto(null, null, null, null));
+        storage().createArtifactWithMetadata(GROUP_ID, "testSearchArtifactsEverything-id", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto(null, null, null, null));
+        storage().createArtifactWithMetadata(GROUP_ID, "byName", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto("testSearchArtifactsEverything-name", null, null, null));
+        storage().createArtifactWithMetadata(GROUP_ID, "byDescription", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto(null, "testSearchArtifactsEverything-description", null, null));
+        storage().createArtifactWithMetadata(GROUP_ID, "byLabel", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto(null, null, Collections.singletonList("testsearchartifactseverything"), null));
+        storage().createArtifactWithMetadata(GROUP_ID, "byProperty", null, ArtifactType.OPENAPI, content,
+                new EditableArtifactMetaDataDto(null, null, null, Collections.singletonMap("testsearchartifactseverything", "value")));
+
+        // Every branch of the filter matches one artifact: name, group, artifactId and description contain
+        // the value, the label and the property key are equal to it (labels and keys are lowercased).
+        Set<SearchFilter> filters = Collections.singleton(new SearchFilter(SearchFilterType.everything, "testSearchArtifactsEverything"));
+        ArtifactSearchResultsDto results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 100);
+        Assertions.assertEquals(6, results.getCount());
+        Set<String> ids = results.getArtifacts().stream().map(SearchedArtifactDto::getId).collect(Collectors.toSet());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("byGroup", "testSearchArtifactsEverything-id", "byName", "byDescription",
+                "byLabel", "byProperty")), ids);
+
+        filters = Collections.singleton(new SearchFilter(SearchFilterType.everything, "testsearchartifactseverything"));
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 100);
+        ids = results.getArtifacts().stream().map(SearchedArtifactDto::getId).collect(Collectors.toSet());
+        Assertions.assertTrue(ids.contains("byLabel"));
+        Assertions.assertTrue(ids.contains("byProperty"));
+
+        // Combined with another filter, and paged
+        Set<SearchFilter> combined = new HashSet<>();
+        combined.add(new SearchFilter(SearchFilterType.everything, "testSearchArtifactsEverything"));
+        combined.add(new SearchFilter(SearchFilterType.group, groupId));
+        results = storage().searchArtifacts(combined, OrderBy.name, OrderDirection.asc, 0, 100);
+        Assertions.assertEquals(1, results.getCount());
+        Assertions.assertEquals("byGroup", results.getArtifacts().get(0).getId());
+
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 1);
+        Assertions.assertEquals(1, results.getArtifacts().size());
+    }
+
     @Test
     public void testSearchVersions() throws Exception {
         String artifactId = "testSearchVersions-1";
@@ -1168,6 +1258,14 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertNotNull(searchResults);
         Assertions.assertEquals(10, searchResults.getCount());
         Assertions.assertEquals(10, searchResults.getArtifacts().size());
+
+        // The "everything" filter is tenant scoped too
+        filters = Collections.singleton(new SearchFilter(SearchFilterType.everything, "testMultiTenant_Search"));
+        searchResults = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 100);
+        Assertions.assertEquals(10, searchResults.getCount());
+        tenantCtx.setContext(tenantId2);
+        searchResults = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, 0, 100);
+        Assertions.assertEquals(0, searchResults.getCount());
     }
 
     @Test
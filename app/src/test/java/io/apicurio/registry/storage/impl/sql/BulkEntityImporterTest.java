@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.multitenant.api.datamodel.TenantStatusValue;
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.mt.RegistryTenantContext;
+import io.apicurio.registry.mt.TenantContext;
+import io.apicurio.registry.storage.ArtifactNotFoundException;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.types.ArtifactState;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.Current;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Tests the batched import, in particular that a failing batch does not fail the whole import.
+ */
+@QuarkusTest
+public class BulkEntityImporterTest extends AbstractResourceTestBase {
+
+    private static final String GROUP_ID = "BulkEntityImporterTest";
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @AfterEach
+    public void resetTenant() {
+        tenantContext.clearContext();
+    }
+
+    @Test
+    public void testFailedBatchIsReplayed() throws Exception {
+        // A tenant of its own, so the ids don't clash with (nor move the sequences of) the other tests
+        tenantContext.setContext(new RegistryTenantContext(UUID.randomUUID().toString(), null, null, TenantStatusValue.READY, null));
+
+        ContentEntity content = new ContentEntity();
+        content.contentId = 1;
+        content.contentHash = "content-hash-1";
+        content.canonicalHash = "canonical-hash-1";
+        content.contentBytes = "{\"type\":\"string\"}".getBytes(StandardCharsets.UTF_8);
+
+        // The version referencing missing content violates a foreign key, which fails the whole batch
+        importData(content,
+                version(1, "good", "1", 1, 1),
+                version(2, "bad", "1", 1, 99),
+                version(3, "good", "2", 2, 1));
+
+        Assertions.assertEquals("{\"type\":\"string\"}", storage.getArtifactVersion(1).getContent().content());
+        Assertions.assertEquals("{\"type\":\"string\"}", storage.getArtifactVersion(3).getContent().content());
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage.getArtifactVersion(2));
+        Assertions.assertEquals(3, storage.getArtifactMetaData(GROUP_ID, "good").getGlobalId());
+
+        // Importing the same data again skips all of it
+        importData(content, version(1, "good", "1", 1, 1), version(3, "good", "2", 2, 1));
+        Assertions.assertEquals(2, storage.getArtifactVersions(GROUP_ID, "good").size());
+    }
+
+    private void importData(Entity ... entities) {
+        Iterator<Entity> iterator = Arrays.asList(entities).iterator();
+        storage.importData(new EntityInputStream() {
+            @Override
+            public Entity nextEntity() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    private static ArtifactVersionEntity version(long globalId, String artifactId, String version, int versionId, long contentId) {
+        ArtifactVersionEntity entity = new ArtifactVersionEntity();
+        entity.globalId = globalId;
+        entity.groupId = GROUP_ID;
+        entity.artifactId = artifactId;
+        entity.version = version;
+        entity.versionId = versionId;
+        entity.artifactType = ArtifactType.JSON;
+        entity.state = ArtifactState.ENABLED;
+        entity.createdBy = "test";
+        entity.createdOn = System.currentTimeMillis();
+        entity.isLatest = true;
+        entity.contentId = contentId;
+        return entity;
+    }
+
+}
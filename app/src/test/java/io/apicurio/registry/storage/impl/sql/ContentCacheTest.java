@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ContentCacheTest {
+
+    @Test
+    public void testCached() {
+        ContentCache cache = new ContentCache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertEquals("c1", cache.getByContentId("t1", 1, () -> "c" + loads.incrementAndGet()));
+        Assertions.assertEquals("c1", cache.getByContentId("t1", 1, () -> "c" + loads.incrementAndGet()));
+        Assertions.assertEquals(1, loads.get());
+
+        // The tenant and the type of ID are part of the key
+        Assertions.assertEquals("other", cache.getByContentId("t2", 1, () -> "other"));
+        Assertions.assertEquals("global", cache.getByGlobalId("t1", 1, () -> "global"));
+        Assertions.assertEquals("hash", cache.getByContentHash("t1", "1", () -> "hash"));
+        Assertions.assertEquals("c1", cache.getByContentId("t1", 1, () -> "reloaded"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        ContentCache cache = new ContentCache(10, 0);
+        cache.getByContentId("t1", 1, () -> "t1");
+        cache.getByContentId("t2", 1, () -> "t2");
+
+        cache.invalidate("t1");
+        Assertions.assertEquals("t1-reloaded", cache.getByContentId("t1", 1, () -> "t1-reloaded"));
+        Assertions.assertEquals("t2", cache.getByContentId("t2", 1, () -> "t2-reloaded"));
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        ContentCache cache = new ContentCache(10, 0);
+        cache.getByContentId("t1", 1, () -> "t1");
+        cache.getByContentHash("t2", "h", () -> "t2");
+
+        cache.invalidateAll();
+        Assertions.assertEquals("t1-reloaded", cache.getByContentId("t1", 1, () -> "t1-reloaded"));
+        Assertions.assertEquals("t2-reloaded", cache.getByContentHash("t2", "h", () -> "t2-reloaded"));
+
+        // The reloaded entries are cached again
+        Assertions.assertEquals("t1-reloaded", cache.getByContentId("t1", 1, () -> "t1-again"));
+    }
+
+    @Test
+    public void testBounded() {
+        ContentCache cache = new ContentCache(2, 0);
+        cache.getByGlobalId("t1", 1, () -> "a");
+        cache.getByGlobalId("t1", 2, () -> "b");
+        cache.getByGlobalId("t1", 1, () -> "a-reloaded");
+        // Evicts the least recently used entry (2)
+        cache.getByGlobalId("t1", 3, () -> "c");
+
+        Assertions.assertEquals("a", cache.getByGlobalId("t1", 1, () -> "a-reloaded"));
+        Assertions.assertEquals("b-reloaded", cache.getByGlobalId("t1", 2, () -> "b-reloaded"));
+    }
+
+    @Test
+    public void testExpired() throws Exception {
+        ContentCache cache = new ContentCache(10, 1);
+        cache.getByContentId("t1", 1, () -> "a");
+        Thread.sleep(10);
+        Assertions.assertEquals("a-reloaded", cache.getByContentId("t1", 1, () -> "a-reloaded"));
+    }
+
+    @Test
+    public void testDisabled() {
+        ContentCache cache = new ContentCache(0, 0);
+        cache.getByContentId("t1", 1, () -> "a");
+        Assertions.assertEquals("a-reloaded", cache.getByContentId("t1", 1, () -> "a-reloaded"));
+    }
+
+    @Test
+    public void testLoaderFailure() {
+        ContentCache cache = new ContentCache(10, 0);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.getByContentId("t1", 1, () -> {
+            throw new IllegalStateException("not found");
+        }));
+        Assertions.assertEquals("a", cache.getByContentId("t1", 1, () -> "a"));
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.mt.TenantContext;
+import io.apicurio.registry.storage.RegistryStorageException;
+import io.apicurio.registry.storage.impl.sql.mappers.ArtifactVersionEntityMapper;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Tests the background reading of the export queries.
+ */
+@QuarkusTest
+public class ExportPrefetcherTest extends AbstractResourceTestBase {
+
+    private static final String GROUP_ID = "ExportPrefetcherTest";
+    private static final String ARTIFACT_CONTENT = "{\"type\":\"string\"}";
+
+    @Inject
+    HandleFactory handles;
+
+    @Inject
+    SqlStatements sqlStatements;
+
+    @Test
+    public void testDrainsEveryEntity() throws Exception {
+        for (int idx = 0; idx < 5; idx++) {
+            createArtifact(GROUP_ID, "Empty-" + idx, ArtifactType.JSON, ARTIFACT_CONTENT);
+        }
+
+        List<ArtifactVersionEntity> expected = handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.exportArtifactVersions())
+                    .bind(0, TenantContext.DEFAULT_TENANT_ID)
+                    .map(ArtifactVersionEntityMapper.instance)
+                    .list();
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // A queue of a single entity, so the query has to wait for the entities to be drained
+            ExportPrefetcher<ArtifactVersionEntity> prefetcher = new ExportPrefetcher<>(executor, handles,
+                    sqlStatements.exportArtifactVersions(), TenantContext.DEFAULT_TENANT_ID, 2, 1, ArtifactVersionEntityMapper.instance);
+            List<Entity> drained = new ArrayList<>();
+            prefetcher.drainTo(entity -> {
+                drained.add(entity);
+                return null;
+            });
+
+            Assertions.assertEquals(expected.size(), drained.size());
+            Set<Long> expectedIds = expected.stream().map(e -> e.globalId).collect(Collectors.toSet());
+            Set<Long> drainedIds = drained.stream().map(e -> ((ArtifactVersionEntity) e).globalId).collect(Collectors.toSet());
+            Assertions.assertEquals(expectedIds, drainedIds);
+            Assertions.assertEquals(5, drained.stream().filter(e -> GROUP_ID.equals(((ArtifactVersionEntity) e).groupId)).count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testQueryFailure() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ExportPrefetcher<ArtifactVersionEntity> prefetcher = new ExportPrefetcher<>(executor, handles,
+                    "SELECT * FROM no_such_table WHERE tenantId = ?", TenantContext.DEFAULT_TENANT_ID, 2, 1,
+                    ArtifactVersionEntityMapper.instance);
+            Assertions.assertThrows(RegistryStorageException.class, () -> prefetcher.drainTo(entity -> null));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        for (int idx = 0; idx < 3; idx++) {
+            createArtifact(GROUP_ID + "-cancel", "Empty-" + idx, ArtifactType.JSON, ARTIFACT_CONTENT);
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Nothing drains the queue, so the query blocks until it is cancelled
+        ExportPrefetcher<ArtifactVersionEntity> prefetcher = new ExportPrefetcher<>(executor, handles,
+                sqlStatements.exportArtifactVersions(), TenantContext.DEFAULT_TENANT_ID, 2, 1, ArtifactVersionEntityMapper.instance);
+        prefetcher.cancel();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.utils.BoundedCache;
+
+/**
+ * Tests the shared bounded (LRU) cache.
+ */
+public class BoundedCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        // "a" becomes the most recently used entry
+        Assertions.assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+        Assertions.assertEquals("A", cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void testResize() {
+        BoundedCache<String, String> cache = new BoundedCache<>(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.setMaxSize(1);
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals("C", cache.get("c"));
+
+        cache.setMaxSize(0);
+        cache.put("d", "D");
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        Assertions.assertEquals("A", cache.computeIfAbsent("a", String::toUpperCase));
+        Assertions.assertEquals("A", cache.computeIfAbsent("a", key -> "other"));
+        Assertions.assertNull(cache.computeIfAbsent("b", key -> null));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+}
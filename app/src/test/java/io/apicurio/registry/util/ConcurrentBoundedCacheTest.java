@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.utils.ConcurrentBoundedCache;
+
+/**
+ * Tests the shared lock-free bounded cache.
+ */
+public class ConcurrentBoundedCacheTest {
+
+    @Test
+    public void testEvictsUnreferencedFirst() {
+        ConcurrentBoundedCache<String, String> cache = new ConcurrentBoundedCache<>(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        // The first eviction pass gives every entry its second chance and evicts one of them
+        cache.put("d", "D");
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+
+        // Read one of the remaining entries, it gets a second chance while one of the others is evicted
+        String read = null;
+        for (String key : new String[] { "a", "b", "c", "d" }) {
+            if (cache.get(key) != null) {
+                read = key;
+                break;
+            }
+        }
+        Assertions.assertNotNull(read);
+        cache.put("e", "E");
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertEquals(2, cache.getEvictions());
+        Assertions.assertEquals(read.toUpperCase(), cache.get(read));
+        Assertions.assertEquals("E", cache.get("e"));
+    }
+
+    @Test
+    public void testBounded() {
+        ConcurrentBoundedCache<Integer, Integer> cache = new ConcurrentBoundedCache<>(10);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+            cache.get(i);
+        }
+        Assertions.assertEquals(10, cache.size());
+        Assertions.assertEquals(90, cache.getEvictions());
+    }
+
+    @Test
+    public void testDisabledAndComputeIfAbsent() {
+        ConcurrentBoundedCache<String, String> disabled = new ConcurrentBoundedCache<>(0);
+        Assertions.assertEquals("A", disabled.computeIfAbsent("a", String::toUpperCase));
+        Assertions.assertEquals(0, disabled.size());
+
+        ConcurrentBoundedCache<String, String> cache = new ConcurrentBoundedCache<>(10);
+        Assertions.assertEquals("A", cache.computeIfAbsent("a", String::toUpperCase));
+        Assertions.assertEquals("A", cache.computeIfAbsent("a", key -> "other"));
+        Assertions.assertNull(cache.computeIfAbsent("b", key -> null));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.client;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
+import io.apicurio.registry.rest.v2.beans.IfExists;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.types.ArtifactType;
+
+/**
+ * Non-blocking variant of the {@link RegistryClient}, covering the operations used on hot paths (content lookups,
+ * meta-data lookups and artifact creation/update).  Every method returns immediately, the returned stage completes
+ * with the result of the request, or exceptionally with the same exceptions thrown by the {@link RegistryClient}.
+ * <p>
+ * The requests are sent over the connection pool of the underlying http client, so many lookups can be in flight
+ * at the same time without tying up the calling thread.
+ */
+public interface AsyncRegistryClient extends AutoCloseable {
+
+    CompletionStage<InputStream> getLatestArtifact(String groupId, String artifactId);
+
+    CompletionStage<InputStream> getArtifactVersion(String groupId, String artifactId, String version);
+
+    CompletionStage<InputStream> getContentById(long contentId);
+
+    CompletionStage<InputStream> getContentByGlobalId(long globalId);
+
+    CompletionStage<InputStream> getContentByHash(String contentHash, Boolean canonical);
+
+    default CompletionStage<InputStream> getContentByHash(String contentHash) {
+        return getContentByHash(contentHash, null);
+    }
+
+    CompletionStage<ContentLookupResults> lookupContent(ContentLookup lookup);
+
+    default CompletionStage<ContentLookupResults> getContentByGlobalIds(List<Long> globalIds) {
+        ContentLookup lookup = new ContentLookup();
+        lookup.setGlobalIds(globalIds);
+        return lookupContent(lookup);
+    }
+
+    CompletionStage<ArtifactMetaData> getArtifactMetaData(String groupId, String artifactId);
+
+    CompletionStage<VersionMetaData> getArtifactVersionMetaData(String groupId, String artifactId, String version);
+
+    CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, Boolean canonical, String contentType, InputStream data);
+
+    default CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, InputStream data) {
+        return getArtifactVersionMetaDataByContent(groupId, artifactId, null, null, data);
+    }
+
+    CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, InputStream data) {
+        return createArtifact(groupId, artifactId, version, artifactType, ifExists, canonical, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, InputStream data) {
+        return createArtifact(groupId, artifactId, null, null, null, null, null, null, null, data);
+    }
+
+    CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, InputStream data) {
+        return updateArtifact(groupId, artifactId, null, null, null, null, data);
+    }
+
+    CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, InputStream data) {
+        return createArtifactVersion(groupId, artifactId, version, null, null, null, data);
+    }
+
+    /**
+     * Releases the resources (threads) owned by this client.  Requests already submitted still complete, the ones
+     * submitted afterwards complete exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Override
+    void close();
+}
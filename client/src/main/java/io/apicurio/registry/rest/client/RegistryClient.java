@@ -23,6 +23,8 @@ import java.util.Map;
 
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
@@ -163,6 +165,18 @@ public interface RegistryClient {
         return getContentByHash(contentHash, null);
     };
 
+    /**
+     * Gets the content (and minimal meta-data) of many artifact versions and/or contents in a single request.
+     * IDs that do not exist (or that are disabled artifact versions) are omitted from the result.
+     */
+    ContentLookupResults lookupContent(ContentLookup lookup);
+
+    default ContentLookupResults getContentByGlobalIds(List<Long> globalIds) {
+        ContentLookup lookup = new ContentLookup();
+        lookup.setGlobalIds(globalIds);
+        return lookupContent(lookup);
+    }
+
     ArtifactSearchResults searchArtifacts(String group, String name, String description, List<String> labels,
             List<String> properties, SortBy orderBy, SortOrder order, Integer offset, Integer limit);
 
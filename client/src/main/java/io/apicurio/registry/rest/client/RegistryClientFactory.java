@@ -17,6 +17,7 @@
 package io.apicurio.registry.rest.client;
 
 import io.apicurio.registry.rest.client.config.ClientConfig;
+import io.apicurio.registry.rest.client.impl.AsyncRegistryClientImpl;
 import io.apicurio.registry.rest.client.impl.ErrorHandler;
 import io.apicurio.registry.rest.client.impl.RegistryClientImpl;
 import io.apicurio.rest.client.auth.Auth;
@@ -89,6 +90,43 @@ public class RegistryClientFactory {
         return new RegistryClientImpl(p.create(baseUrl, processedConfigs, auth, new ErrorHandler()));
     }
 
+    public static AsyncRegistryClient createAsync(RegistryClient client) {
+        return createAsync(client, ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS_DEFAULT);
+    }
+
+    public static AsyncRegistryClient createAsync(RegistryClient client, int threads) {
+        return new AsyncRegistryClientImpl(client, threads);
+    }
+
+    public static AsyncRegistryClient createAsync(String baseUrl) {
+        return createAsync(baseUrl, new HashMap<>(), null);
+    }
+
+    public static AsyncRegistryClient createAsync(String baseUrl, Map<String, Object> configs, Auth auth) {
+        int threads = asyncThreads(configs.get(ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS));
+        return createAsync(create(baseUrl, configs, auth), threads);
+    }
+
+    private static int asyncThreads(Object value) {
+        if (value == null) {
+            return ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS_DEFAULT;
+        }
+        int threads;
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            threads = ((Number) value).intValue();
+        } else {
+            try {
+                threads = Integer.parseInt(String.valueOf(value).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS + ": '" + value + "', expected a positive integer", e);
+            }
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid value for " + ClientConfig.REGISTRY_CLIENT_ASYNC_THREADS + ": '" + value + "', expected a positive integer");
+        }
+        return threads;
+    }
+
     private static Map<String, Object> processConfiguration(Map<String, Object> configs) {
         final Map<String, Object> processedConfigs = new HashMap<>();
 
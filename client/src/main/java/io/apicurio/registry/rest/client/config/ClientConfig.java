@@ -29,4 +29,6 @@ public class ClientConfig {
     public static final String REGISTRY_REQUEST_KEY_PASSWORD = "apicurio.registry.request.ssl.key.password";
     public static final String REGISTRY_CLIENT_DISABLE_AUTO_BASE_PATH_APPEND = "apicurio.registry.client.disable-auto-basepath-append";
     public static final String REGISTRY_CLIENT_AUTO_BASE_PATH = "apicurio.registry.rest.client.auto-base-path";
+    public static final String REGISTRY_CLIENT_ASYNC_THREADS = "apicurio.registry.client.async.threads";
+    public static final int REGISTRY_CLIENT_ASYNC_THREADS_DEFAULT = 16;
 }
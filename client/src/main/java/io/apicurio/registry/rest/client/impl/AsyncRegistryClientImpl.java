@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.client.impl;
+
+import io.apicurio.registry.rest.client.AsyncRegistryClient;
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
+import io.apicurio.registry.rest.v2.beans.IfExists;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.types.ArtifactType;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncRegistryClient} on top of a {@link RegistryClient}.  The http client providers only expose a blocking
+ * send, so the requests are dispatched to a bounded pool of I/O threads and share the connections of the underlying
+ * http client.  The calling thread never blocks, and the number of threads does not grow with the number of requests
+ * in flight: requests beyond the pool size are queued.
+ */
+public class AsyncRegistryClientImpl implements AsyncRegistryClient {
+
+    private final RegistryClient delegate;
+    private final ExecutorService executor;
+
+    public AsyncRegistryClientImpl(RegistryClient delegate, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive, got " + threads);
+        }
+        this.delegate = delegate;
+        this.executor = Executors.newFixedThreadPool(threads, new AsyncThreadFactory());
+    }
+
+    @Override
+    public CompletionStage<InputStream> getLatestArtifact(String groupId, String artifactId) {
+        return submit(() -> delegate.getLatestArtifact(groupId, artifactId));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getArtifactVersion(String groupId, String artifactId, String version) {
+        return submit(() -> delegate.getArtifactVersion(groupId, artifactId, version));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentById(long contentId) {
+        return submit(() -> delegate.getContentById(contentId));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentByGlobalId(long globalId) {
+        return submit(() -> delegate.getContentByGlobalId(globalId));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentByHash(String contentHash, Boolean canonical) {
+        return submit(() -> delegate.getContentByHash(contentHash, canonical));
+    }
+
+    @Override
+    public CompletionStage<ContentLookupResults> lookupContent(ContentLookup lookup) {
+        return submit(() -> delegate.lookupContent(lookup));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> getArtifactMetaData(String groupId, String artifactId) {
+        return submit(() -> delegate.getArtifactMetaData(groupId, artifactId));
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> getArtifactVersionMetaData(String groupId, String artifactId, String version) {
+        return submit(() -> delegate.getArtifactVersionMetaData(groupId, artifactId, version));
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, Boolean canonical, String contentType, InputStream data) {
+        return submit(() -> delegate.getArtifactVersionMetaDataByContent(groupId, artifactId, canonical, contentType, data));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        return submit(() -> delegate.createArtifact(groupId, artifactId, version, artifactType, ifExists, canonical, artifactName, artifactDescription, contentType, data));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        return submit(() -> delegate.updateArtifact(groupId, artifactId, version, artifactName, artifactDescription, contentType, data));
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        return submit(() -> delegate.createArtifactVersion(groupId, artifactId, version, artifactName, artifactDescription, contentType, data));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the request on the pool.  Unlike {@link CompletableFuture#supplyAsync(Supplier, java.util.concurrent.Executor)},
+     * the stage is completed with the exception thrown by the {@link RegistryClient} itself (not wrapped in a
+     * {@link java.util.concurrent.CompletionException}), and a request submitted after {@link #close()} fails the
+     * stage instead of throwing.
+     */
+    private <T> CompletionStage<T> submit(Supplier<T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(request.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger poolCounter = new AtomicInteger();
+
+        private final int pool = poolCounter.incrementAndGet();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "registry-client-async-" + pool + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
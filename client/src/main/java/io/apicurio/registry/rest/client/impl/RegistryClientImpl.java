@@ -29,6 +29,8 @@ import io.apicurio.registry.rest.client.request.provider.SearchRequestsProvider;
 import io.apicurio.registry.rest.client.request.provider.UsersRequestsProvider;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.Error;
 import io.apicurio.registry.rest.v2.beans.IfExists;
@@ -257,6 +259,15 @@ public class RegistryClientImpl implements RegistryClient {
         return apicurioHttpClient.sendRequest(IdRequestsProvider.getContentByHash(contentHash, canonical, queryParams));
     }
 
+    @Override
+    public ContentLookupResults lookupContent(ContentLookup lookup) {
+        try {
+            return apicurioHttpClient.sendRequest(IdRequestsProvider.lookupContent(lookup));
+        } catch (JsonProcessingException e) {
+            throw parseSerializationError(e);
+        }
+    }
+
     @Override
     public ArtifactSearchResults searchArtifacts(String group, String name, String
             description, List<String> labels, List<String> properties, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
@@ -16,7 +16,12 @@
 
 package io.apicurio.registry.rest.client.request.provider;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
+import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.rest.client.request.Request;
 
 import java.io.InputStream;
@@ -26,13 +31,17 @@ import java.util.Map;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_CONTENT_HASH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_CONTENT_ID;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_GLOBAL_ID;
+import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_LOOKUP;
 import static io.apicurio.rest.client.request.Operation.GET;
+import static io.apicurio.rest.client.request.Operation.POST;
 
 /**
  * @author Carles Arnal 'carnalca@redhat.com'
  */
 public class IdRequestsProvider {
 
+    private static final ObjectMapper mapper = new ObjectMapper();
+
     public static Request<InputStream> getContentByHash(String contentHash, Boolean canonical, Map<String, List<String>> queryParams) {
         return new Request.RequestBuilder<InputStream>()
                 .operation(GET)
@@ -60,4 +69,13 @@ public class IdRequestsProvider {
                 .responseType(new TypeReference<InputStream>(){})
                 .build();
     }
+
+    public static Request<ContentLookupResults> lookupContent(ContentLookup data) throws JsonProcessingException {
+        return new Request.RequestBuilder<ContentLookupResults>()
+                .operation(POST)
+                .path(IDS_LOOKUP)
+                .data(IoUtil.toStream(mapper.writeValueAsBytes(data)))
+                .responseType(new TypeReference<ContentLookupResults>(){})
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package io.apicurio.registry.rest.v2;
 
+import io.apicurio.registry.rest.v2.beans.ImportStatus;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
 import io.apicurio.registry.rest.v2.beans.NamedLogConfiguration;
 import io.apicurio.registry.rest.v2.beans.RoleMapping;
@@ -162,6 +163,20 @@ public interface AdminResource {
   @Consumes("application/zip")
   void importData(InputStream data);
 
+  /**
+   * Gets the progress and throughput of the current (or most recent) data import.
+   *
+   * This operation can fail for the following reasons:
+   *
+   * * No import has been started (HTTP error `404`)
+   * * A server error occurred (HTTP error `500`)
+   *
+   */
+  @Path("/import/status")
+  @GET
+  @Produces("application/json")
+  ImportStatus getImportStatus();
+
   /**
    * Gets the details of a single role mapping (by principalId).
    *
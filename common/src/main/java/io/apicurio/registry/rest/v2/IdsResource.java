@@ -1,6 +1,10 @@
 package io.apicurio.registry.rest.v2;
 
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -57,4 +61,21 @@ public interface IdsResource {
   @GET
   @Produces("*/*")
   Response getContentByHash(@PathParam("contentHash") String contentHash);
+
+  /**
+   * Gets the content (and minimal meta-data) of many artifact versions and/or contents at once,
+   * by their global IDs and/or content IDs.  IDs that do not exist (or that are disabled artifact
+   * versions) are omitted from the result.
+   *
+   * This operation may fail for one of the following reasons:
+   *
+   * * Too many IDs were requested (HTTP error `400`)
+   * * A server error occurred (HTTP error `500`)
+   *
+   */
+  @Path("/lookup")
+  @POST
+  @Produces("application/json")
+  @Consumes("application/json")
+  ContentLookupResults lookupContent(ContentLookup data);
 }
@@ -29,7 +29,8 @@ public interface SearchResource {
       @QueryParam("offset") Integer offset, @QueryParam("limit") Integer limit,
       @QueryParam("order") SortOrder order, @QueryParam("orderby") SortBy orderby,
       @QueryParam("labels") List<String> labels, @QueryParam("properties") List<String> properties,
-      @QueryParam("description") String description, @QueryParam("group") String group);
+      @QueryParam("description") String description, @QueryParam("group") String group,
+      @QueryParam("cursor") String cursor, @QueryParam("count") Boolean count);
 
   /**
    * Returns a paginated list of all artifacts with at least one version that matches the
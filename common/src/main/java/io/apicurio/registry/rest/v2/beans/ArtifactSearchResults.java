@@ -17,7 +17,8 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
     "artifacts",
-    "count"
+    "count",
+    "next"
 })
 @Generated("jsonschema2pojo")
 @io.quarkus.runtime.annotations.RegisterForReflection
@@ -33,13 +34,22 @@ public class ArtifactSearchResults {
     private List<SearchedArtifact> artifacts = new ArrayList<SearchedArtifact>();
     /**
      * The total number of artifacts that matched the query that produced the result set (may be 
-     * more than the number of artifacts in the result set).
+     * more than the number of artifacts in the result set).  When paging with a `cursor` and the count
+     * was not requested, it is `-1`.
      * (Required)
      * 
      */
     @JsonProperty("count")
-    @JsonPropertyDescription("The total number of artifacts that matched the query that produced the result set (may be \nmore than the number of artifacts in the result set).")
+    @JsonPropertyDescription("The total number of artifacts that matched the query that produced the result set (may be \nmore than the number of artifacts in the result set).  When paging with a `cursor` and the count\nwas not requested, it is `-1`.")
     private Integer count;
+    /**
+     * Opaque cursor to pass as the `cursor` query parameter to get the next page of results.  Only included
+     * when paging with a cursor and there are more results.
+     * 
+     */
+    @JsonProperty("next")
+    @JsonPropertyDescription("Opaque cursor to pass as the `cursor` query parameter to get the next page of results.  Only included\nwhen paging with a cursor and there are more results.")
+    private String next;
 
     /**
      * The artifacts returned in the result set.
@@ -63,7 +73,8 @@ public class ArtifactSearchResults {
 
     /**
      * The total number of artifacts that matched the query that produced the result set (may be 
-     * more than the number of artifacts in the result set).
+     * more than the number of artifacts in the result set).  When paging with a `cursor` and the count
+     * was not requested, it is `-1`.
      * (Required)
      * 
      */
@@ -74,7 +85,8 @@ public class ArtifactSearchResults {
 
     /**
      * The total number of artifacts that matched the query that produced the result set (may be 
-     * more than the number of artifacts in the result set).
+     * more than the number of artifacts in the result set).  When paging with a `cursor` and the count
+     * was not requested, it is `-1`.
      * (Required)
      * 
      */
@@ -83,11 +95,32 @@ public class ArtifactSearchResults {
         this.count = count;
     }
 
+    /**
+     * Opaque cursor to pass as the `cursor` query parameter to get the next page of results.  Only included
+     * when paging with a cursor and there are more results.
+     * 
+     */
+    @JsonProperty("next")
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Opaque cursor to pass as the `cursor` query parameter to get the next page of results.  Only included
+     * when paging with a cursor and there are more results.
+     * 
+     */
+    @JsonProperty("next")
+    public void setNext(String next) {
+        this.next = next;
+    }
+
     @Override
     public String toString() {
         return "ArtifactSearchResults{" +
                 "artifacts=" + artifacts +
                 ", count=" + count +
+                ", next=" + next +
                 '}';
     }
 }
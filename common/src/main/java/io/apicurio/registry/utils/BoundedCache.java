@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache holding at most a maximum number of entries.  When it is full, the least recently
+ * used entry is evicted.  A maximum size of zero (or less) disables the cache.
+ */
+public class BoundedCache<K, V> {
+
+    private final LinkedHashMap<K, V> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxSize;
+    private long evictions;
+
+    public BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public synchronized V get(K key) {
+        return cache.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        cache.put(key, value);
+        trim();
+    }
+
+    /**
+     * Returns the cached value of the given key, computing (and caching) it if needed.  The value is computed
+     * outside the lock, so it may be computed more than once by concurrent callers.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void remove(K key) {
+        cache.remove(key);
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void trim() {
+        int max = Math.max(maxSize, 0);
+        Iterator<K> keys = cache.keySet().iterator();
+        while (cache.size() > max && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions++;
+        }
+    }
+
+}
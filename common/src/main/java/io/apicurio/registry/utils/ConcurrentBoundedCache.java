@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache holding at most (approximately) a maximum number of entries, for hot paths where
+ * the locking of {@link BoundedCache} would be contended.  Reads never lock: they only mark the entry as
+ * referenced.  When the cache is full an entry that hasn't been read since the previous eviction pass is
+ * evicted ("second chance"), which approximates least recently used eviction.  Concurrent writers may
+ * briefly exceed (or undershoot) the maximum size.  A maximum size of zero (or less) disables the cache.
+ */
+public class ConcurrentBoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder evictions = new LongAdder();
+
+    public ConcurrentBoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (cache.put(key, new Entry<>(value)) == null && cache.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Returns the cached value of the given key, computing (and caching) it if needed.  The value may be
+     * computed more than once by concurrent callers.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void remove(K key) {
+        cache.remove(key);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * The first pass gives the referenced entries a second chance and evicts the others, the second pass
+     * (only needed when every entry was referenced) evicts whatever comes first.
+     */
+    private void evict() {
+        for (int pass = 0; pass < 2 && cache.size() > maxSize; pass++) {
+            Iterator<Map.Entry<K, Entry<V>>> entries = cache.entrySet().iterator();
+            while (cache.size() > maxSize && entries.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = entries.next();
+                Entry<V> value = entry.getValue();
+                if (pass == 0 && value.referenced) {
+                    value.referenced = false;
+                } else if (cache.remove(entry.getKey(), value)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private volatile boolean referenced = true;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -29,6 +29,8 @@ import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.rest.client.RegistryClientFactory;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
@@ -475,6 +477,14 @@ public class LoadBalanceRegistryClient implements RegistryClient {
         return getTarget().getContentByGlobalId(globalId);
     }
 
+    /**
+     * @see io.apicurio.registry.rest.client.RegistryClient#lookupContent(io.apicurio.registry.rest.v2.beans.ContentLookup)
+     */
+    @Override
+    public ContentLookupResults lookupContent(ContentLookup lookup) {
+        return getTarget().lookupContent(lookup);
+    }
+
     /**
      * @param contentHash
      * @param canonical
@@ -45,18 +45,18 @@ public class JsonSchemaDiffLibrary {
      * @throws IllegalArgumentException if the input is not a valid representation of a JsonSchema
      */
     public static DiffContext findDifferences(String original, String updated) {
-        try {
-            JSONObject originalJson = MAPPER.readValue(original, JSONObject.class);
-            JSONObject updatedJson = MAPPER.readValue(updated, JSONObject.class);
-
-            Schema originalSchema = SchemaLoader.builder()
-                    .schemaJson(originalJson)
-                    .build().load().build();
-
-            Schema updatedSchema = SchemaLoader.builder().schemaJson(updatedJson).build().load().build();
-
-            return findDifferences(originalSchema, updatedSchema);
+        return findDifferences(loadSchema(original), loadSchema(updated));
+    }
 
+    /**
+     * Load a JSON schema model from its string representation.
+     *
+     * @throws IllegalStateException if the input is not valid JSON
+     */
+    public static Schema loadSchema(String schema) {
+        try {
+            JSONObject schemaJson = MAPPER.readValue(schema, JSONObject.class);
+            return SchemaLoader.builder().schemaJson(schemaJson).build().load().build();
         } catch (JsonProcessingException e) {
             throw new IllegalStateException(e);
         }
@@ -75,4 +75,8 @@ public class JsonSchemaDiffLibrary {
     public static Set<Difference> getIncompatibleDifferences(String original, String updated) {
         return findDifferences(original, updated).getIncompatibleDifferences();
     }
+
+    public static Set<Difference> getIncompatibleDifferences(Schema original, Schema updated) {
+        return findDifferences(original, updated).getIncompatibleDifferences();
+    }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
@@ -37,6 +38,7 @@ import io.apicurio.registry.serde.SchemaParser;
 import io.apicurio.registry.serde.SchemaResolver;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
 import io.apicurio.registry.serde.utils.Utils;
+import io.apicurio.registry.utils.ConcurrentBoundedCache;
 import io.apicurio.registry.utils.IoUtil;
 
 /**
@@ -45,7 +47,17 @@ import io.apicurio.registry.utils.IoUtil;
  */
 public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
 
+    private static final int SCHEMA_FROM_DATA_CACHE_MAX_SIZE = 1000;
+
     private final EncoderFactory encoderFactory = EncoderFactory.get();
+    /**
+     * Direct binary encoders hold no buffered data, so one instance per thread can be reused for every record.
+     */
+    private final ThreadLocal<BinaryEncoder> binaryEncoders = new ThreadLocal<>();
+    /**
+     * Avoids converting the same schema to its raw form (and computing its content digest) for every record.
+     */
+    private final ConcurrentBoundedCache<Schema, ParsedSchema<Schema>> schemaFromDataCache = new ConcurrentBoundedCache<>(SCHEMA_FROM_DATA_CACHE_MAX_SIZE);
     private AvroSchemaParser parser = new AvroSchemaParser();
     private AvroDatumProvider<U> avroDatumProvider;
     private AvroEncoding encoding;
@@ -103,9 +115,9 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
     @Override
     protected ParsedSchema<Schema> getSchemaFromData(U data) {
         Schema schema = avroDatumProvider.toSchema(data);
-        return new ParsedSchemaImpl<Schema>()
-                .setParsedSchema(schema)
-                .setRawSchema(IoUtil.toBytes(schema.toString()));
+        return schemaFromDataCache.computeIfAbsent(schema, s -> new ParsedSchemaImpl<Schema>()
+                .setParsedSchema(s)
+                .setRawSchema(IoUtil.toBytes(s.toString())));
     }
 
     /**
@@ -142,7 +154,9 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
         if(encoding == AvroEncoding.JSON) {
             return encoderFactory.jsonEncoder(schema, os);
         } else {
-            return encoderFactory.directBinaryEncoder(os, null);
+            BinaryEncoder encoder = encoderFactory.directBinaryEncoder(os, binaryEncoders.get());
+            binaryEncoders.set(encoder);
+            return encoder;
         }
     }
 }
@@ -35,6 +35,9 @@ import org.apache.avro.specific.SpecificRecord;
 public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
     private Boolean useSpecificAvroReader;
     private Map<String, Schema> schemas = new ConcurrentHashMap<>();
+    // datum writers are stateless, so they can be shared for all the records with the same schema
+    private Map<Schema, DatumWriter<T>> specificWriters = new ConcurrentHashMap<>();
+    private Map<Schema, DatumWriter<T>> genericWriters = new ConcurrentHashMap<>();
 
     public DefaultAvroDatumProvider() {
     }
@@ -80,9 +83,9 @@ public class DefaultAvroDatumProvider<T> implements AvroDatumProvider<T> {
     @Override
     public DatumWriter<T> createDatumWriter(T data, Schema schema) {
         if (data instanceof SpecificRecord) {
-            return new SpecificDatumWriter<>(schema);
+            return specificWriters.computeIfAbsent(schema, s -> new SpecificDatumWriter<>(s));
         } else {
-            return new GenericDatumWriter<>(schema);
+            return genericWriters.computeIfAbsent(schema, s -> new GenericDatumWriter<>(s));
         }
     }
 
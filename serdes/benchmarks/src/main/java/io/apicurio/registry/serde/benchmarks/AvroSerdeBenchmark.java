@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.avro.AvroKafkaDeserializer;
+import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Serialization and deserialization of Avro records, for every {@link SchemaSize} and {@link IdHandling}.
+ * Reports the throughput and the latency percentiles, add <code>-prof gc</code> to also get
+ * <code>gc.alloc.rate.norm</code>.  Schemas are resolved from a warm cache, see {@link SchemaResolverBenchmark}
+ * for cold caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroSerdeBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    @Param
+    public SchemaSize size;
+
+    @Param
+    public IdHandling idHandling;
+
+    private AvroKafkaSerializer<GenericRecord> serializer;
+    private AvroKafkaDeserializer<GenericRecord> deserializer;
+
+    private GenericRecord record;
+    private byte[] payload;
+    private Headers headers;
+
+    @Setup
+    public void setup() {
+        Schema schema = BenchmarkSchemas.avroSchema(size);
+        record = BenchmarkSchemas.avroRecord(schema);
+
+        StubRegistryClient registry = new StubRegistryClient();
+        registry.register(null, TOPIC + "-value", IoUtil.toBytes(schema.toString()));
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.FIND_LATEST_ARTIFACT, true);
+        idHandling.configure(config);
+
+        serializer = new AvroKafkaSerializer<>(registry.client());
+        serializer.configure(config, false);
+        deserializer = new AvroKafkaDeserializer<>(registry.client());
+        deserializer.configure(config, false);
+
+        headers = newHeaders();
+        payload = serializer.serialize(TOPIC, headers, record);
+    }
+
+    private Headers newHeaders() {
+        return idHandling == IdHandling.HEADERS ? new RecordHeaders() : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, newHeaders(), record);
+    }
+
+    @Benchmark
+    public GenericRecord deserialize() {
+        return deserializer.deserialize(TOPIC, headers, payload);
+    }
+
+}
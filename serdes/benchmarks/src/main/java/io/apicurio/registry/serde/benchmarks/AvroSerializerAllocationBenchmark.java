@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Measures the allocation per serialized record of {@link AvroKafkaSerializer}, with and without
+ * {@link SerdeConfig#SERIALIZER_REUSE_BUFFERS}.  Run it with the GC profiler to get
+ * <code>gc.alloc.rate.norm</code> (bytes allocated per record):
+ *
+ * <code>java -jar target/benchmarks.jar AvroSerializerAllocationBenchmark -prof gc</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroSerializerAllocationBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    private static final String SCHEMA = "{\"type\":\"record\",\"name\":\"Payment\",\"namespace\":\"io.apicurio.benchmark\","
+            + "\"fields\":[{\"name\":\"id\",\"type\":\"string\"},{\"name\":\"amount\",\"type\":\"double\"},"
+            + "{\"name\":\"currency\",\"type\":\"string\"},{\"name\":\"timestamp\",\"type\":\"long\"}]}";
+
+    @Param({"false", "true"})
+    public boolean reuseBuffers;
+
+    private AvroKafkaSerializer<GenericRecord> serializer;
+    private GenericRecord record;
+
+    @Setup
+    public void setup() {
+        Schema schema = new Schema.Parser().parse(SCHEMA);
+
+        StubRegistryClient registry = new StubRegistryClient();
+        registry.register(null, TOPIC + "-value", IoUtil.toBytes(schema.toString()));
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.FIND_LATEST_ARTIFACT, true);
+        config.put(SerdeConfig.ENABLE_HEADERS, false);
+        config.put(SerdeConfig.SERIALIZER_REUSE_BUFFERS, reuseBuffers);
+
+        serializer = new AvroKafkaSerializer<>(registry.client());
+        serializer.configure(config, false);
+
+        record = new GenericData.Record(schema);
+        record.put("id", "6d6c0f7e-3c3e-4b8e-9d2c-0c9f3b5a1e42");
+        record.put("amount", 42.5d);
+        record.put("currency", "EUR");
+        record.put("timestamp", 1634567890123L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, record);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.SchemaBuilder.FieldAssembler;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Generates the schemas and the matching records used by the benchmarks.
+ */
+public final class BenchmarkSchemas {
+
+    private BenchmarkSchemas() {
+    }
+
+    private static String fieldName(int i) {
+        return "field_" + i;
+    }
+
+    private static String fieldValue(int i) {
+        return "value of the field number " + i;
+    }
+
+    public static Schema avroSchema(SchemaSize size) {
+        FieldAssembler<Schema> fields = SchemaBuilder.record("BenchmarkRecord" + size.name())
+                .namespace("io.apicurio.registry.serde.benchmarks")
+                .doc("Record with " + size.getFields() + " fields, generated for the serdes benchmarks")
+                .fields();
+        for (int i = 0; i < size.getFields(); i++) {
+            fields = fields.name(fieldName(i)).doc("Documentation of the field number " + i).type().stringType().noDefault();
+        }
+        return fields.endRecord();
+    }
+
+    public static GenericRecord avroRecord(Schema schema) {
+        GenericRecord record = new GenericData.Record(schema);
+        for (int i = 0; i < schema.getFields().size(); i++) {
+            record.put(fieldName(i), fieldValue(i));
+        }
+        return record;
+    }
+
+    public static String jsonSchema(SchemaSize size) {
+        StringBuilder schema = new StringBuilder()
+                .append("{\"$schema\":\"http://json-schema.org/draft-07/schema#\",")
+                .append("\"title\":\"BenchmarkRecord").append(size.name()).append("\",")
+                .append("\"type\":\"object\",\"properties\":{");
+        for (int i = 0; i < size.getFields(); i++) {
+            if (i > 0) {
+                schema.append(',');
+            }
+            schema.append('"').append(fieldName(i)).append("\":{\"type\":\"string\",")
+                    .append("\"description\":\"Documentation of the field number ").append(i).append("\"}");
+        }
+        schema.append("},\"required\":[");
+        for (int i = 0; i < size.getFields(); i++) {
+            if (i > 0) {
+                schema.append(',');
+            }
+            schema.append('"').append(fieldName(i)).append('"');
+        }
+        return schema.append("]}").toString();
+    }
+
+    public static Map<String, Object> jsonRecord(SchemaSize size) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = 0; i < size.getFields(); i++) {
+            record.put(fieldName(i), fieldValue(i));
+        }
+        return record;
+    }
+
+}
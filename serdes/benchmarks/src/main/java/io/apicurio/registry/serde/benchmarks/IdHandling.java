@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.Map;
+
+import io.apicurio.registry.serde.DefaultIdHandler;
+import io.apicurio.registry.serde.Legacy4ByteIdHandler;
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.headers.DefaultHeadersHandler;
+
+/**
+ * How the schema id is passed between the serializer and the deserializer.
+ */
+public enum IdHandling {
+
+    /**
+     * Kafka message headers, see {@link DefaultHeadersHandler}.
+     */
+    HEADERS,
+    /**
+     * Magic byte followed by an 8 byte id, see {@link DefaultIdHandler}.
+     */
+    MAGIC_BYTE,
+    /**
+     * Magic byte followed by a 4 byte id (Confluent compatible), see {@link Legacy4ByteIdHandler}.
+     */
+    MAGIC_BYTE_LEGACY;
+
+    public void configure(Map<String, Object> config) {
+        config.put(SerdeConfig.ENABLE_HEADERS, this == HEADERS);
+        config.put(SerdeConfig.ENABLE_CONFLUENT_ID_HANDLER, this == MAGIC_BYTE_LEGACY);
+    }
+
+}
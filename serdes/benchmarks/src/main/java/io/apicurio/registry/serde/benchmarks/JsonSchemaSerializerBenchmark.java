@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.jsonschema.JsonSchemaKafkaSerializer;
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Serialization of JSON records with {@link JsonSchemaKafkaSerializer}, with and without JSON Schema validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSchemaSerializerBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    @Param
+    public SchemaSize size;
+
+    @Param({"false", "true"})
+    public boolean validationEnabled;
+
+    private JsonSchemaKafkaSerializer<Map<String, Object>> serializer;
+    private Map<String, Object> record;
+
+    @Setup
+    public void setup() {
+        record = BenchmarkSchemas.jsonRecord(size);
+
+        StubRegistryClient registry = new StubRegistryClient();
+        registry.register(null, TOPIC + "-value", IoUtil.toBytes(BenchmarkSchemas.jsonSchema(size)));
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.FIND_LATEST_ARTIFACT, true);
+        config.put(SerdeConfig.VALIDATION_ENABLED, validationEnabled);
+        IdHandling.MAGIC_BYTE.configure(config);
+
+        serializer = new JsonSchemaKafkaSerializer<>(registry.client());
+        serializer.configure(config, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, record);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.protobuf.ProtobufKafkaDeserializer;
+import io.apicurio.registry.serde.protobuf.ProtobufKafkaSerializer;
+import io.apicurio.registry.serde.protobuf.ProtobufSchemaParser;
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Deserialization of protobuf messages with {@link ProtobufKafkaDeserializer}, returning either a
+ * {@link com.google.protobuf.DynamicMessage} or the generated message class.  The messages are protobuf
+ * well-known types, so no code generation is needed: a small {@link Timestamp} and a large
+ * {@link FileDescriptorProto} (the descriptor of <code>google/protobuf/descriptor.proto</code> itself).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufDeserializerBenchmark {
+
+    public enum MessageSize {
+        SMALL,
+        LARGE
+    }
+
+    public enum ReturnType {
+        DYNAMIC,
+        SPECIFIC
+    }
+
+    private static final String TOPIC = "benchmark";
+
+    @Param
+    public MessageSize size;
+
+    @Param
+    public ReturnType returnType;
+
+    @Param
+    public IdHandling idHandling;
+
+    private ProtobufKafkaDeserializer<Message> deserializer;
+
+    private byte[] payload;
+    private Headers headers;
+
+    @Setup
+    public void setup() {
+        Message message;
+        if (size == MessageSize.SMALL) {
+            message = Timestamp.newBuilder().setSeconds(1634567890L).setNanos(123000000).build();
+        } else {
+            message = FileDescriptorProto.getDescriptor().getFile().toProto();
+        }
+
+        StubRegistryClient registry = new StubRegistryClient();
+        String rawSchema = new ProtobufSchemaParser().toProtoFileElement(message.getDescriptorForType().getFile()).toSchema();
+        registry.register(null, TOPIC + "-value", IoUtil.toBytes(rawSchema));
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.FIND_LATEST_ARTIFACT, true);
+        idHandling.configure(config);
+
+        ProtobufKafkaSerializer<Message> serializer = new ProtobufKafkaSerializer<>(registry.client());
+        serializer.configure(config, false);
+        headers = idHandling == IdHandling.HEADERS ? new RecordHeaders() : null;
+        payload = serializer.serialize(TOPIC, headers, message);
+        serializer.close();
+
+        if (returnType == ReturnType.SPECIFIC) {
+            config.put(SerdeConfig.DESERIALIZER_SPECIFIC_VALUE_RETURN_CLASS, message.getClass().getName());
+        }
+        deserializer = new ProtobufKafkaDeserializer<>(registry.client());
+        deserializer.configure(config, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        deserializer.close();
+    }
+
+    @Benchmark
+    public Message deserialize() {
+        return deserializer.deserialize(TOPIC, headers, payload);
+    }
+
+}
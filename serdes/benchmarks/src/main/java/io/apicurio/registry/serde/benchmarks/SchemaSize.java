@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+/**
+ * Size of the schemas used by the benchmarks, as a number of fields (or properties) of a flat record.
+ * The large schema is around 100 KB of Avro/JSON schema text.
+ */
+public enum SchemaSize {
+
+    SMALL(5),
+    MEDIUM(100),
+    LARGE(1500);
+
+    private final int fields;
+
+    SchemaSize(int fields) {
+        this.fields = fields;
+    }
+
+    public int getFields() {
+        return fields;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.exception.ArtifactNotFoundException;
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.rest.v2.beans.Error;
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * In-process {@link RegistryClient} implementing only the operations used by the serdes to resolve schemas,
+ * so the benchmarks measure the serdes and not the network or the registry server.  Every artifact has a
+ * single version, whose globalId is also used as its contentId.
+ */
+public class StubRegistryClient {
+
+    private final AtomicLong idSequence = new AtomicLong();
+    private final Map<String, Long> latest = new ConcurrentHashMap<>();
+    private final Map<Long, Artifact> artifacts = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Registers the given schema as a new version of the given artifact.
+     * @param groupId
+     * @param artifactId
+     * @param schema
+     * @return the globalId of the new version
+     */
+    public long register(String groupId, String artifactId, byte[] schema) {
+        long id = idSequence.incrementAndGet();
+        artifacts.put(id, new Artifact(id, groupId, artifactId, schema));
+        latest.put(key(groupId, artifactId), id);
+        return id;
+    }
+
+    /**
+     * @return the number of requests received, useful to check that a benchmark hits the serdes cache
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public RegistryClient client() {
+        return (RegistryClient) Proxy.newProxyInstance(RegistryClient.class.getClassLoader(),
+            new Class<?>[] { RegistryClient.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getArtifactMetaData":
+                        requests.incrementAndGet();
+                        return toArtifactMetaData(findLatest((String) args[0], (String) args[1]));
+                    case "getArtifactVersionMetaData":
+                        requests.incrementAndGet();
+                        return toVersionMetaData(findLatest((String) args[0], (String) args[1]));
+                    case "getArtifactVersionMetaDataByContent":
+                        requests.incrementAndGet();
+                        return toVersionMetaData(findByContent((String) args[0], (String) args[1],
+                            IoUtil.toBytes((InputStream) args[args.length - 1])));
+                    case "getContentByGlobalId":
+                    case "getContentById":
+                        requests.incrementAndGet();
+                        return new ByteArrayInputStream(findById((Long) args[0]).content);
+                    case "getLatestArtifact":
+                        requests.incrementAndGet();
+                        return new ByteArrayInputStream(findLatest((String) args[0], (String) args[1]).content);
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return StubRegistryClient.class.getSimpleName();
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    private Artifact findLatest(String groupId, String artifactId) {
+        Long id = latest.get(key(groupId, artifactId));
+        if (id == null) {
+            throw notFound(artifactId);
+        }
+        return artifacts.get(id);
+    }
+
+    private Artifact findById(long id) {
+        Artifact artifact = artifacts.get(id);
+        if (artifact == null) {
+            throw notFound(String.valueOf(id));
+        }
+        return artifact;
+    }
+
+    private Artifact findByContent(String groupId, String artifactId, byte[] content) {
+        return artifacts.values().stream()
+                .filter(a -> a.artifactId.equals(artifactId) && Arrays.equals(a.content, content))
+                .findFirst()
+                .orElseThrow(() -> notFound(artifactId));
+    }
+
+    private static ArtifactNotFoundException notFound(String id) {
+        Error error = new Error();
+        error.setErrorCode(404);
+        error.setMessage("No artifact with ID '" + id + "' was found.");
+        return new ArtifactNotFoundException(error);
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + "/" + artifactId;
+    }
+
+    private static ArtifactMetaData toArtifactMetaData(Artifact artifact) {
+        ArtifactMetaData metaData = new ArtifactMetaData();
+        metaData.setGlobalId(artifact.id);
+        metaData.setContentId(artifact.id);
+        metaData.setGroupId(artifact.groupId);
+        metaData.setId(artifact.artifactId);
+        metaData.setVersion("1");
+        return metaData;
+    }
+
+    private static VersionMetaData toVersionMetaData(Artifact artifact) {
+        VersionMetaData metaData = new VersionMetaData();
+        metaData.setGlobalId(artifact.id);
+        metaData.setContentId(artifact.id);
+        metaData.setGroupId(artifact.groupId);
+        metaData.setId(artifact.artifactId);
+        metaData.setVersion("1");
+        return metaData;
+    }
+
+    private static class Artifact {
+
+        private final long id;
+        private final String groupId;
+        private final String artifactId;
+        private final byte[] content;
+
+        Artifact(long id, String groupId, String artifactId, byte[] content) {
+            this.id = id;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.content = content;
+        }
+    }
+}
@@ -20,8 +20,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaDeserializer;
 import io.apicurio.registry.serde.ParsedSchema;
@@ -30,7 +28,7 @@ import io.apicurio.registry.serde.SchemaResolver;
 import io.apicurio.registry.serde.headers.MessageTypeSerdeHeaders;
 import io.apicurio.registry.serde.utils.Utils;
 import io.apicurio.registry.types.ArtifactType;
-import io.apicurio.registry.utils.IoUtil;
+import io.apicurio.registry.utils.ConcurrentBoundedCache;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
@@ -39,6 +37,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -57,6 +56,13 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
     private Class<T> specificReturnClass;
     private MessageTypeSerdeHeaders serdeHeaders;
 
+    private static final int JAVA_TYPES_CACHE_MAX_SIZE = 1000;
+    /**
+     * The "javaType" of each schema, keyed by the parsed schema instance, which is the one held by the schema
+     * resolver cache for as long as the schema stays cached.  Looking it up doesn't hash the schema content.
+     */
+    private final ConcurrentBoundedCache<JsonSchema, Optional<Class<?>>> javaTypes = new ConcurrentBoundedCache<>(JAVA_TYPES_CACHE_MAX_SIZE);
+
     public JsonSchemaKafkaDeserializer() {
         super();
     }
@@ -123,8 +129,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
      */
     @Override
     public JsonSchema parseSchema(byte[] rawSchema) {
-        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-        return factory.getSchema(IoUtil.toStream(rawSchema));
+        return JsonSchemaValidationUtil.getSchema(rawSchema);
     }
 
     /**
@@ -143,37 +148,30 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         return internalReadData(headers, schema, buffer, start, length);
     }
 
+    @SuppressWarnings("unchecked")
     private T internalReadData(Headers headers, ParsedSchema<JsonSchema> schema, ByteBuffer buffer, int start, int length) {
-        byte[] data = new byte[length];
-        System.arraycopy(buffer.array(), start, data, 0, length);
-
         try {
-            JsonParser parser = mapper.getFactory().createParser(data);
-
-            if (isValidationEnabled()) {
-                JsonSchemaValidationUtil.validateDataWithSchema(schema, data, mapper);
-            }
-
             Class<T> messageType = null;
 
             if (this.specificReturnClass != null) {
                 messageType = this.specificReturnClass;
             } else if (headers == null) {
-                JsonNode jsonSchema = mapper.readTree(schema.getRawSchema());
-
-                String javaType = null;
-                JsonNode javaTypeNode = jsonSchema.get("javaType");
-                if (javaTypeNode != null && !javaTypeNode.isNull()) {
-                    javaType = javaTypeNode.textValue();
-                }
-                //TODO if javaType is null, maybe warn something like this?
-                //You can try configure the property \"apicurio.registry.serde.json-schema.java-type\" with the full class name to use for deserialization
-                messageType = javaType == null ? null : Utils.loadClass(javaType);
+                messageType = javaTypeFromSchema(schema);
             } else {
                 String javaType = serdeHeaders.getMessageType(headers);
                 messageType = javaType == null ? null : Utils.loadClass(javaType);
             }
 
+            JsonParser parser = mapper.getFactory().createParser(buffer.array(), start, length);
+
+            if (isValidationEnabled()) {
+                // Parse the data once and reuse the tree for both validation and data binding
+                JsonNode tree = mapper.readTree(parser);
+                JsonSchemaValidationUtil.validateDataWithSchema(schema, tree);
+                //TODO maybe warn there is no message type and the deserializer will return a JsonNode
+                return messageType == null ? (T) tree : mapper.treeToValue(tree, messageType);
+            }
+
             if (messageType == null) {
                 //TODO maybe warn there is no message type and the deserializer will return a JsonNode
                 return mapper.readTree(parser);
@@ -184,4 +182,31 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * Looks up the "javaType" declared by the schema, the result is memoized per resolved schema so the schema
+     * is not parsed again for every record.
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> javaTypeFromSchema(ParsedSchema<JsonSchema> schema) throws IOException {
+        JsonSchema key = schema.getParsedSchema();
+        Optional<Class<?>> javaTypeClass = key == null ? null : javaTypes.get(key);
+        if (javaTypeClass == null) {
+            JsonNode jsonSchema = mapper.readTree(schema.getRawSchema());
+
+            String javaType = null;
+            JsonNode javaTypeNode = jsonSchema.get("javaType");
+            if (javaTypeNode != null && !javaTypeNode.isNull()) {
+                javaType = javaTypeNode.textValue();
+            }
+            //TODO if javaType is null, maybe warn something like this?
+            //You can try configure the property \"apicurio.registry.serde.json-schema.java-type\" with the full class name to use for deserialization
+            Class<?> loaded = javaType == null ? null : Utils.loadClass(javaType);
+            javaTypeClass = Optional.ofNullable(loaded);
+            if (key != null) {
+                javaTypes.put(key, javaTypeClass);
+            }
+        }
+        return (Class<T>) javaTypeClass.orElse(null);
+    }
 }
@@ -16,10 +16,9 @@
 
 package io.apicurio.registry.serde.jsonschema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaSerializer;
 import io.apicurio.registry.serde.ParsedSchema;
@@ -28,7 +27,6 @@ import io.apicurio.registry.serde.SchemaResolver;
 import io.apicurio.registry.serde.headers.MessageTypeSerdeHeaders;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
 import io.apicurio.registry.types.ArtifactType;
-import io.apicurio.registry.utils.IoUtil;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serializer;
 
@@ -124,8 +122,7 @@ public class JsonSchemaKafkaSerializer<T> extends AbstractKafkaSerializer<JsonSc
      */
     @Override
     public JsonSchema parseSchema(byte[] rawSchema) {
-        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-        return factory.getSchema(IoUtil.toStream(rawSchema));
+        return JsonSchemaValidationUtil.getSchema(rawSchema);
     }
 
     //TODO we could implement some way of providing the jsonschema beforehand:
@@ -155,9 +152,15 @@ public class JsonSchemaKafkaSerializer<T> extends AbstractKafkaSerializer<JsonSc
      */
     @Override
     protected void serializeData(Headers headers, ParsedSchema<JsonSchema> schema, T data, OutputStream out) throws IOException {
-        final byte[] dataBytes = mapper.writeValueAsBytes(data);
+        final byte[] dataBytes;
         if (isValidationEnabled()) {
-            JsonSchemaValidationUtil.validateDataWithSchema(schema, dataBytes, mapper);
+            // Bind the data to a tree once and use it for both validation and writing,
+            // instead of writing the bytes and parsing them again to validate
+            JsonNode tree = mapper.valueToTree(data);
+            JsonSchemaValidationUtil.validateDataWithSchema(schema, tree);
+            dataBytes = mapper.writeValueAsBytes(tree);
+        } else {
+            dataBytes = mapper.writeValueAsBytes(data);
         }
         if (headers != null) {
             serdeHeaders.addMessageTypeHeader(headers, data.getClass().getName());
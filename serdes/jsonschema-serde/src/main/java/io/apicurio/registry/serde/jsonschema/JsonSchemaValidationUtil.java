@@ -16,10 +16,16 @@
 
 package io.apicurio.registry.serde.jsonschema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import io.apicurio.registry.serde.ParsedSchema;
+import io.apicurio.registry.serde.utils.Utils;
+import io.apicurio.registry.utils.BoundedCache;
+import io.apicurio.registry.utils.IoUtil;
 
 import java.io.IOException;
 import java.util.Set;
@@ -28,6 +34,28 @@ import java.util.Set;
 */
 public class JsonSchemaValidationUtil {
 
+    private static final int VALIDATOR_CACHE_MAX_SIZE = 1000;
+
+    /**
+     * The factory loads and caches the meta-schema, so it is shared instead of being created for every parse.
+     */
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+
+    /**
+     * Compiled validators keyed by the digest of the raw schema, so the same content registered under
+     * several globalIds/contentIds (or resolved again after a cache reset) is only compiled once.  Only used
+     * when a schema is resolved, not for every record.
+     */
+    private static final BoundedCache<String, JsonSchema> VALIDATORS = new BoundedCache<>(VALIDATOR_CACHE_MAX_SIZE);
+
+    /**
+     * @param rawSchema the raw json schema
+     * @return the compiled validator for the given schema, shared by all the serdes in this JVM
+     */
+    protected static JsonSchema getSchema(byte[] rawSchema) {
+        return VALIDATORS.computeIfAbsent(Utils.contentDigest(rawSchema), d -> FACTORY.getSchema(IoUtil.toStream(rawSchema)));
+    }
+
     /**
      * @param schema the schema to test the data.
      * @param data the data to test.
@@ -35,7 +63,17 @@ public class JsonSchemaValidationUtil {
      * @throws IOException In case of validation errors, a IO exception is thrown.
      */
     protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, byte[] data, ObjectMapper mapper) throws IOException {
-        final Set<ValidationMessage> validationMessages = schema.getParsedSchema().validate(mapper.readTree(data));
+        validateDataWithSchema(schema, mapper.readTree(data));
+    }
+
+    /**
+     * Validates an already parsed json tree, allowing callers to reuse the same tree for data binding.
+     * @param schema the schema to test the data.
+     * @param data the data to test.
+     * @throws IOException In case of validation errors, a IO exception is thrown.
+     */
+    protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, JsonNode data) throws IOException {
+        final Set<ValidationMessage> validationMessages = schema.getParsedSchema().validate(data);
         if (validationMessages != null && !validationMessages.isEmpty()) {
             //There are validation failures
             StringBuilder message = new StringBuilder();
@@ -16,26 +16,26 @@
 
 package io.apicurio.registry.serde.protobuf;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.DescriptorProtos;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaDeserializer;
 import io.apicurio.registry.serde.ParsedSchema;
@@ -52,15 +52,28 @@ import io.apicurio.registry.serde.utils.Utils;
  */
 public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaDeserializer<ProtobufSchema, U> {
 
-    private static final String PROTOBUF_PARSE_METHOD = "parseFrom";
+    private static final String PROTOBUF_DEFAULT_INSTANCE_METHOD = "getDefaultInstance";
+    private static final int PARSER_CACHE_MAX_SIZE = 1000;
 
     private ProtobufSchemaParser parser = new ProtobufSchemaParser();
 
     private Class<?> specificReturnClass;
-    private Method specificReturnClassParseMethod;
+    private Parser<?> specificReturnClassParser;
     private boolean deriveClass;
 
-    private Map<String, Method> parseMethodsCache = new ConcurrentHashMap<>();
+    /**
+     * Message type descriptors resolved by name, per file descriptor.
+     */
+    private final Map<FileDescriptor, Map<String, Descriptor>> descriptorCache = new ConcurrentHashMap<>();
+    /**
+     * The parser used for a given descriptor when no specific class is configured (a generated class
+     * derived from the descriptor, or a dynamic message parser).
+     */
+    private final Map<Descriptor, Parser<?>> descriptorParserCache = new ConcurrentHashMap<>();
+    /**
+     * Parsers of the generated classes, by class name.
+     */
+    private final Map<String, Parser<?>> classParserCache = new ConcurrentHashMap<>();
 
     private ProtobufSerdeHeaders serdeHeaders;
 
@@ -90,12 +103,10 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
         specificReturnClass = config.getSpecificReturnClass();
         try {
             if (specificReturnClass != null) {
-                if (specificReturnClass.equals(DynamicMessage.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, Descriptor.class, InputStream.class);
-                } else if (!specificReturnClass.equals(Object.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
-                } else {
+                if (specificReturnClass.equals(Object.class)) {
                     throw new ConfigException("Class " + specificReturnClass.getCanonicalName() + " is not a valid protobuf message class");
+                } else if (!specificReturnClass.equals(DynamicMessage.class)) {
+                    this.specificReturnClassParser = lookupParser(specificReturnClass);
                 }
             }
         } catch (Exception e) {
@@ -134,73 +145,105 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
     @SuppressWarnings("unchecked")
     protected U internalReadData(Headers headers, ParsedSchema<ProtobufSchema> schema, ByteBuffer buff, int start, int length) {
         try {
-            byte[] bytes = new byte[length];
-            System.arraycopy(buff.array(), start, bytes, 0, length);
-
-            ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+            // Parse straight from the record's buffer, without copying it
+            CodedInputStream input = CodedInputStream.newInstance(buff.array(), start, length);
+            FileDescriptor fileDescriptor = schema.getParsedSchema().getFileDescriptor();
 
             Descriptor descriptor = null;
             if (headers != null) {
                 String messageTypeName = serdeHeaders.getProtobufTypeName(headers);
                 if (messageTypeName != null) {
-                    descriptor = schema.getParsedSchema().getFileDescriptor().findMessageTypeByName(messageTypeName);
+                    descriptor = findMessageType(fileDescriptor, messageTypeName);
                 }
             }
             if (descriptor == null){
                 try {
-                    Ref ref = Ref.parseDelimitedFrom(is);
-                    descriptor = schema.getParsedSchema().getFileDescriptor().findMessageTypeByName(ref.getName());
+                    int refLength = input.readRawVarint32();
+                    int oldLimit = input.pushLimit(refLength);
+                    Ref ref = Ref.parser().parseFrom(input);
+                    input.popLimit(oldLimit);
+                    descriptor = findMessageType(fileDescriptor, ref.getName());
                 } catch (IOException e) {
-                    is = new ByteArrayInputStream(bytes);
+                    input = CodedInputStream.newInstance(buff.array(), start, length);
                     //use the first message type found
-                    descriptor = schema.getParsedSchema().getFileDescriptor().getMessageTypes().get(0);
+                    descriptor = fileDescriptor.getMessageTypes().get(0);
                 }
             }
 
-            if (specificReturnClassParseMethod != null) {
-                try {
-                    if (specificReturnClass.equals(DynamicMessage.class)) {
-                        return (U) specificReturnClassParseMethod.invoke(null, descriptor, is);
-                    }
-                    return (U) specificReturnClassParseMethod.invoke(null, is);
-                } catch (Exception e) {
-                    throw new ConfigException("Not a valid protobuf builder", e);
-                }
+            Parser<?> messageParser;
+            if (specificReturnClassParser != null) {
+                messageParser = specificReturnClassParser;
+            } else if (specificReturnClass != null) {
+                // DynamicMessage
+                messageParser = dynamicParser(descriptor);
             } else if (deriveClass) {
-                String className = deriveClassFromDescriptor(descriptor);
-                if (className != null) {
-                    return invokeParseMethod(is, className);
-                }
-            } else if (headers != null) {
-                String messageTypeHeader = serdeHeaders.getMessageType(headers);
-                if (messageTypeHeader != null) {
-                    return invokeParseMethod(is, messageTypeHeader);
-                }
+                messageParser = descriptorParser(descriptor, d -> {
+                    String className = deriveClassFromDescriptor(d);
+                    return className != null ? classParser(className) : DynamicMessage.getDefaultInstance(d).getParserForType();
+                });
+            } else {
+                String messageTypeHeader = headers == null ? null : serdeHeaders.getMessageType(headers);
+                messageParser = messageTypeHeader != null ? classParser(messageTypeHeader) : dynamicParser(descriptor);
             }
 
-            return (U) DynamicMessage.parseFrom(descriptor, is);
+            return (U) messageParser.parseFrom(input);
 
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private U invokeParseMethod(InputStream buffer, String className) {
-        try {
-            Method parseMethod = parseMethodsCache.computeIfAbsent(className, k -> {
-                Class<?> protobufClass = Utils.loadClass(className);
-                try {
-                    return protobufClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
-                } catch (NoSuchMethodException | SecurityException e) {
-                    throw new SerializationException("Class " + className + " is not a valid protobuf message class", e);
-                }
-            });
-            return (U) parseMethod.invoke(null, buffer);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            parseMethodsCache.remove(className);
-            throw new SerializationException("Not a valid protobuf builder", e);
+    private Descriptor findMessageType(FileDescriptor fileDescriptor, String messageTypeName) {
+        Map<String, Descriptor> descriptors = descriptorCache.get(fileDescriptor);
+        if (descriptors == null) {
+            if (descriptorCache.size() >= PARSER_CACHE_MAX_SIZE) {
+                descriptorCache.clear();
+            }
+            descriptors = descriptorCache.computeIfAbsent(fileDescriptor, fd -> new ConcurrentHashMap<>());
+        }
+        Descriptor descriptor = descriptors.get(messageTypeName);
+        if (descriptor == null) {
+            descriptor = fileDescriptor.findMessageTypeByName(messageTypeName);
+            if (descriptor != null) {
+                descriptors.put(messageTypeName, descriptor);
+            }
+        }
+        return descriptor;
+    }
+
+    private Parser<?> dynamicParser(Descriptor descriptor) {
+        return descriptorParser(descriptor, d -> DynamicMessage.getDefaultInstance(d).getParserForType());
+    }
+
+    private Parser<?> descriptorParser(Descriptor descriptor, Function<Descriptor, Parser<?>> parserFactory) {
+        Parser<?> descriptorParser = descriptorParserCache.get(descriptor);
+        if (descriptorParser == null) {
+            if (descriptorParserCache.size() >= PARSER_CACHE_MAX_SIZE) {
+                descriptorParserCache.clear();
+            }
+            descriptorParser = descriptorParserCache.computeIfAbsent(descriptor, parserFactory);
         }
+        return descriptorParser;
+    }
+
+    private Parser<?> classParser(String className) {
+        return classParserCache.computeIfAbsent(className, k -> {
+            try {
+                return lookupParser(Utils.loadClass(className));
+            } catch (Exception e) {
+                throw new SerializationException("Class " + className + " is not a valid protobuf message class", e);
+            }
+        });
+    }
+
+    /**
+     * Looks up the parser of a generated protobuf message class.  Reflection is only used once per class, the
+     * parser is then used directly for every record.
+     */
+    private static Parser<?> lookupParser(Class<?> protobufClass) throws ReflectiveOperationException {
+        Method defaultInstanceMethod = protobufClass.getDeclaredMethod(PROTOBUF_DEFAULT_INSTANCE_METHOD);
+        Message defaultInstance = (Message) defaultInstanceMethod.invoke(null);
+        return defaultInstance.getParserForType();
     }
 
     //TODO refactor
@@ -26,6 +26,7 @@ import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
+import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.Message;
 
 import io.apicurio.registry.protobuf.ProtobufDifference;
@@ -40,6 +41,7 @@ import io.apicurio.registry.serde.SchemaResolver;
 import io.apicurio.registry.serde.protobuf.ref.RefOuterClass.Ref;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
+import io.apicurio.registry.utils.ConcurrentBoundedCache;
 import io.apicurio.registry.utils.IoUtil;
 
 /**
@@ -49,8 +51,15 @@ import io.apicurio.registry.utils.IoUtil;
  */
 public class ProtobufKafkaSerializer<U extends Message> extends AbstractKafkaSerializer<ProtobufSchema, U> {
 
+    private static final int SCHEMA_FROM_DATA_CACHE_MAX_SIZE = 1000;
+
     private Boolean validationEnabled;
 
+    /**
+     * Avoids converting the same file descriptor to its raw schema (and computing its content digest) for every record.
+     */
+    private final ConcurrentBoundedCache<FileDescriptor, ParsedSchema<ProtobufSchema>> schemaFromDataCache = new ConcurrentBoundedCache<>(SCHEMA_FROM_DATA_CACHE_MAX_SIZE);
+
     private ProtobufSerdeHeaders serdeHeaders;
     private ProtobufSchemaParser parser = new ProtobufSchemaParser();
 
@@ -95,8 +104,13 @@ public class ProtobufKafkaSerializer<U extends Message> extends AbstractKafkaSer
      */
     @Override
     protected ParsedSchema<ProtobufSchema> getSchemaFromData(U data) {
-        ProtoFileElement protoFileElement = parser.toProtoFileElement(data.getDescriptorForType().getFile());
-        ProtobufSchema protobufSchema = new ProtobufSchema(data.getDescriptorForType().getFile(), protoFileElement);
+        FileDescriptor fileDescriptor = data.getDescriptorForType().getFile();
+        return schemaFromDataCache.computeIfAbsent(fileDescriptor, this::toParsedSchema);
+    }
+
+    private ParsedSchema<ProtobufSchema> toParsedSchema(FileDescriptor fileDescriptor) {
+        ProtoFileElement protoFileElement = parser.toProtoFileElement(fileDescriptor);
+        ProtobufSchema protobufSchema = new ProtobufSchema(fileDescriptor, protoFileElement);
 
         byte[] rawSchema = IoUtil.toBytes(protoFileElement.toSchema());
 
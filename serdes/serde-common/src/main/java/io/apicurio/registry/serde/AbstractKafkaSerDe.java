@@ -110,6 +110,13 @@ public abstract class AbstractKafkaSerDe<T, U> extends SchemaResolverConfigurer<
         schemaResolver.reset();
     }
 
+    /**
+     * @return a snapshot of the schema cache counters of the schema resolver, or null if it has no cache
+     */
+    public ERCache.Stats getSchemaCacheStats() {
+        return schemaResolver.getSchemaCacheStats();
+    }
+
     protected boolean isKey() {
         return key;
     }
@@ -23,8 +23,8 @@ import org.apache.kafka.common.serialization.Serializer;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.config.BaseKafkaSerDeConfig;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
+import io.apicurio.registry.serde.utils.ReusableByteArrayOutputStream;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
@@ -36,6 +36,18 @@ import java.util.Optional;
  */
 public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T, U> implements Serializer<U> {
 
+    private static final int DEFAULT_SIZE_HINT = 256;
+
+    private boolean reuseBuffers;
+    private int maxRetainedBufferSize;
+    private ThreadLocal<ReusableByteArrayOutputStream> buffers;
+
+    /**
+     * Expected size of the next serialized record, learned from the previous ones.  Decays slowly,
+     * so that the buffer of a new record rarely has to grow.
+     */
+    private volatile int sizeHint = DEFAULT_SIZE_HINT;
+
     public AbstractKafkaSerializer() {
         super();
     }
@@ -58,6 +70,19 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
         super.configure(new BaseKafkaSerDeConfig(configs), isKey);
     }
 
+    /**
+     * @see io.apicurio.registry.serde.AbstractKafkaSerDe#configure(io.apicurio.registry.serde.config.BaseKafkaSerDeConfig, boolean)
+     */
+    @Override
+    protected void configure(BaseKafkaSerDeConfig config, boolean isKey) {
+        super.configure(config, isKey);
+        reuseBuffers = config.reuseBuffers();
+        maxRetainedBufferSize = config.getMaxRetainedBufferSize();
+        if (reuseBuffers && buffers == null) {
+            buffers = ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(sizeHint));
+        }
+    }
+
     /**
      * This method is useful in serdes such as AVRO, where the schema can be extracted from the data of the kafka record.
      * The result of this method is passed to the SchemaResolver, which then can use this schema to resolve the exact
@@ -91,11 +116,9 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
 
             SchemaLookupResult<T> schema = getSchemaResolver().resolveSchema(topic, headers, data, schemaFromData);
 
-            ParsedSchema<T> parsedSchema = new ParsedSchemaImpl<T>()
-                    .setRawSchema(schema.getRawSchema())
-                    .setParsedSchema(schema.getSchema());
+            ParsedSchema<T> parsedSchema = schema.toParsedSchema();
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ReusableByteArrayOutputStream out = outputBuffer();
             if (headersHandler != null && headers != null) {
                 headersHandler.writeHeaders(headers, schema.toArtifactReference());
                 serializeData(headers, parsedSchema, data, out);
@@ -104,10 +127,34 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
                 getIdHandler().writeId(schema.toArtifactReference(), out);
                 serializeData(parsedSchema, data, out);
             }
-            return out.toByteArray();
+            byte[] result = out.toByteArray();
+            releaseOutputBuffer(out);
+            return result;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private ReusableByteArrayOutputStream outputBuffer() {
+        if (reuseBuffers) {
+            ReusableByteArrayOutputStream out = buffers.get();
+            out.reset();
+            return out;
+        }
+        return new ReusableByteArrayOutputStream(sizeHint);
+    }
+
+    private void releaseOutputBuffer(ReusableByteArrayOutputStream out) {
+        int size = out.size();
+        int hint = sizeHint;
+        if (size > hint) {
+            sizeHint = size;
+        } else if (size < hint - (hint >> 2)) {
+            sizeHint = Math.max(size, hint - (hint >> 4));
+        }
+        if (reuseBuffers && out.capacity() > maxRetainedBufferSize) {
+            buffers.remove();
+        }
+    }
+
 }
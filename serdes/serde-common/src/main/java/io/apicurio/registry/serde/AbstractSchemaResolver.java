@@ -16,10 +16,15 @@
 
 package io.apicurio.registry.serde;
 
+import io.apicurio.registry.rest.client.AsyncRegistryClient;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.rest.client.RegistryClientFactory;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResult;
+import io.apicurio.registry.rest.v2.beans.ContentLookupResults;
+import io.apicurio.registry.rest.v2.beans.SearchedVersion;
 import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.rest.v2.beans.VersionSearchResults;
 import io.apicurio.registry.serde.config.DefaultSchemaResolverConfig;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
@@ -29,10 +34,17 @@ import io.apicurio.rest.client.auth.Auth;
 import io.apicurio.rest.client.auth.BasicAuth;
 import io.apicurio.rest.client.auth.OidcAuth;
 import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Default implemntation of {@link SchemaResolver}
@@ -42,6 +54,11 @@ import java.util.Optional;
  */
 public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S, T> {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractSchemaResolver.class);
+
+    private static final int PREFETCH_PAGE_SIZE = 100;
+    private static final int PREFETCH_CONCURRENCY = 4;
+
     protected final ERCache<SchemaLookupResult<S>> schemaCache = new ERCache<>();
 
     protected SchemaParser<S> schemaParser;
@@ -93,10 +110,15 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureLifetime(config.getCheckPeriod());
         schemaCache.configureRetryBackoff(config.getRetryBackoff());
         schemaCache.configureRetryCount(config.getRetryCount());
+        schemaCache.configureRefreshAhead(config.cacheRefreshAhead());
+        schemaCache.configureMaxStaleness(config.getCacheMaxStaleness());
+        schemaCache.configureMaxEntries(config.getCacheMaxEntries());
+        schemaCache.configureMaxBytes(config.getCacheMaxBytes());
+        schemaCache.configureWeigher(schema -> schema.getRawSchema() == null ? 0 : schema.getRawSchema().length);
 
         schemaCache.configureArtifactReferenceKeyExtractor(SchemaLookupResult::toArtifactReference);
         schemaCache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
-        schemaCache.configureContentKeyExtractor(schema -> Optional.ofNullable(schema.getRawSchema()).map(IoUtil::toString).orElse(null));
+        schemaCache.configureContentKeyExtractor(schema -> Optional.ofNullable(schema.getRawSchema()).map(Utils::contentDigest).orElse(null));
         schemaCache.configureContentIdKeyExtractor(SchemaLookupResult::getContentId);
         schemaCache.checkInitialized();
 
@@ -113,6 +135,53 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
             this.explicitArtifactVersion = artifactVersionOverride;
         }
 
+        if (config.prefetchArtifactVersions() && this.explicitArtifactId != null) {
+            prefetchArtifactVersions();
+        }
+    }
+
+    /**
+     * Loads all the versions of the explicitly configured artifact into the schema cache.  The content of each
+     * page of versions is fetched with a single lookup request, sent through an {@link AsyncRegistryClient} so that
+     * it overlaps with the listing of the next page (and with the lookups of the other pages).  The prefetch is
+     * best-effort, any version that is not prefetched is still loaded on demand.
+     */
+    protected void prefetchArtifactVersions() {
+        try (AsyncRegistryClient asyncClient = RegistryClientFactory.createAsync(client, PREFETCH_CONCURRENCY)) {
+            List<CompletableFuture<ContentLookupResults>> lookups = new ArrayList<>();
+            int offset = 0;
+            VersionSearchResults versions;
+            do {
+                versions = client.listArtifactVersions(explicitArtifactGroupId, explicitArtifactId, offset, PREFETCH_PAGE_SIZE);
+                List<Long> globalIds = new ArrayList<>(versions.getVersions().size());
+                for (SearchedVersion version : versions.getVersions()) {
+                    globalIds.add(version.getGlobalId());
+                }
+                if (!globalIds.isEmpty()) {
+                    lookups.add(asyncClient.getContentByGlobalIds(globalIds).toCompletableFuture());
+                }
+                offset += versions.getVersions().size();
+            } while (!versions.getVersions().isEmpty() && offset < versions.getCount());
+
+            for (CompletableFuture<ContentLookupResults> lookup : lookups) {
+                for (ContentLookupResult content : lookup.join().getResults()) {
+                    byte[] schema = content.getContent().getBytes(StandardCharsets.UTF_8);
+                    SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.builder();
+                    schemaCache.put(result
+                            .globalId(content.getGlobalId())
+                            .contentId(content.getContentId())
+                            .groupId(content.getGroupId())
+                            .artifactId(content.getArtifactId())
+                            .version(content.getVersion())
+                            .rawSchema(schema)
+                            .schema(schemaParser.parseSchema(schema))
+                            .build());
+                }
+            }
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Failed to prefetch the versions of artifact '{}', schemas will be loaded on demand.", explicitArtifactId, cause);
+        }
     }
 
     /**
@@ -187,6 +256,14 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         });
     }
 
+    /**
+     * @see io.apicurio.registry.serde.SchemaResolver#getSchemaCacheStats()
+     */
+    @Override
+    public ERCache.Stats getSchemaCacheStats() {
+        return this.schemaCache.getStats();
+    }
+
     /**
      * @see io.apicurio.registry.serde.SchemaResolver#reset()
      */
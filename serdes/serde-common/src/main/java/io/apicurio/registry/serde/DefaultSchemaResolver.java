@@ -147,12 +147,10 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
     private SchemaLookupResult<S> handleResolveSchemaByContent(ParsedSchema<S> parsedSchema,
                                                                final ArtifactReference artifactReference) {
 
-        String rawSchemaString = IoUtil.toString(parsedSchema.getRawSchema());
-
-        return schemaCache.getByContent(rawSchemaString, contentKey -> {
+        return schemaCache.getByContent(parsedSchema.getContentDigest(), contentDigestKey -> {
 
             VersionMetaData artifactMetadata = client.getArtifactVersionMetaDataByContent(
-                artifactReference.getGroupId(), artifactReference.getArtifactId(), true, IoUtil.toStream(contentKey));
+                artifactReference.getGroupId(), artifactReference.getArtifactId(), true, IoUtil.toStream(parsedSchema.getRawSchema()));
 
             SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.builder();
 
@@ -167,9 +165,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
     private SchemaLookupResult<S> handleAutoCreateArtifact(ParsedSchema<S> parsedSchema,
                                                            final ArtifactReference artifactReference) {
-        String rawSchemaString = IoUtil.toString(parsedSchema.getRawSchema());
-
-        return schemaCache.getByContent(rawSchemaString, contentKey -> {
+        return schemaCache.getByContent(parsedSchema.getContentDigest(), contentDigestKey -> {
 
             ArtifactMetaData artifactMetadata = client.createArtifact(artifactReference.getGroupId(), artifactReference.getArtifactId(), artifactReference.getVersion(),
                 schemaParser.artifactType(), this.autoCreateBehavior, false, IoUtil.toStream(parsedSchema.getRawSchema()));
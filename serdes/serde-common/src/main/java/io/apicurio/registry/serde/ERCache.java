@@ -18,27 +18,49 @@ package io.apicurio.registry.serde;
 
 import io.apicurio.registry.rest.client.exception.RateLimitedClientException;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * Expiration + Retry Cache
  *
+ * The cache can optionally be bounded by the number of entries and/or by the estimated size of the
+ * entries (see {@link #configureMaxEntries(long)} and {@link #configureMaxBytes(long)}).  When a bound
+ * is exceeded the least recently used entries are evicted.  Loading is single-flight per key, so when an
+ * entry is missing or expired only one caller invokes the loader function, while concurrent callers for
+ * the same key wait for its result.  A throttled load is retried after the backoff on a timer rather than
+ * by sleeping in the loading thread.
+ *
+ * In refresh-ahead mode (see {@link #configureRefreshAhead(boolean)}) an expired value is still returned
+ * to the caller, up to a maximum staleness, while a single background thread reloads it.
+ *
  * @author Jakub Senko
  */
 public class ERCache<V> {
 
+    private static final Logger log = LoggerFactory.getLogger(ERCache.class);
+
     /**
      * ArtifactReference = Artifact reference
      * Long = Global ID
-     * String = Content
+     * String = Content digest
      * Long = Content ID
      * V = Schema lookup result
      */
@@ -47,6 +69,30 @@ public class ERCache<V> {
     private final Map<String, WrappedValue<V>> index3 = new ConcurrentHashMap<>();
     private final Map<Long, WrappedValue<V>> index4 = new ConcurrentHashMap<>();
 
+    /**
+     * All the values currently referenced by at least one index, in access order, used for eviction.
+     * Guarded by its own lock.  Cache hits only update the access order when the cache is bounded, so
+     * an unbounded cache (the default) never takes the lock on a hit.
+     */
+    private final LinkedHashMap<WrappedValue<V>, Boolean> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WrappedValue<V>, Boolean> eldest) {
+            if (maxEntries > 0 && size() > maxEntries) {
+                unindex(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    private long totalWeight;
+
+    /**
+     * Loads in progress, keyed by index + key.
+     */
+    private final Map<LoadKey, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
     private Function<V, ArtifactReference> keyExtractor1;
     private Function<V, Long> keyExtractor2;
     private Function<V, String> keyExtractor3;
@@ -56,6 +102,21 @@ public class ERCache<V> {
     private Duration backoff = Duration.ofMillis(200);
     private long retries;
 
+    private boolean refreshAhead;
+    private Duration maxStaleness = Duration.ZERO;
+
+    private long maxEntries;
+    private long maxBytes;
+    private ToLongFunction<V> weigher = v -> 0L;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
     // === Configuration
 
     public void configureLifetime(Duration lifetime) {
@@ -70,6 +131,36 @@ public class ERCache<V> {
         this.retries = retries;
     }
 
+    /**
+     * @param maxEntries maximum number of cached values, 0 means unbounded
+     */
+    public void configureMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param maxBytes maximum total weight of the cached values as computed by the configured weigher, 0 means unbounded
+     */
+    public void configureMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * When enabled, an expired value keeps being returned while it is reloaded in the background,
+     * as long as it has not been expired for longer than the configured max staleness.
+     */
+    public void configureRefreshAhead(boolean refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public void configureMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public void configureWeigher(ToLongFunction<V> weigher) {
+        this.weigher = weigher;
+    }
+
     public void configureArtifactReferenceKeyExtractor(Function<V, ArtifactReference> keyExtractor) {
         this.keyExtractor1 = keyExtractor;
     }
@@ -90,6 +181,8 @@ public class ERCache<V> {
         boolean initialized = keyExtractor1 != null && keyExtractor2 != null &&
             keyExtractor3 != null && keyExtractor4 != null;
         initialized = initialized && lifetime != null && backoff != null && retries >= 0;
+        initialized = initialized && maxStaleness != null;
+        initialized = initialized && maxEntries >= 0 && maxBytes >= 0 && weigher != null;
         if (!initialized)
             throw new IllegalStateException("Not properly initialized!");
     }
@@ -97,8 +190,7 @@ public class ERCache<V> {
     // === Specific
 
     public V getByArtifactReference(ArtifactReference key, Function<ArtifactReference, V> loaderFunction) {
-        WrappedValue<V> value = this.index1.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(1, index1, key, loaderFunction);
     }
 
     public boolean containsByArtifactReference(ArtifactReference key) {
@@ -107,103 +199,289 @@ public class ERCache<V> {
     }
 
     public V getByGlobalId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index2.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(2, index2, key, loaderFunction);
     }
 
     public V getByContent(String key, Function<String, V> loaderFunction) {
-        WrappedValue<V> value = this.index3.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(3, index3, key, loaderFunction);
     }
 
     public V getByContentId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index4.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(4, index4, key, loaderFunction);
+    }
+
+    /**
+     * Adds a value that was loaded up-front (e.g. prefetched in bulk) to the cache, under all of its keys.
+     */
+    public void put(V value) {
+        reindex(new WrappedValue<>(lifetime, Instant.now(), value, weigher.applyAsLong(value)));
     }
 
     // === Generic
 
-    private <T> V getValue(WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
-        V result = value != null ? value.value : null;
+    private <T> V getValue(int indexId, Map<T, WrappedValue<V>> index, T key, Function<T, V> loaderFunction) {
+        WrappedValue<V> value = index.get(key);
+        if (value != null && !value.isExpired()) {
+            hits.increment();
+            touch(value);
+            return value.value;
+        }
+
+        if (value != null && refreshAhead && !value.isStale(maxStaleness)) {
+            // Serve the expired value while it's being reloaded in the background
+            staleHits.increment();
+            touch(value);
+            refreshAsync(new LoadKey(indexId, key), key, loaderFunction);
+            return value.value;
+        }
+        misses.increment();
+
+        LoadKey loadKey = new LoadKey(indexId, key);
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inProgress = loading.putIfAbsent(loadKey, future);
+        if (inProgress != null) {
+            // Another caller is already loading this key, wait for its result
+            return await(inProgress);
+        }
+
+        try {
+            // The value may have been loaded while we were registering the future
+            value = index.get(key);
+            if (value != null && !value.isExpired()) {
+                touch(value);
+                future.complete(value.value);
+                return value.value;
+            }
+            return load(future, key, loaderFunction);
+        } finally {
+            loading.remove(loadKey, future);
+        }
+    }
 
-        if (value == null || value.isExpired()) {
-            // With retry
-            Result<V, RuntimeException> newValue = retry(backoff, retries, () -> {
-                return loaderFunction.apply(key);
+    /**
+     * Reloads the given key on the refresh thread, unless a load of the key is already in progress.
+     * If the reload fails the current (expired) value is kept.
+     */
+    private <T> void refreshAsync(LoadKey loadKey, T key, Function<T, V> loaderFunction) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        if (loading.putIfAbsent(loadKey, future) != null) {
+            return;
+        }
+        try {
+            refreshExecutor().execute(() -> {
+                try {
+                    load(future, key, loaderFunction);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh the cached schema for key '{}', keeping the current value.", key, e);
+                } finally {
+                    loading.remove(loadKey, future);
+                }
             });
-            if (newValue.isOk()) {
-                // Index
-                reindex(new WrappedValue<>(lifetime, Instant.now(), newValue.ok));
-                // Return
-                result = newValue.ok;
-            } else {
-                throw newValue.error;
+        } catch (RuntimeException e) {
+            loading.remove(loadKey, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> V load(CompletableFuture<V> future, T key, Function<T, V> loaderFunction) {
+        attempt(future, key, loaderFunction, 0, System.nanoTime());
+        return await(future);
+    }
+
+    /**
+     * Calls the loader function and completes the future with its result.  A throttled call is retried
+     * after the backoff on the delayed executor, so no thread sleeps while waiting for the retry.
+     */
+    private <T> void attempt(CompletableFuture<V> future, T key, Function<T, V> loaderFunction, long attempt, long start) {
+        V value;
+        try {
+            value = loaderFunction.apply(key);
+        } catch (RuntimeException e) {
+            // Fail if we are not going to retry any more OR
+            // the exception is NOT caused by throttling. This prevents
+            // retries in cases where it does not make sense,
+            // e.g. an ArtifactNotFoundException is thrown.
+            // TODO Add additional exceptions that should cause a retry.
+            if (attempt < retries && e instanceof RateLimitedClientException) {
+                try {
+                    CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(future, key, loaderFunction, attempt + 1, start));
+                    return;
+                } catch (RuntimeException rejected) {
+                    e.addSuppressed(rejected);
+                }
             }
+            loadFailed(future, e, start);
+            return;
         }
 
-        return result;
+        if (value == null) {
+            loadFailed(future, new NullPointerException("Could not retrieve schema for the cache. " +
+                "Loading function returned null."), start);
+            return;
+        }
+        totalLoadTimeNanos.add(System.nanoTime() - start);
+        loadSuccesses.increment();
+        try {
+            reindex(new WrappedValue<>(lifetime, Instant.now(), value, weigher.applyAsLong(value)));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        future.complete(value);
     }
 
-    private void reindex(WrappedValue<V> newValue) {
-        Optional.ofNullable(keyExtractor1.apply(newValue.value)).ifPresent(k -> index1.put(k, newValue));
-        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> index2.put(k, newValue));
-        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> index3.put(k, newValue));
-        Optional.ofNullable(keyExtractor4.apply(newValue.value)).ifPresent(k -> index4.put(k, newValue));
+    private void loadFailed(CompletableFuture<V> future, RuntimeException e, long start) {
+        totalLoadTimeNanos.add(System.nanoTime() - start);
+        loadFailures.increment();
+        future.completeExceptionally(e);
     }
 
-    public void clear() {
-        index1.clear();
-        index2.clear();
-        index3.clear();
-        index4.clear();
+    private static Executor refreshExecutor() {
+        return RefreshExecutorHolder.EXECUTOR;
     }
 
-    // === Util & Other
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-    private static <T> Result<T, RuntimeException> retry(Duration backoff, long retries, Supplier<T> supplier) {
-        if (retries < 0)
-            throw new IllegalArgumentException();
-        Objects.requireNonNull(supplier);
-        Objects.requireNonNull(backoff);
-
-        for (long i = 0; i <= retries; i++) {
-            try {
-                T value = supplier.get();
-                if (value != null)
-                    return Result.ok(value);
-                else {
-                    return Result.error(new NullPointerException("Could not retrieve schema for the cache. " +
-                        "Loading function returned null."));
-                }
-            } catch (RuntimeException e) {
-                // Rethrow the exception if we are not going to retry any more OR
-                // the exception is NOT caused by throttling. This prevents
-                // retries in cases where it does not make sense,
-                // e.g. an ArtifactNotFoundException is thrown.
-                // TODO Add additional exceptions that should cause a retry.
-                if (i == retries || !(e instanceof RateLimitedClientException))
-                    return Result.error(e);
+    private void reindex(WrappedValue<V> newValue) {
+        newValue.key1 = keyExtractor1.apply(newValue.value);
+        newValue.key2 = keyExtractor2.apply(newValue.value);
+        newValue.key3 = keyExtractor3.apply(newValue.value);
+        newValue.key4 = keyExtractor4.apply(newValue.value);
+
+        synchronized (entries) {
+            totalWeight += newValue.weight;
+
+            if (newValue.key1 != null) {
+                release(index1.put(newValue.key1, newValue));
+            }
+            if (newValue.key2 != null) {
+                release(index2.put(newValue.key2, newValue));
             }
-            try {
-                Thread.sleep(backoff.toMillis());
-            } catch (InterruptedException e) {
-                // Ignore
-                e.printStackTrace();
+            if (newValue.key3 != null) {
+                release(index3.put(newValue.key3, newValue));
             }
+            if (newValue.key4 != null) {
+                release(index4.put(newValue.key4, newValue));
+            }
+
+            // Evicts the eldest entry if there are too many
+            entries.put(newValue, Boolean.TRUE);
+            evictOverweight();
         }
-        return Result.error(new IllegalStateException("Unreachable."));
     }
 
+    /**
+     * Marks the value as the most recently used one.  Only needed (and only done) when the cache is bounded.
+     */
+    private void touch(WrappedValue<V> value) {
+        if (maxEntries > 0 || maxBytes > 0) {
+            synchronized (entries) {
+                entries.get(value);
+            }
+        }
+    }
+
+    /**
+     * Forget a value that has been replaced in one of the indexes, if no other index references it.
+     */
+    private void release(WrappedValue<V> oldValue) {
+        if (oldValue == null) {
+            return;
+        }
+        boolean referenced = (oldValue.key1 != null && index1.get(oldValue.key1) == oldValue) ||
+            (oldValue.key2 != null && index2.get(oldValue.key2) == oldValue) ||
+            (oldValue.key3 != null && index3.get(oldValue.key3) == oldValue) ||
+            (oldValue.key4 != null && index4.get(oldValue.key4) == oldValue);
+        if (!referenced && entries.remove(oldValue) != null) {
+            totalWeight -= oldValue.weight;
+        }
+    }
+
+    /**
+     * Evicts the least recently used values until the total weight is within its bound.
+     */
+    private void evictOverweight() {
+        Iterator<WrappedValue<V>> eldest = entries.keySet().iterator();
+        while (maxBytes > 0 && totalWeight > maxBytes && entries.size() > 1) {
+            WrappedValue<V> victim = eldest.next();
+            eldest.remove();
+            unindex(victim);
+        }
+    }
+
+    /**
+     * Removes an evicted value from the indexes, called with the entries lock held.
+     */
+    private void unindex(WrappedValue<V> victim) {
+        totalWeight -= victim.weight;
+        evictions.increment();
+        if (victim.key1 != null) {
+            index1.remove(victim.key1, victim);
+        }
+        if (victim.key2 != null) {
+            index2.remove(victim.key2, victim);
+        }
+        if (victim.key3 != null) {
+            index3.remove(victim.key3, victim);
+        }
+        if (victim.key4 != null) {
+            index4.remove(victim.key4, victim);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            index1.clear();
+            index2.clear();
+            index3.clear();
+            index4.clear();
+            entries.clear();
+            totalWeight = 0;
+        }
+    }
+
+    // === Stats
+
+    /**
+     * @return a snapshot of the cache counters
+     */
+    public Stats getStats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), staleHits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(),
+                totalLoadTimeNanos.sum(), evictions.sum(), entries.size(), totalWeight);
+        }
+    }
+
+    // === Util & Other
+
     private static class WrappedValue<V> {
 
         private final Duration lifetime;
         private final Instant lastUpdate;
         private final V value;
+        private final long weight;
 
-        public WrappedValue(Duration lifetime, Instant lastUpdate, V value) {
+        private ArtifactReference key1;
+        private Long key2;
+        private String key3;
+        private Long key4;
+
+        public WrappedValue(Duration lifetime, Instant lastUpdate, V value, long weight) {
             this.lifetime = lifetime;
             this.lastUpdate = lastUpdate;
             this.value = value;
+            this.weight = weight;
         }
 
         public V getValue() {
@@ -213,6 +491,129 @@ public class ERCache<V> {
         public boolean isExpired() {
             return lastUpdate.plus(lifetime).isBefore(Instant.now());
         }
+
+        /**
+         * @return true if the value has been expired for longer than the given duration
+         */
+        public boolean isStale(Duration maxStaleness) {
+            return lastUpdate.plus(lifetime).plus(maxStaleness).isBefore(Instant.now());
+        }
+    }
+
+    /**
+     * Lazily creates the daemon thread shared by all the caches to refresh expired values.
+     */
+    private static class RefreshExecutorHolder {
+
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "apicurio-registry-schema-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class LoadKey {
+
+        private final int index;
+        private final Object key;
+
+        public LoadKey(int index, Object key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            LoadKey other = (LoadKey) o;
+            return index == other.index && Objects.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * index + Objects.hashCode(key);
+        }
+    }
+
+    public static class Stats {
+
+        private final long hitCount;
+        private final long staleHitCount;
+        private final long missCount;
+        private final long loadSuccessCount;
+        private final long loadFailureCount;
+        private final long totalLoadTimeNanos;
+        private final long evictionCount;
+        private final long size;
+        private final long weight;
+
+        public Stats(long hitCount, long staleHitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                     long totalLoadTimeNanos, long evictionCount, long size, long weight) {
+            this.hitCount = hitCount;
+            this.staleHitCount = staleHitCount;
+            this.missCount = missCount;
+            this.loadSuccessCount = loadSuccessCount;
+            this.loadFailureCount = loadFailureCount;
+            this.totalLoadTimeNanos = totalLoadTimeNanos;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of expired values returned while being refreshed in the background
+         */
+        public long getStaleHitCount() {
+            return staleHitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getLoadSuccessCount() {
+            return loadSuccessCount;
+        }
+
+        public long getLoadFailureCount() {
+            return loadFailureCount;
+        }
+
+        public long getTotalLoadTimeNanos() {
+            return totalLoadTimeNanos;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of cached values
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the total weight of the cached values, in bytes
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats [hitCount=" + hitCount + ", staleHitCount=" + staleHitCount + ", missCount=" + missCount + ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount + ", totalLoadTimeNanos=" + totalLoadTimeNanos +
+                ", evictionCount=" + evictionCount + ", size=" + size + ", weight=" + weight + "]";
+        }
     }
 
     public static class Result<T, E extends Exception> {
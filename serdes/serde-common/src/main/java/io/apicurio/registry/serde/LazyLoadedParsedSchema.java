@@ -31,6 +31,8 @@ public class LazyLoadedParsedSchema<T> implements ParsedSchema<T> {
 
     private Supplier<Optional<ParsedSchema<T>>> schemaLoader;
 
+    private String contentDigest;
+
     public LazyLoadedParsedSchema(Supplier<Optional<ParsedSchema<T>>> schemaLoader) {
         this.schemaLoader = schemaLoader;
     }
@@ -57,4 +59,18 @@ public class LazyLoadedParsedSchema<T> implements ParsedSchema<T> {
         return value.map(ParsedSchema<T>::getRawSchema).orElse(null);
     }
 
+    /**
+     * @see io.apicurio.registry.serde.ParsedSchema#getContentDigest()
+     */
+    @Override
+    public String getContentDigest() {
+        if (contentDigest == null) {
+            if (value == null) {
+                value = schemaLoader.get();
+            }
+            contentDigest = value.map(ParsedSchema<T>::getContentDigest).orElse(null);
+        }
+        return contentDigest;
+    }
+
 }
@@ -44,7 +44,10 @@ public class Legacy4ByteIdHandler implements IdHandler {
         } else {
             id = reference.getGlobalId();
         }
-        out.write(ByteBuffer.allocate(idSize).putInt((int) id).array());
+        int intId = (int) id;
+        for (int shift = (idSize - 1) * 8; shift >= 0; shift -= 8) {
+            out.write(intId >>> shift);
+        }
     }
 
     /**
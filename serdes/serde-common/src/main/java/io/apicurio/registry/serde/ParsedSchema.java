@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.serde;
 
+import io.apicurio.registry.serde.utils.Utils;
+
 /**
  * @author Fabian Martinez
  */
@@ -31,4 +33,13 @@ public interface ParsedSchema<T> {
      */
     public byte[] getRawSchema();
 
+    /**
+     * @return a digest of the rawSchema, used to lookup schemas by content without using the whole content as key.
+     *         Implementations are encouraged to compute it only once.
+     */
+    public default String getContentDigest() {
+        byte[] rawSchema = getRawSchema();
+        return rawSchema == null ? null : Utils.contentDigest(rawSchema);
+    }
+
 }
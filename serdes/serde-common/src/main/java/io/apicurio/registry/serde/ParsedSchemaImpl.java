@@ -23,6 +23,7 @@ public class ParsedSchemaImpl<T> implements ParsedSchema<T> {
 
     private T parsedSchema;
     private byte[] rawSchema;
+    private String contentDigest;
 
     public ParsedSchemaImpl() {
         //empty
@@ -57,6 +58,18 @@ public class ParsedSchemaImpl<T> implements ParsedSchema<T> {
      */
     public ParsedSchemaImpl<T> setRawSchema(byte[] rawSchema) {
         this.rawSchema = rawSchema;
+        this.contentDigest = null;
         return this;
     }
+
+    /**
+     * @see io.apicurio.registry.serde.ParsedSchema#getContentDigest()
+     */
+    @Override
+    public String getContentDigest() {
+        if (contentDigest == null && rawSchema != null) {
+            contentDigest = ParsedSchema.super.getContentDigest();
+        }
+        return contentDigest;
+    }
 }
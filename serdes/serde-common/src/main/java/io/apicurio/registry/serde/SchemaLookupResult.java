@@ -32,6 +32,9 @@ public class SchemaLookupResult<T> {
     private String artifactId;
     private String version;
 
+    private ArtifactReference artifactReference;
+    private ParsedSchema<T> parsedSchema;
+
     private SchemaLookupResult() {
         //empty initialize manually
     }
@@ -86,13 +89,29 @@ public class SchemaLookupResult<T> {
     }
 
     public ArtifactReference toArtifactReference() {
-        return ArtifactReference.builder()
-                .globalId(this.getGlobalId())
-                .contentId(this.getContentId())
-                .groupId(this.getGroupId())
-                .artifactId(this.getArtifactId())
-                .version(this.getVersion())
-                .build();
+        // ArtifactReference is immutable, it's safe to compute it only once
+        if (artifactReference == null) {
+            artifactReference = ArtifactReference.builder()
+                    .globalId(this.getGlobalId())
+                    .contentId(this.getContentId())
+                    .groupId(this.getGroupId())
+                    .artifactId(this.getArtifactId())
+                    .version(this.getVersion())
+                    .build();
+        }
+        return artifactReference;
+    }
+
+    /**
+     * @return the raw and parsed schema of this result, as a {@link ParsedSchema} computed only once
+     */
+    public ParsedSchema<T> toParsedSchema() {
+        if (parsedSchema == null) {
+            parsedSchema = new ParsedSchemaImpl<T>()
+                    .setRawSchema(this.getRawSchema())
+                    .setParsedSchema(this.getSchema());
+        }
+        return parsedSchema;
     }
 
     public static <T> SchemaLookupResultBuilder<T> builder() {
@@ -64,4 +64,12 @@ public interface SchemaResolver<SCHEMA, DATA> {
      */
     public void reset();
 
+    /**
+     * @return a snapshot of the schema cache counters (hits, misses, loads, evictions, ...),
+     * or null if the resolver doesn't cache the schemas
+     */
+    default ERCache.Stats getSchemaCacheStats() {
+        return null;
+    }
+
 }
@@ -186,6 +186,45 @@ public class SerdeConfig {
     public static final String RETRY_BACKOFF_MS = "apicurio.registry.retry-backoff-ms";
     public static final long RETRY_BACKOFF_MS_DEFAULT = 300;
 
+    /**
+     * Maximum number of schemas kept in the serdes schema cache.  When the limit is reached the least recently
+     * used schemas are evicted.  The default value 0 means the cache is unbounded.
+     */
+    public static final String CACHE_MAX_ENTRIES = "apicurio.registry.cache.max-entries";
+    public static final long CACHE_MAX_ENTRIES_DEFAULT = 0;
+
+    /**
+     * Maximum total size, in bytes, of the raw schemas kept in the serdes schema cache.  When the limit is reached
+     * the least recently used schemas are evicted.  The default value 0 means the cache is unbounded.
+     */
+    public static final String CACHE_MAX_BYTES = "apicurio.registry.cache.max-bytes";
+    public static final long CACHE_MAX_BYTES_DEFAULT = 0;
+
+    /**
+     * Boolean to enable the refresh-ahead mode of the serdes schema cache.  When enabled, a schema whose
+     * {@link SerdeConfig#CHECK_PERIOD_MS} has elapsed keeps being used while it is reloaded from the registry
+     * in the background, so serialization and deserialization are not blocked by the reload.  If the reload
+     * fails the previously cached schema is kept.
+     */
+    public static final String CACHE_REFRESH_AHEAD = "apicurio.registry.cache.refresh-ahead";
+    public static final boolean CACHE_REFRESH_AHEAD_DEFAULT = false;
+
+    /**
+     * Only applicable when {@link SerdeConfig#CACHE_REFRESH_AHEAD} is enabled.  Maximum time, in milliseconds,
+     * a schema may be used after its {@link SerdeConfig#CHECK_PERIOD_MS} has elapsed.  After that the schema
+     * is reloaded synchronously.
+     */
+    public static final String CACHE_MAX_STALENESS_MS = "apicurio.registry.cache.max-staleness-ms";
+    public static final long CACHE_MAX_STALENESS_MS_DEFAULT = 300000;
+
+    /**
+     * Boolean to prefetch all the versions of the explicitly configured artifact (see {@link SerdeConfig#EXPLICIT_ARTIFACT_ID})
+     * into the schema cache when the serdes are configured.  All the versions are fetched with a single request
+     * (per page of versions), so a consumer does not need one request per schema version when it starts.
+     */
+    public static final String PREFETCH_ARTIFACT_VERSIONS = "apicurio.registry.prefetch-artifact-versions";
+    public static final boolean PREFETCH_ARTIFACT_VERSIONS_DEFAULT = false;
+
     /**
      * Configures the serdes to use the specified {@link IdOption} as the identifier for the artifacts.
      * Instructs the serializer to write the specified id into the kafka records and
@@ -231,6 +270,22 @@ public class SerdeConfig {
      */
     public static final String REQUEST_KEY_PASSWORD = ClientConfig.REGISTRY_REQUEST_KEY_PASSWORD;
 
+    /**
+     * Boolean to enable the reuse of per-thread output buffers by serializer classes.  When enabled, each
+     * thread serializes records into its own buffer, which is kept between records instead of allocating and
+     * growing a new one for every record.  Buffers larger than {@link SerdeConfig#SERIALIZER_MAX_RETAINED_BUFFER_SIZE}
+     * are not kept.
+     */
+    public static final String SERIALIZER_REUSE_BUFFERS = "apicurio.registry.serializer.reuse-buffers";
+    public static final boolean SERIALIZER_REUSE_BUFFERS_DEFAULT = false;
+
+    /**
+     * Only applicable when {@link SerdeConfig#SERIALIZER_REUSE_BUFFERS} is enabled.  Maximum size, in bytes,
+     * of a per-thread output buffer kept between records.
+     */
+    public static final String SERIALIZER_MAX_RETAINED_BUFFER_SIZE = "apicurio.registry.serializer.max-retained-buffer-size";
+    public static final int SERIALIZER_MAX_RETAINED_BUFFER_SIZE_DEFAULT = 1024 * 1024;
+
     /**
      * Boolean used to enable or disable validation. Not applicable to all serde classes.  For example, the
      * JSON Schema serde classes use this to enable or disable JSON Schema validation (unlike Avro, the JSON
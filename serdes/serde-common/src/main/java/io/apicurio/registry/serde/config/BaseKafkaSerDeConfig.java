@@ -36,7 +36,9 @@ public class BaseKafkaSerDeConfig extends AbstractConfig {
                 .define(ENABLE_CONFLUENT_ID_HANDLER, Type.BOOLEAN, false, Importance.LOW, "TODO docs")
                 .define(ENABLE_HEADERS, Type.BOOLEAN, ENABLE_HEADERS_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(HEADERS_HANDLER, Type.CLASS, HEADERS_HANDLER_DEFAULT, Importance.MEDIUM, "TODO docs")
-                .define(USE_ID, Type.STRING, USE_ID_DEFAULT, Importance.MEDIUM, "TODO docs");
+                .define(USE_ID, Type.STRING, USE_ID_DEFAULT, Importance.MEDIUM, "TODO docs")
+                .define(SERIALIZER_REUSE_BUFFERS, Type.BOOLEAN, SERIALIZER_REUSE_BUFFERS_DEFAULT, Importance.LOW, "TODO docs")
+                .define(SERIALIZER_MAX_RETAINED_BUFFER_SIZE, Type.INT, SERIALIZER_MAX_RETAINED_BUFFER_SIZE_DEFAULT, Importance.LOW, "TODO docs");
         return configDef;
     }
 
@@ -68,4 +70,12 @@ public class BaseKafkaSerDeConfig extends AbstractConfig {
         return IdOption.valueOf(this.getString(USE_ID));
     }
 
+    public boolean reuseBuffers() {
+        return this.getBoolean(SERIALIZER_REUSE_BUFFERS);
+    }
+
+    public int getMaxRetainedBufferSize() {
+        return this.getInt(SERIALIZER_MAX_RETAINED_BUFFER_SIZE);
+    }
+
 }
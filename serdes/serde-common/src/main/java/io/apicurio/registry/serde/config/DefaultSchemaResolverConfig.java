@@ -52,6 +52,11 @@ public class DefaultSchemaResolverConfig extends BaseKafkaSerDeConfig {
                 .define(CHECK_PERIOD_MS, Type.LONG, CHECK_PERIOD_MS_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(RETRY_COUNT, Type.LONG, RETRY_COUNT_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(RETRY_BACKOFF_MS, Type.LONG, RETRY_BACKOFF_MS_DEFAULT, Importance.MEDIUM, "TODO docs")
+                .define(CACHE_MAX_ENTRIES, Type.LONG, CACHE_MAX_ENTRIES_DEFAULT, Importance.LOW, "TODO docs")
+                .define(CACHE_MAX_BYTES, Type.LONG, CACHE_MAX_BYTES_DEFAULT, Importance.LOW, "TODO docs")
+                .define(CACHE_REFRESH_AHEAD, Type.BOOLEAN, CACHE_REFRESH_AHEAD_DEFAULT, Importance.LOW, "TODO docs")
+                .define(CACHE_MAX_STALENESS_MS, Type.LONG, CACHE_MAX_STALENESS_MS_DEFAULT, Importance.LOW, "TODO docs")
+                .define(PREFETCH_ARTIFACT_VERSIONS, Type.BOOLEAN, PREFETCH_ARTIFACT_VERSIONS_DEFAULT, Importance.LOW, "TODO docs")
 
                 .define(EXPLICIT_ARTIFACT_GROUP_ID, Type.STRING, null, Importance.MEDIUM, "TODO docs")
                 .define(EXPLICIT_ARTIFACT_ID, Type.STRING, null, Importance.MEDIUM, "TODO docs");
@@ -127,6 +132,26 @@ public class DefaultSchemaResolverConfig extends BaseKafkaSerDeConfig {
         return extractDurationMillis(this.get(RETRY_BACKOFF_MS), RETRY_BACKOFF_MS);
     }
 
+    public long getCacheMaxEntries() {
+        return extractNonNegativeLong(this.get(CACHE_MAX_ENTRIES), CACHE_MAX_ENTRIES);
+    }
+
+    public long getCacheMaxBytes() {
+        return extractNonNegativeLong(this.get(CACHE_MAX_BYTES), CACHE_MAX_BYTES);
+    }
+
+    public boolean cacheRefreshAhead() {
+        return this.getBoolean(CACHE_REFRESH_AHEAD);
+    }
+
+    public Duration getCacheMaxStaleness() {
+        return extractDurationMillis(this.get(CACHE_MAX_STALENESS_MS), CACHE_MAX_STALENESS_MS);
+    }
+
+    public boolean prefetchArtifactVersions() {
+        return this.getBoolean(PREFETCH_ARTIFACT_VERSIONS);
+    }
+
     public String getExplicitArtifactGroupId() {
         return this.getString(EXPLICIT_ARTIFACT_GROUP_ID);
     }
@@ -164,6 +189,14 @@ public class DefaultSchemaResolverConfig extends BaseKafkaSerDeConfig {
         return Duration.ofMillis(result);
     }
 
+    private static long extractNonNegativeLong(Object value, String configurationName) {
+        long result = extractLong(value, configurationName);
+        if (result < 0) {
+            throw new IllegalArgumentException("Config param '" + configurationName + "' must be non-negative. Got '" + result + "'.");
+        }
+        return result;
+    }
+
     private static long extractLong(Object value, String configurationName) {
         Objects.requireNonNull(value);
         Objects.requireNonNull(configurationName);
@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.serde.utils;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.function.Consumer;
 
 /**
@@ -64,4 +66,26 @@ public class Utils {
         }
     }
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Computes a compact digest (SHA-256, hex encoded) of the given raw schema, suitable as a cache key
+     * instead of the whole schema content.
+     * @param rawSchema
+     */
+    public static String contentDigest(byte[] rawSchema) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(rawSchema);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.storage.impl.kafkasql.keys.ContentKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
+import io.apicurio.registry.storage.impl.kafkasql.values.AbstractMessageValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import io.apicurio.registry.types.RegistryException;
+
+/**
+ * Applies the journal records consumed by the KSQL consumer thread to the {@link KafkaSqlSink}.  With a single
+ * thread every record is applied directly on the consumer thread.  With more threads, records that only affect
+ * a single artifact (or a single content) are applied in parallel "lanes", chosen by the record's partition key
+ * so that the records of the same artifact are still applied in journal order.  Records that may affect other
+ * artifacts (deletes, imports, groups, rules, ids, ...) act as barriers: every record before them is applied
+ * first, then they are applied on the consumer thread.  A new version that references content added by an earlier
+ * record waits for that content to be stored.
+ *
+ * The number of records dispatched but not yet applied is bounded, which blocks the consumer thread (and so
+ * slows down polling) when the lanes fall behind.
+ */
+public class KafkaSqlApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaSqlApplier.class);
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final KafkaSqlSink sink;
+    private final ExecutorService[] lanes;
+    private final CompletableFuture<?>[] tails;
+    private final Semaphore pending;
+    private final Map<String, CompletableFuture<?>> pendingContent = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * @param sink
+     * @param threads the number of lanes, 1 applies every record on the calling thread
+     * @param queueSize the maximum number of records dispatched to the lanes but not yet applied
+     */
+    public KafkaSqlApplier(KafkaSqlSink sink, int threads, int queueSize) {
+        this.sink = sink;
+        int laneCount = threads > 1 ? threads : 0;
+        this.lanes = new ExecutorService[laneCount];
+        this.tails = new CompletableFuture<?>[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            final int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                thread.setName("KSQL Apply Thread " + lane);
+                return thread;
+            });
+            tails[i] = DONE;
+        }
+        this.pending = new Semaphore(Math.max(1, queueSize));
+    }
+
+    /**
+     * Applies (or schedules) the given record.  Must always be called from the same (consumer) thread.
+     * @param record
+     */
+    public void apply(ConsumerRecord<MessageKey, MessageValue> record) {
+        if (lanes.length == 0 || isBarrier(record)) {
+            drain();
+            sink.processMessage(record);
+            return;
+        }
+
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryException("[KafkaSqlApplier] Thread interrupted waiting to apply a journal record.", e);
+        }
+
+        MessageKey key = record.key();
+        int lane = Utils.toPositive(Utils.murmur2(key.getPartitionKey().getBytes())) % lanes.length;
+
+        CompletableFuture<?> after = tails[lane];
+        String contentDependency = contentDependency(record);
+        if (contentDependency != null) {
+            CompletableFuture<?> content = pendingContent.get(contentDependency);
+            if (content != null) {
+                after = CompletableFuture.allOf(after, content);
+            }
+        }
+
+        CompletableFuture<Void> applied = after.thenRunAsync(() -> {
+            try {
+                sink.processMessage(record);
+            } catch (Throwable t) {
+                // processMessage() reports failures to the waiting thread, this is only a safety net
+                // to make sure the lane keeps going
+                log.error("Unexpected error applying journal record with key: {}", key, t);
+            } finally {
+                pending.release();
+            }
+        }, lanes[lane]);
+        tails[lane] = applied;
+
+        if (key instanceof ContentKey) {
+            String contentKey = contentKey(key.getTenantId(), ((ContentKey) key).getContentHash());
+            pendingContent.put(contentKey, applied);
+            applied.thenRun(() -> pendingContent.remove(contentKey, applied));
+        }
+    }
+
+    /**
+     * Waits until every record dispatched so far has been applied.  Must be called from the consumer thread.
+     */
+    public void drain() {
+        if (lanes.length > 0) {
+            CompletableFuture.allOf(tails).join();
+        }
+    }
+
+    /**
+     * Stops the lanes.
+     */
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records that only affect a single artifact (or content) can be applied in a lane, everything else must
+     * be applied in journal order relative to all other records.
+     */
+    private static boolean isBarrier(ConsumerRecord<MessageKey, MessageValue> record) {
+        ActionType action = ((AbstractMessageValue) record.value()).getAction();
+        switch (record.key().getType()) {
+            case Artifact:
+                // Deleting an artifact also deletes orphaned content
+                return action != ActionType.CREATE && action != ActionType.UPDATE;
+            case ArtifactVersion:
+                return action != ActionType.UPDATE && action != ActionType.CLEAR;
+            case ArtifactRule:
+                return action == ActionType.IMPORT;
+            case Content:
+                return action != ActionType.CREATE;
+            default:
+                return true;
+        }
+    }
+
+    private static String contentDependency(ConsumerRecord<MessageKey, MessageValue> record) {
+        if (record.value() instanceof ArtifactValue) {
+            String contentHash = ((ArtifactValue) record.value()).getContentHash();
+            if (contentHash != null) {
+                return contentKey(record.key().getTenantId(), contentHash);
+            }
+        }
+        return null;
+    }
+
+    private static String contentKey(String tenantId, String contentHash) {
+        return tenantId + "/" + contentHash;
+    }
+
+}
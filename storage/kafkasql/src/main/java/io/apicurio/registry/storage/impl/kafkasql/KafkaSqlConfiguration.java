@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.storage.impl.kafkasql;
 
+import java.util.Optional;
 import java.util.Properties;
 
 /**
@@ -29,7 +30,14 @@ public interface KafkaSqlConfiguration {
     public boolean isTopicAutoCreate();
     public Integer startupLag();
     public Integer pollTimeout();
+    public Integer applyThreads();
+    public Integer applyQueueSize();
     public Integer responseTimeout();
+    public Integer idBlockSize();
+    public Integer importMaxInFlight();
+    public Optional<String> snapshotDirectory();
+    public Long snapshotInterval();
+    public Long snapshotMaxPause();
     public Properties producerProperties();
     public Properties consumerProperties();
     public Properties adminProperties();
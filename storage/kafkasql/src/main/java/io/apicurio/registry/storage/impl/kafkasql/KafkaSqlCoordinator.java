@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.storage.impl.kafkasql;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -79,6 +81,50 @@ public class KafkaSqlCoordinator {
         }
     }
 
+    /**
+     * Waits for the responses to a group of operations that were sent together, without waiting for each
+     * one in between.  The journal messages are applied in the order they were sent, so by the time the last
+     * response arrives the earlier ones are normally already available.  All the latches are released before
+     * returning, and if any of the operations failed the first failure is thrown.
+     *
+     * @param uuids the operations, in the order they were sent
+     * @return the responses, in the same order as the operations
+     */
+    public List<Object> waitForResponses(List<UUID> uuids) {
+        final long deadline = System.currentTimeMillis() + configuration.responseTimeout();
+        List<Object> rvals = new ArrayList<>(uuids.size());
+        RegistryException error = null;
+        try {
+            for (UUID uuid : uuids) {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                if (!latches.get(uuid).await(remaining, TimeUnit.MILLISECONDS)) {
+                    throw new RegistryException("[KafkaSqlCoordinator] Timed out waiting for a Kafka Sql response.");
+                }
+                Object rval = returnValues.remove(uuid);
+                if (rval instanceof RegistryException) {
+                    if (error == null) {
+                        error = (RegistryException) rval;
+                    }
+                    rval = null;
+                } else if (rval == NULL) {
+                    rval = null;
+                }
+                rvals.add(rval);
+            }
+        } catch (InterruptedException e) {
+            throw new RegistryException("[KafkaSqlCoordinator] Thread interrupted waiting for a Kafka Sql response.", e);
+        } finally {
+            for (UUID uuid : uuids) {
+                latches.remove(uuid);
+                returnValues.remove(uuid);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return rvals;
+    }
+
     /**
      * Countdown the latch for the given UUID.  This will wake up the thread waiting for the response
      * so that it can proceed.
@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.storage.impl.kafkasql;
 
+import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -69,10 +70,38 @@ public class KafkaSqlFactory {
     @ConfigProperty(name = "registry.kafkasql.consumer.poll.timeout", defaultValue = "1000")
     Integer pollTimeout;
 
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.threads", defaultValue = "1")
+    Integer applyThreads;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.queue-size", defaultValue = "1000")
+    Integer applyQueueSize;
+
     @Inject
     @ConfigProperty(name = "registry.kafkasql.coordinator.response-timeout", defaultValue = "30000")
     Integer responseTimeout;
 
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.id-block-size", defaultValue = "1")
+    Integer idBlockSize;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.import.max-in-flight", defaultValue = "1000")
+    Integer importMaxInFlight;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.dir")
+    Optional<String> snapshotDirectory;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.interval", defaultValue = "600000")
+    Long snapshotInterval;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.max-pause")
+    Optional<Long> snapshotMaxPause;
+
     @Inject
     @RegistryProperties(
             value = {"registry.kafka.common", "registry.kafkasql.producer"},
@@ -97,6 +126,13 @@ public class KafkaSqlFactory {
     @ApplicationScoped
     @Produces
     public KafkaSqlConfiguration createConfiguration() {
+        // The writes submitted while a snapshot pauses the consumer are only applied once it resumes, so the pause
+        // must end well before they time out.  Defaults to half the response timeout.
+        final long maxPause = snapshotMaxPause.orElse(responseTimeout / 2L);
+        if (maxPause >= responseTimeout) {
+            throw new IllegalArgumentException("registry.kafkasql.snapshot.max-pause (" + maxPause +
+                    "ms) must be lower than registry.kafkasql.coordinator.response-timeout (" + responseTimeout + "ms).");
+        }
         KafkaSqlConfiguration config = new KafkaSqlConfiguration() {
             @Override
             public String bootstrapServers() {
@@ -123,10 +159,38 @@ public class KafkaSqlFactory {
                 return pollTimeout;
             }
             @Override
+            public Integer applyThreads() {
+                return applyThreads;
+            }
+            @Override
+            public Integer applyQueueSize() {
+                return applyQueueSize;
+            }
+            @Override
             public Integer responseTimeout() {
                 return responseTimeout;
             }
             @Override
+            public Integer idBlockSize() {
+                return idBlockSize;
+            }
+            @Override
+            public Integer importMaxInFlight() {
+                return importMaxInFlight;
+            }
+            @Override
+            public Optional<String> snapshotDirectory() {
+                return snapshotDirectory;
+            }
+            @Override
+            public Long snapshotInterval() {
+                return snapshotInterval;
+            }
+            @Override
+            public Long snapshotMaxPause() {
+                return maxPause;
+            }
+            @Override
             public Properties producerProperties() {
                 return producerProperties;
             }
@@ -156,6 +220,8 @@ public class KafkaSqlFactory {
         props.putIfAbsent(ProducerConfig.CLIENT_ID_CONFIG, "Producer-" + UUID.randomUUID().toString());
         props.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
         props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 10);
+        // Related journal messages are sent without waiting for each other, so retries must not reorder them
+        props.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         props.putIfAbsent(ProducerConfig.PARTITIONER_CLASS_CONFIG, KafkaSqlPartitioner.class);
 
         // Create the Kafka producer
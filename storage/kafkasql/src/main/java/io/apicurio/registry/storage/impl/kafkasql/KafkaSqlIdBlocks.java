@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.utils.ConcurrentUtil;
+
+/**
+ * Hands out globalIds and contentIds from blocks reserved through the Kafka topic.  Instead of sending one
+ * message (and waiting for it to be consumed) for every new id, each node reserves a block of ids with a single
+ * "reserve" message and then hands them out locally.  The next block is reserved in the background before the
+ * current one runs out.
+ *
+ * Every node applies the "reserve" messages in the same order, so the sequences stay consistent across the cluster
+ * (and on replay).  Ids that were reserved but never used are simply skipped, so ids are unique and increasing
+ * per node, but not necessarily contiguous.
+ *
+ * Blocks are opt-in (registry.kafkasql.id-block-size greater than 1, the default is 1).  Without them, the
+ * contentId and globalId of a new version with new content are still requested together, see
+ * {@link #nextContentIdAndGlobalId(String)}.  They are opt-in because:
+ * <ul>
+ * <li>with more than one node, globalIds are no longer assigned in creation order across the cluster, so
+ * listings sorted by globalId (version search, cursor pagination) no longer follow creation order</li>
+ * <li>nodes running a version that doesn't know the "reserve" action skip those messages and their sequences
+ * drift, so all the nodes must be upgraded before enabling it</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class KafkaSqlIdBlocks {
+
+    @Inject
+    KafkaSqlConfiguration configuration;
+
+    @Inject
+    KafkaSqlCoordinator coordinator;
+
+    @Inject
+    KafkaSqlSubmitter submitter;
+
+    private final Map<String, IdSequence> globalIds = new ConcurrentHashMap<>();
+    private final Map<String, IdSequence> contentIds = new ConcurrentHashMap<>();
+    private ExecutorService refillExecutor;
+
+    @PostConstruct
+    void onConstruct() {
+        refillExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.setName("KSQL Id Block Refill Thread");
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void onDestroy() {
+        refillExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns a new globalId, unique across the cluster.
+     * @param tenantId
+     */
+    public long nextGlobalId(String tenantId) {
+        if (configuration.idBlockSize() <= 1) {
+            UUID uuid = ConcurrentUtil.get(submitter.submitGlobalId(tenantId, ActionType.CREATE));
+            return (long) coordinator.waitForResponse(uuid);
+        }
+        return globalIds.computeIfAbsent(tenantId,
+                t -> new IdSequence(count -> submitter.submitGlobalIdReservation(t, count))).next();
+    }
+
+    /**
+     * Returns a new contentId, unique across the cluster.
+     * @param tenantId
+     */
+    public long nextContentId(String tenantId) {
+        if (configuration.idBlockSize() <= 1) {
+            UUID uuid = ConcurrentUtil.get(submitter.submitContentId(tenantId, ActionType.CREATE));
+            return (long) coordinator.waitForResponse(uuid);
+        }
+        return contentIds.computeIfAbsent(tenantId,
+                t -> new IdSequence(count -> submitter.submitContentIdReservation(t, count))).next();
+    }
+
+    /**
+     * Returns a new contentId and a new globalId, unique across the cluster.  Without blocks, both requests are
+     * sent before waiting for either of them, so a new version with new content costs a single round trip for
+     * its ids (instead of one per id).
+     * @param tenantId
+     * @return the contentId and the globalId, in that order
+     */
+    public long[] nextContentIdAndGlobalId(String tenantId) {
+        if (configuration.idBlockSize() <= 1) {
+            UUID contentIdRequest = ConcurrentUtil.get(submitter.submitContentId(tenantId, ActionType.CREATE));
+            UUID globalIdRequest = ConcurrentUtil.get(submitter.submitGlobalId(tenantId, ActionType.CREATE));
+            List<Object> ids = coordinator.waitForResponses(Arrays.asList(contentIdRequest, globalIdRequest));
+            return new long[] { (long) ids.get(0), (long) ids.get(1) };
+        }
+        return new long[] { nextContentId(tenantId), nextGlobalId(tenantId) };
+    }
+
+    /**
+     * Discards the blocks reserved for the given tenant.  Called (on the consumer thread) when the id sequences
+     * are reset, e.g. after an import, since the ids of blocks reserved before the reset may now be in use.
+     * @param tenantId
+     */
+    public void invalidate(String tenantId) {
+        IdSequence sequence = globalIds.get(tenantId);
+        if (sequence != null) {
+            sequence.invalidate();
+        }
+        sequence = contentIds.get(tenantId);
+        if (sequence != null) {
+            sequence.invalidate();
+        }
+    }
+
+    private static class Block {
+        final long generation;
+        final long first;
+        final long end;
+
+        Block(long generation, long first, long end) {
+            this.generation = generation;
+            this.first = first;
+            this.end = end;
+        }
+    }
+
+    private class IdSequence {
+
+        private final IntFunction<CompletableFuture<UUID>> reservation;
+        private final AtomicLong generation = new AtomicLong();
+
+        // Guarded by "this"
+        private long next;
+        private long end;
+        private long blockGeneration;
+        private CompletableFuture<Block> refill;
+
+        IdSequence(IntFunction<CompletableFuture<UUID>> reservation) {
+            this.reservation = reservation;
+        }
+
+        synchronized long next() {
+            while (true) {
+                if (blockGeneration != generation.get()) {
+                    next = end = 0;
+                    refill = null;
+                }
+                if (next < end) {
+                    long id = next++;
+                    if (refill == null && end - next <= lowWatermark()) {
+                        refill = CompletableFuture.supplyAsync(this::reserve, refillExecutor);
+                    }
+                    return id;
+                }
+
+                Block block;
+                if (refill != null) {
+                    try {
+                        block = refill.join();
+                    } catch (CompletionException e) {
+                        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                    } finally {
+                        refill = null;
+                    }
+                } else {
+                    block = reserve();
+                }
+
+                // A block reserved concurrently with a reset may overlap ids that are in use now, discard it
+                if (block.generation == generation.get()) {
+                    next = block.first;
+                    end = block.end;
+                    blockGeneration = block.generation;
+                }
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+        }
+
+        private Block reserve() {
+            long gen = generation.get();
+            int count = configuration.idBlockSize();
+            UUID uuid = ConcurrentUtil.get(reservation.apply(count));
+            long first = (long) coordinator.waitForResponse(uuid);
+            return new Block(gen, first, first + count);
+        }
+
+        private int lowWatermark() {
+            return Math.max(1, configuration.idBlockSize() / 4);
+        }
+    }
+
+}
@@ -39,7 +39,9 @@ import io.apicurio.registry.storage.RuleNotFoundException;
 import io.apicurio.registry.storage.VersionNotFoundException;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.ArtifactVersionContentDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
@@ -75,10 +77,13 @@ import io.apicurio.registry.utils.impexp.ManifestEntity;
 import io.apicurio.registry.utils.kafka.KafkaUtil;
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.security.identity.SecurityIdentity;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.errors.TopicExistsException;
 import org.slf4j.Logger;
@@ -89,6 +94,7 @@ import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -101,7 +107,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * An implementation of a registry artifactStore that extends the basic SQL artifactStore but federates 'write' operations
@@ -154,6 +162,12 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
     @Inject
     KafkaSqlUpgrader upgrader;
 
+    @Inject
+    KafkaSqlIdBlocks idBlocks;
+
+    @Inject
+    KafkaSqlSnapshots snapshots;
+
     private boolean bootstrapped = false;
     private boolean stopped = true;
 
@@ -164,6 +178,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         if (configuration.isTopicAutoCreate()) {
             autoCreateTopics();
         }
+        checkTopicPartitions();
 
         // Start the Kafka Consumer thread
         startConsumerThread(consumer);
@@ -225,6 +240,28 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         }
     }
 
+    /**
+     * The journal messages of a single operation are pipelined (see {@link #waitForAll(List)}), which relies on the
+     * journal topic having a single partition: with several partitions the messages of one operation can land on
+     * different partitions, and e.g. a version could be applied before the content it references.  Refuse to start
+     * on such a topic.
+     */
+    private void checkTopicPartitions() {
+        Properties adminProperties = configuration.adminProperties();
+        adminProperties.putIfAbsent(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, configuration.bootstrapServers());
+        int partitions;
+        try (Admin admin = Admin.create(adminProperties)) {
+            Map<String, TopicDescription> descriptions = KafkaUtil.result(admin.describeTopics(Collections.singleton(configuration.topic())).all());
+            partitions = descriptions.get(configuration.topic()).partitions().size();
+        } catch (RuntimeException e) {
+            log.warn("Could not check the number of partitions of topic {}.", configuration.topic(), e);
+            return;
+        }
+        if (partitions != 1) {
+            throw new IllegalStateException("The KafkaSQL journal topic " + configuration.topic() + " must have a single partition, it has " + partitions + ".");
+        }
+    }
+
     /**
      * Start the KSQL Kafka consumer thread which is responsible for subscribing to the kafka topic,
      * consuming JournalRecord entries found on that topic, and applying those journal entries to
@@ -239,6 +276,8 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         submitter.submitBootstrap(bootstrapId);
         final long bootstrapStart = System.currentTimeMillis();
 
+        final KafkaSqlApplier applier = new KafkaSqlApplier(kafkaSqlSink, configuration.applyThreads(), configuration.applyQueueSize());
+
         Runnable runner = () -> {
             log.info("KSQL consumer thread startup lag: {}", configuration.startupLag());
 
@@ -248,9 +287,26 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
 
                 log.info("Subscribing to {}", configuration.topic());
 
+                // Restore the latest snapshot (if any) so that only the journal records after it are replayed
+                final Map<TopicPartition, Long> snapshotOffsets = new HashMap<>(snapshots.restore(consumer));
+
                 // Subscribe to the journal topic
                 Collection<String> topics = Collections.singleton(configuration.topic());
-                consumer.subscribe(topics);
+                consumer.subscribe(topics, new ConsumerRebalanceListener() {
+                    @Override
+                    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    }
+
+                    @Override
+                    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                        partitions.forEach(partition -> {
+                            Long offset = snapshotOffsets.remove(partition);
+                            if (offset != null) {
+                                consumer.seek(partition, offset);
+                            }
+                        });
+                    }
+                });
 
                 // Main consumer loop
                 while (!stopped) {
@@ -269,6 +325,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
                             if (record.key().getType() == MessageType.Bootstrap) {
                                 BootstrapKey bkey = (BootstrapKey) record.key();
                                 if (bkey.getBootstrapId().equals(bootstrapId)) {
+                                    applier.drain();
                                     this.bootstrapped = true;
                                     log.info("KafkaSQL storage bootstrapped in " + (System.currentTimeMillis() - bootstrapStart) + "ms.");
                                     upgrader.upgrade();
@@ -283,12 +340,13 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
                                 return;
                             }
 
-                            // TODO instead of processing the journal record directly on the consumer thread, instead queue them and have *another* thread process the queue
-                            kafkaSqlSink.processMessage(record);
+                            applier.apply(record);
                         });
                     }
+                    snapshots.snapshotIfDue(consumer, applier);
                 }
             } finally {
+                applier.close();
                 consumer.close();
             }
         };
@@ -300,56 +358,63 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
     }
 
     /**
-     * Generate a new globalId.  This must be done by sending a message to Kafka so that all nodes in the cluster are
-     * guaranteed to generate the same globalId.
-     *
-     * TODO we can improve performance of this by reserving batches of globalIds instead of doing it one at a time.  Not yet done
-     *      due to a desire to avoid premature optimization.
+     * Generate a new globalId.  The ids are handed out from blocks reserved by sending a message to Kafka, so that all
+     * nodes in the cluster are guaranteed to generate unique globalIds.
      */
     private long nextClusterGlobalId() {
-        UUID uuid = ConcurrentUtil.get(submitter.submitGlobalId(tenantContext.tenantId(), ActionType.CREATE));
-        return (long) coordinator.waitForResponse(uuid);
+        return idBlocks.nextGlobalId(tenantContext.tenantId());
     }
 
     /**
-     * Generate a new contentId.  This must be done by sending a message to Kafka so that all nodes in the cluster are
-     * guaranteed to generate the same contentId.
+     * Waits for a group of journal messages that were all sent before waiting for any of them.  Since all the
+     * messages go to the same partition they are applied in the order they were submitted, so dependent messages
+     * (e.g. content followed by the version that references it) can be pipelined and only cost one round trip.
+     * The journal topic must therefore have a single partition, which is checked at startup
+     * (see {@link #checkTopicPartitions()}).
      *
-     * TODO we can improve performance of this by reserving batches of contentIds instead of doing it one at a time.  Not yet done
-     *      due to a desire to avoid premature optimization.
+     * @param futures the submitted messages, in the order they were sent
+     * @return the responses, in the same order
      */
-    private long nextClusterContentId() {
-        UUID uuid = ConcurrentUtil.get(submitter.submitContentId(tenantContext.tenantId(), ActionType.CREATE));
-        return (long) coordinator.waitForResponse(uuid);
+    private List<Object> waitForAll(List<CompletableFuture<UUID>> futures) {
+        List<UUID> uuids = futures.stream().map(ConcurrentUtil::get).collect(Collectors.toList());
+        return coordinator.waitForResponses(uuids);
     }
 
     /**
-     * Ensures that the given content exists in the database.  If it's already in the DB, then this just
-     * returns the content hash.  If the content does not yet exist in the DB, then it is added (by sending
-     * the appropriate message to the Kafka topic and awaiting the response).
-     *
-     * @param content
-     * @param groupId
-     * @param artifactId
-     * @param artifactType
+     * Creates (or updates) an artifact version, pipelining the journal messages.  The content (if it is not in the
+     * DB yet) and the artifact messages are sent together, waiting only once.
      */
-    private String ensureContent(ContentHandle content, String groupId, String artifactId, ArtifactType artifactType) {
-        byte[] contentBytes = content.bytes();
-        String contentHash = DigestUtils.sha256Hex(contentBytes);
+    private ArtifactMetaDataDto submitArtifactVersion(String groupId, String artifactId, String version, ActionType action,
+            ArtifactType artifactType, ContentHandle content, EditableArtifactMetaDataDto metaData) {
+        String createdBy = securityIdentity.getPrincipal().getName();
+        Date createdOn = new Date();
+
+        if (metaData == null) {
+            metaData = extractMetaData(artifactType, content);
+        }
+
+        String contentHash = content.sha256Hex();
 
+        List<CompletableFuture<UUID>> requests = new ArrayList<>(2);
+        long globalId;
         if (!sqlStore.isContentExists(contentHash)) {
-            long contentId = nextClusterContentId();
+            // Both ids are requested together, see KafkaSqlIdBlocks
+            long[] ids = idBlocks.nextContentIdAndGlobalId(tenantContext.tenantId());
+            long contentId = ids[0];
+            globalId = ids[1];
 
             ContentHandle canonicalContent = this.canonicalizeContent(artifactType, content);
-            byte[] canonicalContentBytes = canonicalContent.bytes();
-            String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+            String canonicalContentHash = canonicalContent.sha256Hex();
 
-            CompletableFuture<UUID> future = submitter.submitContent(tenantContext.tenantId(), contentId, contentHash, ActionType.CREATE, canonicalContentHash, content);
-            UUID uuid = ConcurrentUtil.get(future);
-            coordinator.waitForResponse(uuid);
+            requests.add(submitter.submitContent(tenantContext.tenantId(), contentId, contentHash, ActionType.CREATE, canonicalContentHash, content));
+        } else {
+            globalId = nextClusterGlobalId();
         }
+        requests.add(submitter.submitArtifact(tenantContext.tenantId(), groupId, artifactId, version, action,
+                globalId, artifactType, contentHash, createdBy, createdOn, metaData));
 
-        return contentHash;
+        List<Object> responses = waitForAll(requests);
+        return (ArtifactMetaDataDto) responses.get(responses.size() - 1);
     }
 
     /**
@@ -371,20 +436,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
             throw new ArtifactAlreadyExistsException(groupId, artifactId);
         }
 
-        String contentHash = ensureContent(content, groupId, artifactId, artifactType);
-        String createdBy = securityIdentity.getPrincipal().getName();
-        Date createdOn = new Date();
-
-        if (metaData == null) {
-            metaData = extractMetaData(artifactType, content);
-        }
-
-        long globalId = nextClusterGlobalId();
-
-        UUID uuid = ConcurrentUtil.get(
-                submitter.submitArtifact(tenantContext.tenantId(), groupId, artifactId, version, ActionType.CREATE,
-                        globalId, artifactType, contentHash, createdBy, createdOn, metaData));
-        return (ArtifactMetaDataDto) coordinator.waitForResponse(uuid);
+        return submitArtifactVersion(groupId, artifactId, version, ActionType.CREATE, artifactType, content, metaData);
     }
 
     /**
@@ -432,6 +484,14 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.getArtifact(groupId, artifactId);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getLatestArtifactContent(java.lang.String, java.lang.String)
+     */
+    @Override
+    public ArtifactVersionContentDto getLatestArtifactContent(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
+        return sqlStore.getLatestArtifactContent(groupId, artifactId);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#getArtifactByContentId(long)
      */
@@ -440,6 +500,30 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.getArtifactByContentId(contentId);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getContentWrapperByContentId(long)
+     */
+    @Override
+    public ContentWrapperDto getContentWrapperByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException {
+        return sqlStore.getContentWrapperByContentId(contentId);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactsByContentIds(java.util.Set)
+     */
+    @Override
+    public Map<Long, ContentHandle> getArtifactsByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        return sqlStore.getArtifactsByContentIds(contentIds);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getCanonicalHashesByContentIds(java.util.Set)
+     */
+    @Override
+    public Map<Long, String> getCanonicalHashesByContentIds(Set<Long> contentIds) throws RegistryStorageException {
+        return sqlStore.getCanonicalHashesByContentIds(contentIds);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#getArtifactByContentHash(java.lang.String)
      */
@@ -467,20 +551,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
             throw new ArtifactNotFoundException(groupId, artifactId);
         }
 
-        String contentHash = ensureContent(content, groupId, artifactId, artifactType);
-        String createdBy = securityIdentity.getPrincipal().getName();
-        Date createdOn = new Date();
-
-        if (metaData == null) {
-            metaData = extractMetaData(artifactType, content);
-        }
-
-        long globalId = nextClusterGlobalId();
-
-        UUID reqId = ConcurrentUtil.get(
-                submitter.submitArtifact(tenantContext.tenantId(), groupId, artifactId, version, ActionType.UPDATE,
-                        globalId, artifactType, contentHash, createdBy, createdOn, metaData));
-        return (ArtifactMetaDataDto) coordinator.waitForResponse(reqId);
+        return submitArtifactVersion(groupId, artifactId, version, ActionType.UPDATE, artifactType, content, metaData);
     }
 
     /**
@@ -499,6 +570,14 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.searchArtifacts(filters, orderBy, orderDirection, offset, limit);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#searchArtifacts(java.util.Set, java.lang.String, int, boolean)
+     */
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, String cursor, int limit, boolean includeCount) {
+        return sqlStore.searchArtifacts(filters, cursor, limit, includeCount);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#getArtifactMetaData(java.lang.String, java.lang.String)
      */
@@ -634,6 +713,15 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.searchVersions(groupId, artifactId, offset, limit);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#searchVersions(java.lang.String, java.lang.String, java.lang.String, int, boolean)
+     */
+    @Override
+    public VersionSearchResultsDto searchVersions(String groupId, String artifactId, String cursor, int limit, boolean includeCount)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        return sqlStore.searchVersions(groupId, artifactId, cursor, limit, includeCount);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersion(long)
      */
@@ -642,6 +730,22 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.getArtifactVersion(id);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersionContent(long)
+     */
+    @Override
+    public ArtifactVersionContentDto getArtifactVersionContent(long globalId) throws ArtifactNotFoundException, RegistryStorageException {
+        return sqlStore.getArtifactVersionContent(globalId);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersionContents(java.util.Set)
+     */
+    @Override
+    public List<ArtifactVersionContentDto> getArtifactVersionContents(Set<Long> globalIds) throws RegistryStorageException {
+        return sqlStore.getArtifactVersionContents(globalIds);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersion(java.lang.String, java.lang.String, java.lang.String)
      */
@@ -945,18 +1049,23 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
     @Override
     public void importData(EntityInputStream entities) throws RegistryStorageException {
         try {
+            // Import messages are sent without waiting for each one to be applied, but only up to
+            // a bounded number of them can be in flight at the same time.
+            List<CompletableFuture<UUID>> inFlight = new ArrayList<>();
             Entity entity = null;
             while ( (entity = entities.nextEntity()) != null ) {
-                if (entity != null) {
-                    importEntity(entity);
+                CompletableFuture<UUID> future = importEntity(entity);
+                if (future != null) {
+                    inFlight.add(future);
+                }
+                if (inFlight.size() >= configuration.importMaxInFlight()) {
+                    awaitImportAcks(inFlight);
                 }
             }
 
-            // Because importing just pushes a bunch of Kafka messages, we may need to
-            // wait for a few seconds before we send the reset messages.  Due to partitioning,
-            // we can't guarantee ordering of these next two messages, and we NEED them to
-            // be consumed after all the import messages.
-            try { Thread.sleep(2000); } catch (Exception e) {}
+            // All import messages must be applied by the consumer before the reset messages are
+            // sent, otherwise the ids could be reset to a value lower than an imported one.
+            awaitImportAcks(inFlight);
 
             // Make sure the contentId sequence is set high enough
             resetContentId();
@@ -968,6 +1077,28 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         }
     }
 
+    /**
+     * Waits until the given import messages have been written to the journal and then until the consumer
+     * has applied them.  A producer ack only means the message was written, so the coordinator response
+     * is what guarantees that the imported data is in the local store.
+     * @param inFlight
+     */
+    private void awaitImportAcks(List<CompletableFuture<UUID>> inFlight) {
+        List<UUID> reqIds = new ArrayList<>(inFlight.size());
+        try {
+            for (CompletableFuture<UUID> future : inFlight) {
+                reqIds.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryStorageException(e);
+        } catch (ExecutionException e) {
+            throw new RegistryStorageException(e.getCause());
+        }
+        inFlight.clear();
+        coordinator.waitForResponses(reqIds);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#countArtifacts()
      */
@@ -1086,23 +1217,18 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         sqlStore.deleteAllExpiredDownloads();
     }
 
-    protected void importEntity(Entity entity) throws RegistryStorageException {
+    protected CompletableFuture<UUID> importEntity(Entity entity) throws RegistryStorageException {
         switch (entity.getEntityType()) {
             case ArtifactRule:
-                importArtifactRule((ArtifactRuleEntity) entity);
-                break;
+                return importArtifactRule((ArtifactRuleEntity) entity);
             case ArtifactVersion:
-                importArtifactVersion((ArtifactVersionEntity) entity);
-                break;
+                return importArtifactVersion((ArtifactVersionEntity) entity);
             case Content:
-                importContent((ContentEntity) entity);
-                break;
+                return importContent((ContentEntity) entity);
             case GlobalRule:
-                importGlobalRule((GlobalRuleEntity) entity);
-                break;
+                return importGlobalRule((GlobalRuleEntity) entity);
             case Group:
-                importGroup((GroupEntity) entity);
-                break;
+                return importGroup((GroupEntity) entity);
             case Manifest:
                 ManifestEntity manifest = (ManifestEntity) entity;
                 log.info("---------- Import Info ----------");
@@ -1112,34 +1238,34 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
                 log.info("Data exported on {} by user {}", manifest.exportedOn, manifest.exportedBy);
                 log.info("---------- ----------- ----------");
                 // Ignore the manifest for now.
-                break;
+                return null;
             default:
                 throw new RegistryStorageException("Unhandled entity type during import: " + entity.getEntityType());
         }
     }
-    protected void importArtifactRule(ArtifactRuleEntity entity) {
+    protected CompletableFuture<UUID> importArtifactRule(ArtifactRuleEntity entity) {
         RuleConfigurationDto config = new RuleConfigurationDto(entity.configuration);
-        submitter.submitArtifactRule(tenantContext.tenantId(), entity.groupId, entity.artifactId, entity.type, ActionType.IMPORT, config);
+        return submitter.submitArtifactRule(tenantContext.tenantId(), entity.groupId, entity.artifactId, entity.type, ActionType.IMPORT, config);
     }
-    protected void importArtifactVersion(ArtifactVersionEntity entity) {
+    protected CompletableFuture<UUID> importArtifactVersion(ArtifactVersionEntity entity) {
         EditableArtifactMetaDataDto metaData = EditableArtifactMetaDataDto.builder()
                 .name(entity.name)
                 .description(entity.description)
                 .labels(entity.labels)
                 .properties(entity.properties)
                 .build();
-        submitter.submitArtifact(tenantContext.tenantId(), entity.groupId, entity.artifactId, entity.version, ActionType.IMPORT,
+        return submitter.submitArtifact(tenantContext.tenantId(), entity.groupId, entity.artifactId, entity.version, ActionType.IMPORT,
                 entity.globalId, entity.artifactType, null, entity.createdBy, new Date(entity.createdOn), metaData, entity.versionId,
                 entity.state, entity.contentId, entity.isLatest);
     }
-    protected void importContent(ContentEntity entity) {
-        submitter.submitContent(tenantContext.tenantId(), entity.contentId, entity.contentHash, ActionType.IMPORT, entity.canonicalHash, ContentHandle.create(entity.contentBytes));
+    protected CompletableFuture<UUID> importContent(ContentEntity entity) {
+        return submitter.submitContent(tenantContext.tenantId(), entity.contentId, entity.contentHash, ActionType.IMPORT, entity.canonicalHash, ContentHandle.create(entity.contentBytes));
     }
-    protected void importGlobalRule(GlobalRuleEntity entity) {
+    protected CompletableFuture<UUID> importGlobalRule(GlobalRuleEntity entity) {
         RuleConfigurationDto config = new RuleConfigurationDto(entity.configuration);
-        submitter.submitGlobalRule(tenantContext.tenantId(), entity.ruleType, ActionType.IMPORT, config);
+        return submitter.submitGlobalRule(tenantContext.tenantId(), entity.ruleType, ActionType.IMPORT, config);
     }
-    protected void importGroup(GroupEntity entity) {
+    protected CompletableFuture<UUID> importGroup(GroupEntity entity) {
         GroupEntity e = entity;
         GroupMetaDataDto group = new GroupMetaDataDto();
         group.setArtifactsType(e.artifactsType);
@@ -1150,7 +1276,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         group.setModifiedBy(e.modifiedBy);
         group.setModifiedOn(e.modifiedOn);
         group.setProperties(e.properties);
-        submitter.submitGroup(tenantContext.tenantId(), ActionType.IMPORT, group);
+        return submitter.submitGroup(tenantContext.tenantId(), ActionType.IMPORT, group);
     }
     private void resetContentId() {
         UUID reqId = ConcurrentUtil.get(submitter.submitGlobalId(tenantContext.tenantId(), ActionType.RESET));
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+
+import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlStore;
+
+/**
+ * Periodically writes a snapshot of the local {@link KafkaSqlStore} to disk, together with the topic offsets the
+ * snapshot is consistent with.  On startup the latest snapshot is restored and the consumer only replays the
+ * journal records after those offsets, instead of the whole topic.
+ *
+ * Snapshots are written on a separate thread.  While a snapshot is being written the consumer pauses its
+ * partitions (but keeps polling, so it stays in the group), so that the snapshot matches the offsets.  If the
+ * snapshot takes longer than "registry.kafkasql.snapshot.max-pause" it is abandoned and the consumer resumes.
+ * The max pause must be lower than "registry.kafkasql.coordinator.response-timeout" (it defaults to half of it),
+ * otherwise the writes submitted during a snapshot could time out although they are applied once it completes.
+ *
+ * The snapshot directory may be shared by several nodes: every node writes its own snapshot files and temporary
+ * metadata file, and only deletes snapshot files it wrote itself once the metadata no longer points to them.
+ * Files written by nodes that are no longer running are left in place.
+ * Snapshots are only enabled when "registry.kafkasql.snapshot.dir" is set and the store is H2.
+ */
+@ApplicationScoped
+public class KafkaSqlSnapshots {
+
+    private static final String METADATA_FILE = "snapshot.properties";
+    private static final String SNAPSHOT_FILE_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_FILE_SUFFIX = ".sql";
+    private static final String TOPIC_PROPERTY = "topic";
+    private static final String FILE_PROPERTY = "file";
+    private static final String DB_VERSION_PROPERTY = "dbVersion";
+    private static final String OFFSET_PROPERTY_PREFIX = "offset.";
+
+    @Inject
+    Logger log;
+
+    @Inject
+    KafkaSqlConfiguration configuration;
+
+    @Inject
+    KafkaSqlStore sqlStore;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    /** The snapshot files written by this node, oldest first. */
+    private final Deque<String> writtenFiles = new ArrayDeque<>();
+
+    private ExecutorService snapshotExecutor;
+
+    private long lastSnapshot = System.currentTimeMillis();
+    private Map<TopicPartition, Long> lastSnapshotOffsets = Collections.emptyMap();
+
+    private PendingSnapshot pending;
+
+    @PostConstruct
+    void onConstruct() {
+        snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.setName("KSQL Snapshot Thread");
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void onDestroy() {
+        snapshotExecutor.shutdownNow();
+    }
+
+    /**
+     * Whether snapshots are configured and supported by the store.
+     */
+    public boolean isEnabled() {
+        return configuration.snapshotDirectory().isPresent() && sqlStore.isSnapshotSupported();
+    }
+
+    /**
+     * Restores the latest snapshot, if there is a valid one.  Must be called before the consumer subscribes to
+     * the journal topic.
+     *
+     * @param consumer
+     * @return the offsets to resume consuming from, or an empty map if no snapshot was restored
+     */
+    public Map<TopicPartition, Long> restore(Consumer<?, ?> consumer) {
+        if (!isEnabled()) {
+            return Collections.emptyMap();
+        }
+        Path dir = directory();
+        Path metadataFile = dir.resolve(METADATA_FILE);
+        if (!Files.exists(metadataFile)) {
+            log.info("No KafkaSQL snapshot found in {}, replaying the whole journal.", dir);
+            return Collections.emptyMap();
+        }
+
+        try {
+            Properties metadata = new Properties();
+            try (InputStream in = Files.newInputStream(metadataFile)) {
+                metadata.load(in);
+            }
+            if (!configuration.topic().equals(metadata.getProperty(TOPIC_PROPERTY))) {
+                log.warn("Ignoring KafkaSQL snapshot taken from a different topic: {}", metadata.getProperty(TOPIC_PROPERTY));
+                return Collections.emptyMap();
+            }
+            String dbVersion = String.valueOf(sqlStore.getDatabaseVersion());
+            if (!dbVersion.equals(metadata.getProperty(DB_VERSION_PROPERTY))) {
+                log.warn("Ignoring KafkaSQL snapshot taken with DB version {}, the current DB version is {}", metadata.getProperty(DB_VERSION_PROPERTY), dbVersion);
+                return Collections.emptyMap();
+            }
+
+            Map<TopicPartition, Long> offsets = new HashMap<>();
+            for (String name : metadata.stringPropertyNames()) {
+                if (name.startsWith(OFFSET_PROPERTY_PREFIX)) {
+                    int partition = Integer.parseInt(name.substring(OFFSET_PROPERTY_PREFIX.length()));
+                    offsets.put(new TopicPartition(configuration.topic(), partition), Long.parseLong(metadata.getProperty(name)));
+                }
+            }
+
+            // If the topic was re-created the offsets of the snapshot are meaningless
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(offsets.keySet());
+            for (Map.Entry<TopicPartition, Long> entry : offsets.entrySet()) {
+                Long endOffset = endOffsets.get(entry.getKey());
+                if (endOffset == null || endOffset < entry.getValue()) {
+                    log.warn("Ignoring KafkaSQL snapshot, its offset {} for {} is beyond the end of the topic.", entry.getValue(), entry.getKey());
+                    return Collections.emptyMap();
+                }
+            }
+
+            long start = System.currentTimeMillis();
+            sqlStore.restoreSnapshot(dir.resolve(metadata.getProperty(FILE_PROPERTY)));
+            log.info("KafkaSQL snapshot restored in {}ms, resuming from offsets {}", System.currentTimeMillis() - start, offsets);
+
+            lastSnapshotOffsets = offsets;
+            return offsets;
+        } catch (Exception e) {
+            log.warn("Failed to restore the KafkaSQL snapshot, replaying the whole journal.", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Starts a new snapshot if the snapshot interval has elapsed and new records were applied since the last one,
+     * and resumes the consumer once a snapshot in progress is complete (or has taken too long).
+     * Must be called on the consumer thread, after every record consumed so far has been applied.
+     *
+     * @param consumer
+     * @param applier
+     */
+    public void snapshotIfDue(Consumer<?, ?> consumer, KafkaSqlApplier applier) {
+        if (pending != null) {
+            checkPending(consumer);
+            return;
+        }
+        if (!isEnabled() || System.currentTimeMillis() - lastSnapshot < configuration.snapshotInterval()) {
+            return;
+        }
+        lastSnapshot = System.currentTimeMillis();
+
+        Set<TopicPartition> assignment = consumer.assignment();
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : assignment) {
+            offsets.put(partition, consumer.position(partition));
+        }
+        if (offsets.isEmpty() || offsets.equals(lastSnapshotOffsets)) {
+            return;
+        }
+
+        try {
+            applier.drain();
+        } catch (Exception e) {
+            log.warn("Failed to write the KafkaSQL snapshot.", e);
+            return;
+        }
+        consumer.pause(assignment);
+        PendingSnapshot snapshot = new PendingSnapshot(offsets);
+        snapshot.future = CompletableFuture.runAsync(() -> writeSnapshot(snapshot), snapshotExecutor);
+        pending = snapshot;
+    }
+
+    private void checkPending(Consumer<?, ?> consumer) {
+        if (pending.future.isDone()) {
+            if (!pending.future.isCompletedExceptionally()) {
+                lastSnapshotOffsets = pending.offsets;
+            }
+        } else if (System.currentTimeMillis() - pending.started > configuration.snapshotMaxPause()) {
+            log.warn("KafkaSQL snapshot is taking longer than {}ms, abandoning it and resuming the consumer.", configuration.snapshotMaxPause());
+            pending.abandoned.set(true);
+        } else {
+            // Partitions assigned during the snapshot must not be consumed either
+            consumer.pause(consumer.assignment());
+            return;
+        }
+        consumer.resume(consumer.paused());
+        pending = null;
+    }
+
+    private void writeSnapshot(PendingSnapshot snapshot) {
+        try {
+            long start = System.currentTimeMillis();
+            Path dir = directory();
+            Files.createDirectories(dir);
+
+            String fileName = SNAPSHOT_FILE_PREFIX + nodeId + "-" + start + SNAPSHOT_FILE_SUFFIX;
+            Path file = dir.resolve(fileName);
+            sqlStore.writeSnapshot(file);
+
+            if (snapshot.abandoned.get()) {
+                // The consumer has resumed, the snapshot may contain records beyond its offsets
+                Files.deleteIfExists(file);
+                return;
+            }
+            writeMetadata(dir, fileName, snapshot.offsets);
+            writtenFiles.addLast(fileName);
+
+            deleteOldSnapshots(dir);
+            log.info("KafkaSQL snapshot written in {}ms at offsets {}", System.currentTimeMillis() - start, snapshot.offsets);
+        } catch (Exception e) {
+            log.warn("Failed to write the KafkaSQL snapshot.", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeMetadata(Path dir, String fileName, Map<TopicPartition, Long> offsets) throws IOException {
+        Properties metadata = new Properties();
+        metadata.setProperty(TOPIC_PROPERTY, configuration.topic());
+        metadata.setProperty(FILE_PROPERTY, fileName);
+        metadata.setProperty(DB_VERSION_PROPERTY, String.valueOf(sqlStore.getDatabaseVersion()));
+        offsets.forEach((partition, offset) -> metadata.setProperty(OFFSET_PROPERTY_PREFIX + partition.partition(), String.valueOf(offset)));
+
+        // The metadata file is replaced atomically, it always points to a complete snapshot.  The temporary
+        // file is per node, since the directory may be shared.
+        Path tmp = dir.resolve(METADATA_FILE + "." + nodeId + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            metadata.store(out, "KafkaSQL snapshot");
+        }
+        Files.move(tmp, dir.resolve(METADATA_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the snapshot files written by this node, except the latest one, the one before it (another node may
+     * still be restoring it) and the one the metadata file currently points to.
+     */
+    private void deleteOldSnapshots(Path dir) throws IOException {
+        String referenced = null;
+        Path metadataFile = dir.resolve(METADATA_FILE);
+        if (Files.exists(metadataFile)) {
+            Properties metadata = new Properties();
+            try (InputStream in = Files.newInputStream(metadataFile)) {
+                metadata.load(in);
+            }
+            referenced = metadata.getProperty(FILE_PROPERTY);
+        }
+        int deletable = writtenFiles.size() - 2;
+        for (Iterator<String> files = writtenFiles.iterator(); files.hasNext() && deletable > 0; deletable--) {
+            String fileName = files.next();
+            // The one still referenced is deleted once the metadata moves on
+            if (!fileName.equals(referenced)) {
+                Files.deleteIfExists(dir.resolve(fileName));
+                files.remove();
+            }
+        }
+    }
+
+    private Path directory() {
+        return Paths.get(configuration.snapshotDirectory().get());
+    }
+
+    private static class PendingSnapshot {
+
+        private final Map<TopicPartition, Long> offsets;
+        private final long started = System.currentTimeMillis();
+        private final AtomicBoolean abandoned = new AtomicBoolean();
+        private CompletableFuture<Void> future;
+
+        PendingSnapshot(Map<TopicPartition, Long> offsets) {
+            this.offsets = offsets;
+        }
+    }
+}
@@ -224,6 +224,11 @@ public class KafkaSqlSubmitter {
         GlobalIdValue value = GlobalIdValue.create(action);
         return send(key, value);
     }
+    public CompletableFuture<UUID> submitGlobalIdReservation(String tenantId, int count) {
+        GlobalIdKey key = GlobalIdKey.create(tenantId);
+        GlobalIdValue value = GlobalIdValue.create(ActionType.RESERVE, count);
+        return send(key, value);
+    }
 
 
     /* ******************************************************************************************
@@ -234,6 +239,11 @@ public class KafkaSqlSubmitter {
         ContentIdValue value = ContentIdValue.create(action);
         return send(key, value);
     }
+    public CompletableFuture<UUID> submitContentIdReservation(String tenantId, int count) {
+        ContentIdKey key = ContentIdKey.create(tenantId);
+        ContentIdValue value = ContentIdValue.create(ActionType.RESERVE, count);
+        return send(key, value);
+    }
 
 
     /* ******************************************************************************************
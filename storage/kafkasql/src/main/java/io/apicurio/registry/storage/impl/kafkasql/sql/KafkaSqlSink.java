@@ -15,12 +15,14 @@ import io.apicurio.registry.logging.Logged;
 import io.apicurio.registry.mt.RegistryTenantContext;
 import io.apicurio.registry.mt.TenantContext;
 import io.apicurio.registry.mt.TenantContextLoader;
+import io.apicurio.registry.rules.EffectiveRulesCache;
 import io.apicurio.registry.storage.ArtifactAlreadyExistsException;
 import io.apicurio.registry.storage.ArtifactNotFoundException;
 import io.apicurio.registry.storage.RegistryStorageException;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
 import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlConfiguration;
 import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlCoordinator;
+import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlIdBlocks;
 import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlRegistryStorage;
 import io.apicurio.registry.storage.impl.kafkasql.KafkaSqlSubmitter;
 import io.apicurio.registry.storage.impl.kafkasql.MessageType;
@@ -38,6 +40,7 @@ import io.apicurio.registry.storage.impl.kafkasql.keys.LogConfigKey;
 import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
 import io.apicurio.registry.storage.impl.kafkasql.keys.RoleMappingKey;
 import io.apicurio.registry.storage.impl.kafkasql.values.AbstractMessageValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
 import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactRuleValue;
 import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactValue;
 import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactVersionValue;
@@ -81,6 +84,12 @@ public class KafkaSqlSink {
     @Inject
     KafkaSqlSubmitter submitter;
 
+    @Inject
+    KafkaSqlIdBlocks idBlocks;
+
+    @Inject
+    EffectiveRulesCache rulesCache;
+
     @Inject
     TenantContext tenantContext;
 
@@ -178,11 +187,34 @@ public class KafkaSqlSink {
                     throw new RegistryStorageException("Unexpected message type: " + messageType.name());
             }
         } finally {
+            if (isRulesChange(key, value)) {
+                // Every node applies every message, so this keeps the rules cache of every node up to date.
+                rulesCache.invalidate();
+            }
             log.debug("Clearing tenant id after message processed");
             tenantContext.clearContext();
         }
     }
 
+    /**
+     * Returns true if the message may change the effective rules of some artifact.
+     * @param key
+     * @param value
+     */
+    private static boolean isRulesChange(MessageKey key, MessageValue value) {
+        switch (key.getType()) {
+            case ArtifactRule:
+            case GlobalRule:
+            case GlobalAction:
+                return true;
+            case Group:
+            case Artifact:
+                return value instanceof AbstractMessageValue && ((AbstractMessageValue) value).getAction() == ActionType.DELETE;
+            default:
+                return false;
+        }
+    }
+
     /**
      * Process a Kafka message of type "globalaction".
      * @param key
@@ -475,8 +507,11 @@ public class KafkaSqlSink {
         switch (value.getAction()) {
             case CREATE:
                 return sqlStore.nextGlobalId();
+            case RESERVE:
+                return sqlStore.reserveGlobalIds(value.getCount());
             case RESET:
                 sqlStore.resetGlobalId();
+                idBlocks.invalidate(key.getTenantId());
                 return null;
             default:
                 return unsupported(key, value);
@@ -493,8 +528,11 @@ public class KafkaSqlSink {
         switch (value.getAction()) {
             case CREATE:
                 return sqlStore.nextContentId();
+            case RESERVE:
+                return sqlStore.reserveContentIds(value.getCount());
             case RESET:
                 sqlStore.resetContentId();
+                idBlocks.invalidate(key.getTenantId());
                 return null;
             default:
                 return unsupported(key, value);
@@ -2,6 +2,7 @@ package io.apicurio.registry.storage.impl.kafkasql.sql;
 
 import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
 
+import java.nio.file.Path;
 import java.util.Date;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -64,6 +65,63 @@ public class KafkaSqlStore extends AbstractSqlRegistryStorage {
         });
     }
 
+    @Transactional
+    public long reserveGlobalIds(int count) {
+        return handles.withHandleNoException( handle -> {
+            return reserveGlobalIds(handle, count);
+        });
+    }
+
+    @Transactional
+    public long reserveContentIds(int count) {
+        return handles.withHandleNoException( handle -> {
+            return reserveContentIds(handle, count);
+        });
+    }
+
+    /**
+     * Snapshots are taken with H2 specific statements, so they are only supported when the store is H2.
+     */
+    public boolean isSnapshotSupported() {
+        return "h2".equals(sqlStatements().dbType());
+    }
+
+    /**
+     * Returns the version of the DB schema, snapshots can only be restored into the same version.
+     */
+    public int getDatabaseVersion() {
+        return handles.withHandleNoException(handle -> {
+            return getDatabaseVersion(handle);
+        });
+    }
+
+    /**
+     * Writes the whole database (all tenants, including the id sequences) to the given file.
+     * @param file
+     */
+    public void writeSnapshot(Path file) {
+        handles.withHandleNoException(handle -> {
+            handle.createUpdate("SCRIPT TO '" + escape(file) + "' COMPRESSION DEFLATE").executeNoUpdate();
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the whole database with the content of a snapshot written by {@link #writeSnapshot(Path)}.
+     * @param file
+     */
+    public void restoreSnapshot(Path file) {
+        handles.withHandleNoException(handle -> {
+            handle.createUpdate("DROP ALL OBJECTS").executeNoUpdate();
+            handle.createUpdate("RUNSCRIPT FROM '" + escape(file) + "' COMPRESSION DEFLATE").executeNoUpdate();
+            return null;
+        });
+    }
+
+    private static String escape(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+
     public boolean isContentExists(String contentHash) throws RegistryStorageException {
         return handles.withHandleNoException( handle -> {
             String sql = sqlStatements().selectContentCountByHash();
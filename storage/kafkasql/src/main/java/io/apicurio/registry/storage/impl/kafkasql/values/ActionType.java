@@ -37,7 +37,12 @@ public enum ActionType {
     /**
      * Deletes ALL user (tenant) data. Does not delete global data, such as log configuration.
      */
-    DELETE_ALL_USER_DATA(7);
+    DELETE_ALL_USER_DATA(7),
+
+    /**
+     * Reserves a block of ids (globalIds or contentIds) for the node that sent the message.
+     */
+    RESERVE(8);
 
     ;
 
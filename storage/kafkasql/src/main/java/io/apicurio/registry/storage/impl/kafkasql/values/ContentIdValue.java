@@ -27,6 +27,8 @@ import lombok.ToString;
 @ToString
 public class ContentIdValue extends AbstractMessageValue {
 
+    private int count;
+
     /**
      * Creator method.
      * @param action
@@ -37,6 +39,17 @@ public class ContentIdValue extends AbstractMessageValue {
         return value;
     }
 
+    /**
+     * Creator method.
+     * @param action
+     * @param count the number of ids to reserve
+     */
+    public static final ContentIdValue create(ActionType action, int count) {
+        ContentIdValue value = create(action);
+        value.setCount(count);
+        return value;
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.kafkasql.values.MessageValue#getType()
      */
@@ -45,4 +58,18 @@ public class ContentIdValue extends AbstractMessageValue {
         return MessageType.ContentId;
     }
 
+    /**
+     * @return the count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param count the count to set
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.utils.impexp;
 
+import java.io.InputStream;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import io.quarkus.runtime.annotations.RegisterForReflection;
@@ -31,6 +33,12 @@ public class ContentEntity extends Entity {
     public String contentHash;
     @JsonIgnore
     public byte[] contentBytes;
+    /**
+     * Alternative to the content bytes, used when exporting so that large content can be copied
+     * without being loaded into memory.  Only valid for as long as the entity is being handled.
+     */
+    @JsonIgnore
+    public InputStream contentStream;
 
     /**
      * @see io.apicurio.registry.utils.impexp.Entity#getEntityType()
@@ -85,7 +85,11 @@ public class EntityWriter {
 
         // Write the content file.
         zip.putNextEntry(dataEntry);
-        zip.write(entity.contentBytes);
+        if (entity.contentBytes != null) {
+            zip.write(entity.contentBytes);
+        } else if (entity.contentStream != null) {
+            entity.contentStream.transferTo(zip);
+        }
         zip.closeEntry();
     }
 
@@ -20,12 +20,20 @@ package io.apicurio.registry.maven;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import io.apicurio.registry.rest.client.AsyncRegistryClient;
+import io.apicurio.registry.rest.client.RegistryClientFactory;
+
 /**
  * Download artifacts.
  *
@@ -40,6 +48,12 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
     @Parameter(required = true)
     List<DownloadArtifact> artifacts;
 
+    /**
+     * The maximum number of artifacts downloaded at the same time.
+     */
+    @Parameter(defaultValue = "8")
+    int maxConcurrentDownloads = 8;
+
     /**
      * Validate the configuration.
      */
@@ -85,33 +99,21 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
 
         int errorCount = 0;
         if (artifacts != null) {
-            for (DownloadArtifact artifact : artifacts) {
-                String groupId = artifact.getGroupId();
-                String artifactId = artifact.getArtifactId();
-                String version = artifact.getVersion();
-                boolean replaceExisting = artifact.getOverwrite() == null ? false : artifact.getOverwrite();
-
-                getLog().info(String.format("Downloading artifact [%s] / [%s] (version %s).", groupId, artifactId, version));
-
-                try (InputStream content = version == null ?
-                            getClient().getLatestArtifact(groupId, artifactId) :
-                            getClient().getArtifactVersion(groupId, artifactId, version)) {
-
-                    if (!artifact.getFile().getParentFile().exists()) {
-                        artifact.getFile().getParentFile().mkdirs();
+            // Keep a bounded number of downloads in flight so they overlap, without holding a response
+            // open for every configured artifact.  Each one is written out (and closed) in order, and
+            // the next download is requested as soon as a slot frees up.
+            Deque<CompletableFuture<InputStream>> inFlight = new ArrayDeque<>();
+            int maxInFlight = Math.max(1, maxConcurrentDownloads);
+            try (AsyncRegistryClient asyncClient = RegistryClientFactory.createAsync(getClient())) {
+                int requested = 0;
+                for (DownloadArtifact artifact : artifacts) {
+                    while (requested < artifacts.size() && inFlight.size() < maxInFlight) {
+                        inFlight.add(download(asyncClient, artifacts.get(requested++)));
                     }
-
-                    if (replaceExisting) {
-                        Files.copy(content, artifact.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    } else {
-                        Files.copy(content, artifact.getFile().toPath());
+                    if (!write(artifact, inFlight.poll())) {
+                        errorCount++;
                     }
-                } catch (Exception e) {
-                    errorCount++;
-                    getLog().error(String.format("Exception while downloading artifact [%s] / [%s]", groupId, artifactId), e);
                 }
-
-                getLog().info(String.format("Downloaded artifact [%s] / [%s] to %s.", groupId, artifactId, artifact.getFile()));
             }
         }
 
@@ -121,7 +123,50 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
 
     }
 
+    private CompletableFuture<InputStream> download(AsyncRegistryClient asyncClient, DownloadArtifact artifact) {
+        String groupId = artifact.getGroupId();
+        String artifactId = artifact.getArtifactId();
+        String version = artifact.getVersion();
+
+        getLog().info(String.format("Downloading artifact [%s] / [%s] (version %s).", groupId, artifactId, version));
+
+        CompletionStage<InputStream> download = version == null ?
+                asyncClient.getLatestArtifact(groupId, artifactId) :
+                asyncClient.getArtifactVersion(groupId, artifactId, version);
+        return download.toCompletableFuture();
+    }
+
+    private boolean write(DownloadArtifact artifact, CompletableFuture<InputStream> download) {
+        String groupId = artifact.getGroupId();
+        String artifactId = artifact.getArtifactId();
+        boolean replaceExisting = artifact.getOverwrite() == null ? false : artifact.getOverwrite();
+
+        try (InputStream content = download.join()) {
+
+            if (!artifact.getFile().getParentFile().exists()) {
+                artifact.getFile().getParentFile().mkdirs();
+            }
+
+            if (replaceExisting) {
+                Files.copy(content, artifact.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.copy(content, artifact.getFile().toPath());
+            }
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            getLog().error(String.format("Exception while downloading artifact [%s] / [%s]", groupId, artifactId), cause);
+            return false;
+        }
+
+        getLog().info(String.format("Downloaded artifact [%s] / [%s] to %s.", groupId, artifactId, artifact.getFile()));
+        return true;
+    }
+
     public void setArtifacts(List<DownloadArtifact> artifacts) {
         this.artifacts = artifacts;
     }
+
+    public void setMaxConcurrentDownloads(int maxConcurrentDownloads) {
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+    }
 }